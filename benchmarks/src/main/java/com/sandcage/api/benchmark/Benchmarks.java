@@ -0,0 +1,34 @@
+package com.sandcage.api.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ *  Runs the benchmarks of this module, reporting allocation rates (as per the
+ *  JMH <tt>gc</tt> profiler) alongside throughput. Any JMH command line option
+ *  may be given, eg: a benchmark name or <tt>-p entries=1000</tt>.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+public class Benchmarks {
+
+    public static void main(String args[])
+            throws Exception {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if(commandLine.getIncludes().isEmpty())
+            builder.include(Benchmarks.class.getPackage().getName()+".*");
+        Options options = builder
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sandcage.api.benchmark;
+
+import com.sandcage.api.Configuration;
+import com.sandcage.api.io.Dispatch;
+import com.sandcage.api.io.Transport;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.info.InfoFile;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.info.InfoResponse;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ *  Measures a get-info {@link Dispatch} end to end (serialization, a pooled HTTPS
+ *  connection, and the incremental parsing of the response) against an
+ *  in-process {@link HttpsStub}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final String SERVICE = "get-info";
+
+    @Param({"1", "100"})
+    int files;
+
+    private HttpsStub stub;
+    private Transport transport;
+    private InfoPayload payload;
+
+
+    @Setup(Level.Trial)
+    public void setUp()
+            throws Exception {
+
+        ArrayList<File> infoFiles = new ArrayList<File>(this.files);
+        StringBuilder body = new StringBuilder("{\"status\":\"success\",\"files\":[");
+        for(int i = 0; i<this.files; i++) {
+            infoFiles.add(new InfoFile(SerializationBenchmark.token(i)));
+            body.append(i>0 ? "," : "")
+                .append("{\"file_token\":\"").append(SerializationBenchmark.token(i))
+                .append("\",\"status\":\"completed\",\"cdn_url\":\"https://cdn.example.com/")
+                .append(i).append(".jpg\",\"size\":123456,\"width\":300,\"height\":300}");
+        }
+        body.append("]}");
+
+        this.stub = new HttpsStub(body.toString());
+        Configuration configuration = new Configuration();
+        configuration.setEndpointBase(this.stub.getBase());
+        this.transport = new Transport(configuration);
+        this.payload = new InfoPayload(SerializationBenchmark.KEY, null, infoFiles, SerializationBenchmark.PLAN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.transport.close();
+        this.stub.close();
+    }
+
+    @Benchmark
+    public InfoResponse getInfo() {
+        return new Dispatch(this.transport, this.payload, SERVICE).postAsync(InfoResponse::new).join();
+    }
+}
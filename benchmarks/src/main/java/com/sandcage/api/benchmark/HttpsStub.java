@@ -0,0 +1,116 @@
+package com.sandcage.api.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+
+/**
+ *  An in-process HTTPS server which answers every POST with the same canned
+ *  JSON body, standing in for the SandCage API.
+ *  <p>
+ *  Its self-signed certificate (for localhost and 127.0.0.1) is generated with
+ *  <tt>keytool</tt>, and installed as the JVM trust store, so it must be
+ *  created before the first HTTPS connection of the JVM.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+class HttpsStub implements AutoCloseable {
+
+    private static final String PASSWORD = "sandcage";
+
+    private final HttpsServer server;
+    private final ExecutorService executor;
+    private final byte[] body;
+
+
+    HttpsStub(String body)
+            throws IOException, GeneralSecurityException, InterruptedException {
+
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+
+        Path keyStore = generateKeyStore();
+        System.setProperty("javax.net.ssl.trustStore", keyStore.toString());
+        System.setProperty("javax.net.ssl.trustStorePassword", PASSWORD);
+        System.setProperty("javax.net.ssl.trustStoreType", "PKCS12");
+
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try(InputStream in = Files.newInputStream(keyStore)) {
+            store.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(store, PASSWORD.toCharArray());
+        SSLContext ssl = SSLContext.getInstance("TLS");
+        ssl.init(keyManagers.getKeyManagers(), null, null);
+
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setHttpsConfigurator(new HttpsConfigurator(ssl));
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     *  The base URL of this stub, ending with a slash.
+     */
+    String getBase() {
+        return "https://localhost:"+this.server.getAddress().getPort()+"/";
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange)
+            throws IOException {
+        try(InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, this.body.length);
+        try(OutputStream out = exchange.getResponseBody()) {
+            out.write(this.body);
+        }
+    }
+
+    /**
+     *  Generates a PKCS12 key store holding a self-signed certificate.
+     */
+    private static Path generateKeyStore()
+            throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("sandcage-stub");
+        Path keyStore = dir.resolve("stub.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "stub", "-keyalg", "RSA", "-keysize", "2048", "-validity", "2",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-storetype", "PKCS12", "-keystore", keyStore.toString(),
+                "-storepass", PASSWORD, "-keypass", PASSWORD)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        if(keytool.waitFor()!=0)
+            throw new IOException("keytool failed to generate the stub certificate");
+        keyStore.toFile().deleteOnExit();
+        dir.toFile().deleteOnExit();
+        return keyStore;
+    }
+}
@@ -0,0 +1,326 @@
+package com.sandcage.api.benchmark;
+
+import com.sandcage.api.Configuration;
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.metrics.LatencyHistogram;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Response;
+import com.sandcage.api.service.delete.DestroyFile;
+import com.sandcage.api.service.delete.DestroyPayload;
+import com.sandcage.api.service.enumerate.ListPayload;
+import com.sandcage.api.service.info.InfoFile;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.Resize;
+import com.sandcage.api.service.put.Save;
+import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.Task;
+import com.sandcage.api.standin.LatencyModel;
+import com.sandcage.api.standin.StandInServer;
+import com.sandcage.api.standin.SyntheticCatalogue;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  Drives a {@link SandCageClient} with the mixed workload run in production
+ *  (60% get-info, 25% schedule-tasks, 10% list-files and 5% destroy-files),
+ *  and reports the throughput achieved, the error rate, and latency percentiles
+ *  per service.
+ *  <p>
+ *  A fixed number of workers each keep one request in flight (a closed loop).
+ *  Given a target rate, requests are paced to a schedule shared out among the
+ *  workers, and latencies are measured from the time at which each request was
+ *  due rather than sent: a request held back by a slow predecessor counts the
+ *  time it waited, correcting for coordinated omission. Latencies measured from
+ *  the time sent are reported alongside, for comparison.
+ *  <p>
+ *  Unless an endpoint is given, an in-process {@link StandInServer} is started,
+ *  with <tt>sun.net.httpserver.nodelay</tt> set (unless already set), lest
+ *  Nagle's algorithm hold back its responses.
+ *  Options, given as <tt>--name=value</tt>:
+ *  <ul>
+ *  <li><tt>concurrency</tt>: the number of workers (default 32)</li>
+ *  <li><tt>rate</tt>: the target rate, in requests per second, or 0 for as fast
+ *  as the workers go (default 0)</li>
+ *  <li><tt>duration</tt>, <tt>warmup</tt>: in seconds (default 30 and 5)</li>
+ *  <li><tt>endpoint</tt>: the base URL of a stand-in already running</li>
+ *  <li><tt>catalogue</tt>: the number of files of the in-process stand-in
+ *  (default 1000000)</li>
+ *  <li><tt>latency</tt>: the median and 99th percentile latency of the in-process
+ *  stand-in, in milliseconds (default 5,50)</li>
+ *  <li><tt>errors</tt>, <tt>throttles</tt>: the fraction of requests the in-process
+ *  stand-in fails with HTTP 503, or 429 (default 0)</li>
+ *  </ul>
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+public class LoadGenerator {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+    private static final String PROPERTY_NODELAY = "sun.net.httpserver.nodelay";
+
+    /**
+     *  The operations of the workload, and their share of it, in percent.
+     */
+    enum Operation {
+
+        GET_INFO("get-info", 60),
+        SCHEDULE_TASKS("schedule-tasks", 25),
+        LIST_FILES("list-files", 10),
+        DESTROY_FILES("destroy-files", 5);
+
+        private final String service;
+        private final int share;
+
+        Operation(String service, int share) {
+            this.service = service;
+            this.share = share;
+        }
+    }
+
+    private final SandCageClient client;
+    private final long catalogueSize;
+    private final int concurrency;
+    private final double rate;
+    private final long warmup;
+    private final long duration;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sandcage-load");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HashMap<Operation, Stats> stats = new HashMap<Operation, Stats>();
+    private CountDownLatch done;
+    private long start;
+    private long measureFrom;
+    private long measureUntil;
+
+
+    /**
+     *  Creates a {@link LoadGenerator}.
+     *
+     *  @param  client          the client to drive
+     *  @param  catalogueSize   the number of files of the stand-in catalogue
+     *  @param  concurrency     the number of workers
+     *  @param  rate            the target rate, in requests per second, or 0
+     *  @param  warmup          the warm-up, not measured, in seconds
+     *  @param  duration        the measurement, in seconds
+     */
+    public LoadGenerator(SandCageClient client, long catalogueSize, int concurrency, double rate, long warmup, long duration) {
+        this.client = client;
+        this.catalogueSize = catalogueSize;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.warmup = TimeUnit.SECONDS.toNanos(warmup);
+        this.duration = TimeUnit.SECONDS.toNanos(duration);
+        for(Operation operation : Operation.values())
+            this.stats.put(operation, new Stats());
+    }
+
+    public static void main(String args[])
+            throws Exception {
+
+        Map<String, String> options = new HashMap<String, String>();
+        for(String arg : args) {
+            int eq = arg.indexOf('=');
+            if(!arg.startsWith("--") || eq<0)
+                throw new IllegalArgumentException("Options are given as --name=value: "+arg);
+            options.put(arg.substring(2, eq), arg.substring(eq+1));
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+        long catalogue = Long.parseLong(options.getOrDefault("catalogue", "1000000"));
+
+        StandInServer standIn = null;
+        String endpoint = options.get("endpoint");
+        if(endpoint==null) {
+            if(System.getProperty(PROPERTY_NODELAY)==null)                      // Read once, before the first server is created
+                System.setProperty(PROPERTY_NODELAY, Boolean.TRUE.toString());
+            String[] latency = options.getOrDefault("latency", "5,50").split(",");
+            standIn = new StandInServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), catalogue);
+            standIn.setLatency(LatencyModel.logNormal(Double.parseDouble(latency[0]), Double.parseDouble(latency[1])));
+            standIn.setErrorRate(Double.parseDouble(options.getOrDefault("errors", "0")));
+            standIn.setThrottleRate(Double.parseDouble(options.getOrDefault("throttles", "0")), 1);
+            endpoint = standIn.getEndpointBase();
+        }
+
+        Configuration configuration = new Configuration();
+        configuration.setEndpointBase(endpoint);
+        configuration.setMaxConnections(Math.min(1000, concurrency));
+        SandCageClient client = new SandCageClient(configuration);
+
+        System.out.println("Driving "+endpoint+" with "+concurrency+" workers"+(rate>0 ? " at "+rate+" requests/s" : "")
+            +" for "+warmup+"s (warm-up) + "+duration+"s");
+        LoadGenerator generator = new LoadGenerator(client, catalogue, concurrency, rate, warmup, duration);
+        generator.run();
+        System.out.print(generator.report());
+
+        client.close();
+        if(standIn!=null)
+            standIn.close();
+    }
+
+    /**
+     *  Runs the workload, returning once the measurement has ended and every
+     *  request has completed.
+     *
+     *  @throws     InterruptedException    if interrupted while waiting
+     */
+    public void run()
+            throws InterruptedException {
+        this.done = new CountDownLatch(this.concurrency);
+        this.start = System.nanoTime();
+        this.measureFrom = this.start+this.warmup;
+        this.measureUntil = this.measureFrom+this.duration;
+        for(int worker = 0; worker<this.concurrency; worker++) {
+            final int w = worker;
+            this.executor.execute(() -> next(w, 0L));
+        }
+        this.done.await();
+        this.executor.shutdown();
+    }
+
+    /**
+     *  Renders the results.
+     *
+     *  @return     the report
+     */
+    public String report() {
+        double seconds = this.duration/1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%-15s %9s %10s %8s   %-36s %-36s%n", "service", "requests", "req/s", "errors",
+            "p50/p99/p99.9/max ms (corrected)", "p50/p99/p99.9/max ms (as sent)"));
+        long requests = 0L;
+        long errors = 0L;
+        for(Operation operation : Operation.values()) {
+            Stats stat = this.stats.get(operation);
+            requests += stat.requests.sum();
+            errors += stat.errors.sum();
+            sb.append(String.format("%-15s %9d %10.1f %7.2f%%   %-36s %-36s%n", operation.service, stat.requests.sum(),
+                stat.requests.sum()/seconds, percent(stat.errors.sum(), stat.requests.sum()),
+                percentiles(stat.corrected), percentiles(stat.uncorrected)));
+        }
+        sb.append(String.format("%-15s %9d %10.1f %7.2f%%%n", "total", requests, requests/seconds, percent(errors, requests)));
+        return sb.toString();
+    }
+
+    /**
+     *  Schedules the k-th request of the given worker, at the time it is due.
+     */
+    private void next(int worker, long k) {
+        long now = System.nanoTime();
+        if(now-this.measureUntil>=0) {
+            this.done.countDown();
+            return;
+        }
+        long due = this.rate>0 ? this.start+(long) ((k*this.concurrency+worker)*1e9/this.rate) : now;
+        if(due-now>0)
+            CompletableFuture.delayedExecutor(due-now, TimeUnit.NANOSECONDS, this.executor).execute(() -> send(worker, k, due));
+        else
+            send(worker, k, due);
+    }
+
+    /**
+     *  Sends a request of the workload, recording its latency once complete.
+     */
+    private void send(int worker, long k, long due) {
+        Operation operation = pick();
+        long sent = System.nanoTime();
+        CompletableFuture<? extends Response> request;
+        try {
+            request = issue(operation);
+        } catch(OutOfBoundsException oobex) {
+            request = CompletableFuture.failedFuture(oobex);
+        }
+        request.whenCompleteAsync((response, failure) -> {
+            long end = System.nanoTime();
+            if(due-this.measureFrom>=0 && due-this.measureUntil<0) {
+                Stats stat = this.stats.get(operation);
+                stat.requests.increment();
+                if(failure!=null || !response.isSuccessful())
+                    stat.errors.increment();
+                stat.corrected.record(end-due);
+                stat.uncorrected.record(end-sent);
+            }
+            next(worker, k+1);
+        }, this.executor);
+    }
+
+    /**
+     *  Picks an operation, as per the shares of the workload.
+     */
+    private static Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for(Operation operation : Operation.values())
+            if((roll -= operation.share)<0)
+                return operation;
+        return Operation.GET_INFO;
+    }
+
+    /**
+     *  Issues a request of the given operation.
+     */
+    private CompletableFuture<? extends Response> issue(Operation operation)
+            throws OutOfBoundsException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch(operation) {
+            case GET_INFO:
+                ArrayList<File> files = new ArrayList<File>();
+                for(int i = random.nextInt(1, 11); i>0; i--)
+                    files.add(new InfoFile(randomToken(random)));
+                return this.client.getInfoAsync(new InfoPayload(KEY, null, files));
+            case SCHEDULE_TASKS:
+                ArrayList<Job> jobs = new ArrayList<Job>();
+                ArrayList<Task> tasks = new ArrayList<Task>();
+                tasks.add(new Save());
+                tasks.add(new Resize(300, 300));
+                jobs.add(new Job("https://www.example.com/images/"+random.nextInt(Integer.MAX_VALUE)+".jpg", tasks));
+                return this.client.scheduleTasksAsync(new ScheduledPayload(KEY, jobs));
+            case LIST_FILES:
+                return this.client.listFilesAsync(new ListPayload(KEY, "images", random.nextInt(1, 101), 100));
+            default:
+                ArrayList<File> destroy = new ArrayList<File>();
+                destroy.add(new DestroyFile(null, randomToken(random)));
+                return this.client.destroyFilesAsync(new DestroyPayload(KEY, destroy));
+        }
+    }
+
+    private String randomToken(ThreadLocalRandom random) {
+        return SyntheticCatalogue.token(random.nextLong(Math.max(1L, this.catalogueSize)));
+    }
+
+    private static double percent(long part, long whole) {
+        return whole>0 ? 100d*part/whole : 0d;
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return String.format("%.2f/%.2f/%.2f/%.2f", histogram.getPercentile(50)/1e3, histogram.getPercentile(99)/1e3,
+            histogram.getPercentile(99.9)/1e3, histogram.getMax()/1e3);
+    }
+
+    /**
+     *  The measurements of an operation.
+     */
+    private static class Stats {
+
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram uncorrected = new LatencyHistogram();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,125 @@
+package com.sandcage.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sandcage.api.io.JsonCodec;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.delete.DestroyFile;
+import com.sandcage.api.service.delete.DestroyPayload;
+import com.sandcage.api.service.info.InfoFile;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.put.Crop;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.Resize;
+import com.sandcage.api.service.put.Save;
+import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.Task;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ *  Measures the serialization of schedule-tasks, get-info and destroy-files
+ *  payloads of 1 to 10000 jobs, or files.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    static final String KEY = "0123456789abcdef0123456789abcdef";
+    static final Plan PLAN = plan();
+
+    @Param({"1", "10", "1000", "10000"})
+    int entries;
+
+    private ScheduledPayload scheduled;
+    private InfoPayload info;
+    private DestroyPayload destroy;
+
+
+    @Setup
+    public void setUp()
+            throws OutOfBoundsException {
+
+        ArrayList<Job> jobs = new ArrayList<Job>(this.entries);
+        ArrayList<File> infoFiles = new ArrayList<File>(this.entries);
+        ArrayList<File> destroyFiles = new ArrayList<File>(this.entries);
+        for(int i = 0; i<this.entries; i++) {
+            jobs.add(job(i));
+            infoFiles.add(new InfoFile(token(i)));
+            destroyFiles.add(new DestroyFile(null, token(i)));
+        }
+
+        this.scheduled = new ScheduledPayload(KEY, jobs, null, PLAN);
+        this.info = new InfoPayload(KEY, null, infoFiles, PLAN);
+        this.destroy = new DestroyPayload(KEY, destroyFiles, null, PLAN);
+    }
+
+    @Benchmark
+    public byte[] scheduleTasks()
+            throws JsonProcessingException {
+        return JsonCodec.serialize(this.scheduled);
+    }
+
+    @Benchmark
+    public byte[] getInfo()
+            throws JsonProcessingException {
+        return JsonCodec.serialize(this.info);
+    }
+
+    @Benchmark
+    public byte[] destroyFiles()
+            throws JsonProcessingException {
+        return JsonCodec.serialize(this.destroy);
+    }
+
+    /**
+     *  A job with a typical set of tasks.
+     */
+    static Job job(int i)
+            throws OutOfBoundsException {
+        ArrayList<Task> tasks = new ArrayList<Task>();
+        tasks.add(new Save());
+        tasks.add(new Crop(100, 150, 500, 450));
+        tasks.add(new Resize(300, 300));
+        return new Job("https://www.example.com/images/"+i+".jpg", tasks);
+    }
+
+    /**
+     *  A well-formed, distinct, file_token.
+     */
+    static String token(int i) {
+        return String.format("%032x", i);
+    }
+
+    /**
+     *  A plan which admits the largest payloads benchmarked.
+     */
+    private static Plan plan() {
+        try {
+            return new Plan(10000, 10000, 10000);
+        } catch(OutOfBoundsException oobex) {
+            throw new IllegalStateException(oobex);
+        }
+    }
+}
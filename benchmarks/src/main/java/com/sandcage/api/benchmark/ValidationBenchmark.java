@@ -0,0 +1,140 @@
+package com.sandcage.api.benchmark;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.put.Crop;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.Resize;
+import com.sandcage.api.service.put.Save;
+import com.sandcage.api.service.put.Task;
+import com.sandcage.api.validate.JobSpec;
+import com.sandcage.api.validate.JobValidator;
+import com.sandcage.api.validate.TaskSpec;
+import com.sandcage.api.validate.ValidationReport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ *  Measures the cost of the validation done by the constructors of tasks and
+ *  jobs, for values within bounds and, as thrown exceptions, out of bounds;
+ *  and that of checking a 1000-job import, of which one in twenty jobs is out
+ *  of bounds, job by job through the constructors, or as a whole with a
+ *  {@link JobValidator}. Both read the same pre-built rows, and end with the
+ *  same valid {@link Job jobs}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int IMPORT_SIZE = 1000;
+    private static final int BAD_EVERY = 20;                                    // 5%
+
+    private ArrayList<Task> tasks;
+    private String[] urls;
+    private int[][] crops;
+    private int[][] resizes;
+    private List<JobSpec> rows;
+    private JobValidator validator;
+
+
+    @Setup
+    public void setUp()
+            throws OutOfBoundsException {
+        this.tasks = new ArrayList<Task>();
+        this.tasks.add(new Save());
+        this.tasks.add(new Crop(100, 150, 500, 450));
+        this.tasks.add(new Resize(300, 300));
+
+        // THE RAW ROWS OF THE IMPORT, READ ALIKE BY BOTH PATHS
+        this.urls = new String[IMPORT_SIZE];
+        this.crops = new int[IMPORT_SIZE][];
+        this.resizes = new int[IMPORT_SIZE][];
+        this.rows = new ArrayList<JobSpec>(IMPORT_SIZE);
+        for(int i=0; i<IMPORT_SIZE; i++) {
+            boolean bad = i%BAD_EVERY==0;
+            this.urls[i] = "https://www.example.com/images/"+i+".jpg";
+            this.crops[i] = new int[] {bad ? 500 : 100, 150, 500, 450};
+            this.resizes[i] = new int[] {bad ? 20000 : 300, 300};
+            this.rows.add(new JobSpec(this.urls[i], Arrays.asList(TaskSpec.save(),
+                TaskSpec.crop(this.crops[i][0], this.crops[i][1], this.crops[i][2], this.crops[i][3]),
+                TaskSpec.resize(this.resizes[i][0], this.resizes[i][1]))));
+        }
+        this.validator = new JobValidator();
+    }
+
+    @Benchmark
+    public Resize resizeByRatio()
+            throws OutOfBoundsException {
+        return new Resize(75f);
+    }
+
+    @Benchmark
+    public Resize resizeByDimensions()
+            throws OutOfBoundsException {
+        return new Resize(300, 300);
+    }
+
+    @Benchmark
+    public Crop crop()
+            throws OutOfBoundsException {
+        return new Crop(100, 150, 500, 450);
+    }
+
+    @Benchmark
+    public Job job()
+            throws OutOfBoundsException {
+        return new Job("https://www.example.com/images/1.jpg", this.tasks);
+    }
+
+    @Benchmark
+    public void importByConstructors(Blackhole blackhole) {
+        for(int i=0; i<IMPORT_SIZE; i++) {
+            try {
+                int[] crop = this.crops[i], resize = this.resizes[i];
+                ArrayList<Task> tasks = new ArrayList<Task>(3);
+                tasks.add(new Save());
+                tasks.add(new Crop(crop[0], crop[1], crop[2], crop[3]));
+                tasks.add(new Resize(resize[0], resize[1]));
+                blackhole.consume(new Job(this.urls[i], tasks));
+            } catch(OutOfBoundsException oobex) {
+                blackhole.consume(oobex);
+            }
+        }
+    }
+
+    @Benchmark
+    public void importByValidator(Blackhole blackhole) {
+        ValidationReport report = this.validator.validate(this.rows);
+        blackhole.consume(report);
+        blackhole.consume(report.getValidJobs());
+    }
+
+    @Benchmark
+    public Object cropOutOfBounds() {
+        try {
+            return new Crop(500, 450, 100, 150);
+        } catch(OutOfBoundsException oobex) {
+            return oobex;
+        }
+    }
+}
@@ -0,0 +1,748 @@
+package com.sandcage.api;
+
+import com.sandcage.api.log.LogLevel;
+import com.sandcage.api.log.LogSink;
+import com.sandcage.api.metrics.DispatchMetrics;
+import com.sandcage.api.retry.RetryPolicy;
+import com.sandcage.api.service.OutOfBoundsException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+
+/**
+ *  The settings of a {@link SandCageClient}.
+ *  <p>
+ *  An instance of this class is copied when a {@link SandCageClient} is created,
+ *  so later changes to it have no effect on clients which already exist.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class Configuration {
+
+    private static final int MIN_CONNECTIONS = 1;
+    private static final int MAX_CONNECTIONS = 1000;
+    private static final int MIN_TIMEOUT = 1;
+    private static final int MIN_CACHE_SIZE = 0;
+    private static final int MIN_FAILURE_THRESHOLD = 1;
+    private static final String SCHEME_HTTP = "http";
+    private static final String SCHEME_HTTPS = "https";
+
+    public static final int MAX_CONNECTIONS_DEFAULTS = 16;
+    public static final int TIMEOUT_CONNECT_DEFAULTS = 5000;                    //  5000ms
+    public static final int TIMEOUT_READ_DEFAULTS = 10000;                      // 10000ms
+    public static final int INFO_CACHE_SIZE_DEFAULTS = 0;                       // DISABLED
+    public static final int INFO_CACHE_TTL_DEFAULTS = 60000;                    // 60000ms
+    public static final int CIRCUIT_FAILURES_DEFAULTS = 5;
+    public static final int CIRCUIT_OPEN_DEFAULTS = 10000;                      // 10000ms
+    public static final double RETRY_BUDGET_RATIO_DEFAULTS = 0.1;               // 1 RETRY PER 10 REQUESTS
+    public static final int RETRY_BUDGET_RESERVE_DEFAULTS = 10;
+    public static final double RATE_LIMIT_DEFAULTS = 0;                         // DISABLED
+    public static final int COMPRESSION_THRESHOLD_DEFAULTS = 0;                 // DISABLED
+    public static final double LOG_SAMPLING_DEFAULTS = 1;                       // EVERY REQUEST
+    public static final int LOG_BODY_LIMIT_DEFAULTS = 1024;                     // 1024 BYTES
+
+    // CONDITIONS -> AN ABSOLUTE http(s) URL; DEFAULT: THE SANDCAGE API
+    private String endpointBase = SandCage.getEndpointBase();
+    // CONDITIONS -> 1..1000
+    private int maxConnections = MAX_CONNECTIONS_DEFAULTS;
+    // CONDITIONS -> 1..; MILLISECONDS
+    private int connectTimeout = TIMEOUT_CONNECT_DEFAULTS;
+    // CONDITIONS -> 1..; MILLISECONDS
+    private int readTimeout = TIMEOUT_READ_DEFAULTS;
+    // OPTIONAL; DEFAULT: THE HTTP CLIENT'S OWN EXECUTOR
+    private Executor executor;
+    // CONDITIONS -> 0..; 0 DISABLES THE CACHE
+    private int infoCacheSize = INFO_CACHE_SIZE_DEFAULTS;
+    // CONDITIONS -> 1..; MILLISECONDS
+    private int infoCacheTtl = INFO_CACHE_TTL_DEFAULTS;
+    // DEFAULT: true
+    private boolean infoCoalescing = true;
+    // PER SERVICE; DEFAULT: get-info, list-files IDEMPOTENT; schedule-tasks, destroy-files NOT
+    private HashMap<String, RetryPolicy> retryPolicies = new HashMap<String, RetryPolicy>();
+    // CONDITIONS -> 1..
+    private int circuitFailureThreshold = CIRCUIT_FAILURES_DEFAULTS;
+    // CONDITIONS -> 1..; MILLISECONDS
+    private int circuitOpenTimeout = CIRCUIT_OPEN_DEFAULTS;
+    // CONDITIONS -> 0..1
+    private double retryBudgetRatio = RETRY_BUDGET_RATIO_DEFAULTS;
+    // CONDITIONS -> 0..
+    private int retryBudgetReserve = RETRY_BUDGET_RESERVE_DEFAULTS;
+    // CONDITIONS -> 0..; PERMITS PER SECOND, PER KEY; 0 DISABLES THE LIMIT
+    private double keyRateLimit = RATE_LIMIT_DEFAULTS;
+    // CONDITIONS -> 1..
+    private int keyRateBurst = 1;
+    // PER SERVICE; CONDITIONS -> 0..; PERMITS PER SECOND
+    private HashMap<String, Double> serviceRateLimits = new HashMap<String, Double>();
+    // PER SERVICE; CONDITIONS -> 1..
+    private HashMap<String, Integer> serviceRateBursts = new HashMap<String, Integer>();
+    // DEFAULT: false, IE: WAIT FOR A PERMIT
+    private boolean rateLimitFailFast;
+    // CONDITIONS -> 0..; BYTES; 0 DISABLES REQUEST COMPRESSION
+    private int compressionThreshold = COMPRESSION_THRESHOLD_DEFAULTS;
+    // DEFAULT: true
+    private boolean responseCompression = true;
+    // DEFAULT: DispatchMetrics.NONE
+    private DispatchMetrics metrics = DispatchMetrics.NONE;
+    // DEFAULT: LogSink.CONSOLE
+    private LogSink logSink = LogSink.CONSOLE;
+    // DEFAULT: LogLevel.OFF
+    private LogLevel logLevel = LogLevel.OFF;
+    // CONDITIONS -> 0..1
+    private double logSampling = LOG_SAMPLING_DEFAULTS;
+    // CONDITIONS -> 0..; BYTES
+    private int logBodyLimit = LOG_BODY_LIMIT_DEFAULTS;
+
+
+    /**
+     *  Creates a {@link Configuration} using the default settings.
+     */
+    public Configuration() {
+        this.retryPolicies.put(SandCage.ENDPOINT_GET_INFO, new RetryPolicy(true));
+        this.retryPolicies.put(SandCage.ENDPOINT_LIST_FILES, new RetryPolicy(true));
+        this.retryPolicies.put(SandCage.ENDPOINT_SCHEDULE_TASKS, new RetryPolicy(false));
+        this.retryPolicies.put(SandCage.ENDPOINT_DESTROY_FILES, new RetryPolicy(false));
+    }
+
+    /**
+     *  Creates a copy of the given {@link Configuration}.
+     *
+     *  @param  configuration   the {@link Configuration} to copy
+     *
+     *  @throws NullPointerException    if the configuration is null
+     */
+    public Configuration(Configuration configuration)
+            throws NullPointerException {
+        if(configuration==null)
+            throw new NullPointerException("The configuration to copy was missing");
+        this.endpointBase = configuration.endpointBase;
+        this.maxConnections = configuration.maxConnections;
+        this.connectTimeout = configuration.connectTimeout;
+        this.readTimeout = configuration.readTimeout;
+        this.executor = configuration.executor;
+        this.infoCacheSize = configuration.infoCacheSize;
+        this.infoCacheTtl = configuration.infoCacheTtl;
+        this.infoCoalescing = configuration.infoCoalescing;
+        for(Map.Entry<String, RetryPolicy> policy : configuration.retryPolicies.entrySet())
+            this.retryPolicies.put(policy.getKey(), new RetryPolicy(policy.getValue()));
+        this.circuitFailureThreshold = configuration.circuitFailureThreshold;
+        this.circuitOpenTimeout = configuration.circuitOpenTimeout;
+        this.retryBudgetRatio = configuration.retryBudgetRatio;
+        this.retryBudgetReserve = configuration.retryBudgetReserve;
+        this.keyRateLimit = configuration.keyRateLimit;
+        this.keyRateBurst = configuration.keyRateBurst;
+        this.serviceRateLimits.putAll(configuration.serviceRateLimits);
+        this.serviceRateBursts.putAll(configuration.serviceRateBursts);
+        this.rateLimitFailFast = configuration.rateLimitFailFast;
+        this.compressionThreshold = configuration.compressionThreshold;
+        this.responseCompression = configuration.responseCompression;
+        this.metrics = configuration.metrics;
+        this.logSink = configuration.logSink;
+        this.logLevel = configuration.logLevel;
+        this.logSampling = configuration.logSampling;
+        this.logBodyLimit = configuration.logBodyLimit;
+    }
+
+    /**
+     *  Sets the base URL of the SandCage API, to which the version and service
+     *  are appended, eg: that of a {@link com.sandcage.api.standin.StandInServer}
+     *  for testing. Defaults to the SandCage API itself.
+     *
+     *  @param  endpointBase    the absolute http, or https, base URL
+     *
+     *  @throws     OutOfBoundsException    if the value is not an absolute
+     *                                      http, or https, URL
+     *  @throws     NullPointerException    if the value is null
+     */
+    public void setEndpointBase(String endpointBase)
+            throws OutOfBoundsException, NullPointerException {
+        if(endpointBase==null)
+            throw new NullPointerException("The endpoint base was missing from the configuration");
+        URI uri;
+        try {
+            uri = new URI(endpointBase);
+        } catch(URISyntaxException usex) {
+            throw new OutOfBoundsException("endpointBase", endpointBase, "URI->("+usex.getReason()+")");
+        }
+        if(!SCHEME_HTTP.equalsIgnoreCase(uri.getScheme()) && !SCHEME_HTTPS.equalsIgnoreCase(uri.getScheme()) || uri.getHost()==null)
+            throw new OutOfBoundsException("endpointBase", endpointBase, "ABSOLUTE http(s) URL==false");
+        this.endpointBase = endpointBase.endsWith("/") ? endpointBase : endpointBase+"/";
+    }
+
+    /**
+     *  The base URL of the SandCage API, ending with a slash.
+     *
+     *  @return     the base URL
+     */
+    public String getEndpointBase() {
+        return this.endpointBase;
+    }
+
+    /**
+     *  Sets the maximum number of requests, and hence pooled connections, which
+     *  may be in flight at any one time, per client. Further requests are queued
+     *  until a connection becomes available.
+     *
+     *  @param  maxConnections  the maximum number of concurrent connections
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setMaxConnections(int maxConnections)
+            throws OutOfBoundsException {
+        if(maxConnections<MIN_CONNECTIONS || maxConnections>MAX_CONNECTIONS)
+            throw new OutOfBoundsException("maxConnections", String.valueOf(maxConnections), "("+MIN_CONNECTIONS+"<="+maxConnections+"<="+MAX_CONNECTIONS+")==false");
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     *  The maximum number of concurrent connections.
+     *
+     *  @return     the maximum number of concurrent connections
+     */
+    public int getMaxConnections() {
+        return this.maxConnections;
+    }
+
+    /**
+     *  Sets the connect timeout.
+     *
+     *  @param  connectTimeout  the connect timeout, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setConnectTimeout(int connectTimeout)
+            throws OutOfBoundsException {
+        if(connectTimeout<MIN_TIMEOUT)
+            throw new OutOfBoundsException("connectTimeout", String.valueOf(connectTimeout), "("+connectTimeout+">="+MIN_TIMEOUT+")==false");
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     *  The connect timeout.
+     *
+     *  @return     the connect timeout, in milliseconds
+     */
+    public int getConnectTimeout() {
+        return this.connectTimeout;
+    }
+
+    /**
+     *  Sets the read timeout, ie: how long to wait for the response once the
+     *  request has been sent.
+     *
+     *  @param  readTimeout     the read timeout, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setReadTimeout(int readTimeout)
+            throws OutOfBoundsException {
+        if(readTimeout<MIN_TIMEOUT)
+            throw new OutOfBoundsException("readTimeout", String.valueOf(readTimeout), "("+readTimeout+">="+MIN_TIMEOUT+")==false");
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     *  The read timeout.
+     *
+     *  @return     the read timeout, in milliseconds
+     */
+    public int getReadTimeout() {
+        return this.readTimeout;
+    }
+
+    /**
+     *  Sets the {@link Executor} on which responses are handled. If none is
+     *  set, the client creates a cached pool of daemon threads, named
+     *  <tt>sandcage-transport</tt>, which it shuts down once it is closed and
+     *  its outstanding requests are complete. An executor which is set here
+     *  is never shut down by the client.
+     *
+     *  @param  executor    the {@link Executor}, or null for the default
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     *  The {@link Executor} on which responses are handled, if any.
+     *
+     *  @return     the {@link Executor}, or null if the client creates its own
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     *  Sets the maximum number of get-info {@link com.sandcage.api.service.FileRecord
+     *  file records} cached by the client, keyed by file_token. Files which
+     *  are cached are served without a request to the SandCage API.
+     *
+     *  @param  infoCacheSize   the maximum number of cached records, or zero to
+     *                          disable the cache
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setInfoCacheSize(int infoCacheSize)
+            throws OutOfBoundsException {
+        if(infoCacheSize<MIN_CACHE_SIZE)
+            throw new OutOfBoundsException("infoCacheSize", String.valueOf(infoCacheSize), "("+infoCacheSize+">="+MIN_CACHE_SIZE+")==false");
+        this.infoCacheSize = infoCacheSize;
+    }
+
+    /**
+     *  The maximum number of cached get-info records.
+     *
+     *  @return     the maximum number of cached records, or zero if disabled
+     */
+    public int getInfoCacheSize() {
+        return this.infoCacheSize;
+    }
+
+    /**
+     *  Sets how long a cached get-info record is served before it is fetched
+     *  anew.
+     *
+     *  @param  infoCacheTtl    the time-to-live, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setInfoCacheTtl(int infoCacheTtl)
+            throws OutOfBoundsException {
+        if(infoCacheTtl<MIN_TIMEOUT)
+            throw new OutOfBoundsException("infoCacheTtl", String.valueOf(infoCacheTtl), "("+infoCacheTtl+">="+MIN_TIMEOUT+")==false");
+        this.infoCacheTtl = infoCacheTtl;
+    }
+
+    /**
+     *  The time-to-live of cached get-info records.
+     *
+     *  @return     the time-to-live, in milliseconds
+     */
+    public int getInfoCacheTtl() {
+        return this.infoCacheTtl;
+    }
+
+    /**
+     *  Sets whether concurrent, identical get-info lookups (ie: for the same
+     *  request_id, or the same file_tokens) share a single request, rather than
+     *  each sending its own. Such lookups are handed the same {@link 
+     *  com.sandcage.api.service.info.InfoResponse}, which must therefore not be
+     *  modified.
+     *
+     *  @param  infoCoalescing  <tt>true</tt> to coalesce lookups, else <tt>false</tt>
+     */
+    public void setInfoCoalescing(boolean infoCoalescing) {
+        this.infoCoalescing = infoCoalescing;
+    }
+
+    /**
+     *  Whether concurrent, identical get-info lookups share a single request.
+     *
+     *  @return     <tt>true</tt> if lookups are coalesced, else <tt>false</tt>
+     */
+    public boolean isInfoCoalescing() {
+        return this.infoCoalescing;
+    }
+
+    /**
+     *  Sets the {@link RetryPolicy} of requests to the given SandCage API
+     *  service. By default, requests to get-info and list-files are retried as
+     *  idempotent, and those to schedule-tasks and destroy-files are retried
+     *  only when known not to have been processed.
+     *
+     *  @param  service     the service, ie: schedule-tasks, get-info, list-files
+     *                      or destroy-files
+     *  @param  policy      the {@link RetryPolicy}, which is copied
+     *
+     *  @throws NullPointerException    if the service or policy is null
+     */
+    public void setRetryPolicy(String service, RetryPolicy policy)
+            throws NullPointerException {
+        if(service==null || policy==null)
+            throw new NullPointerException("The service or the retry policy was missing");
+        this.retryPolicies.put(service, new RetryPolicy(policy));
+    }
+
+    /**
+     *  The {@link RetryPolicy} of requests to the given SandCage API service.
+     *
+     *  @param  service     the service
+     *
+     *  @return     a copy of the {@link RetryPolicy}; for unknown services, one
+     *              which treats them as not idempotent
+     */
+    public RetryPolicy getRetryPolicy(String service) {
+        RetryPolicy policy = this.retryPolicies.get(service);
+        return policy!=null ? new RetryPolicy(policy) : new RetryPolicy(false);
+    }
+
+    /**
+     *  Sets when the circuit of a SandCage API service opens, failing requests
+     *  fast, and for how long.
+     *
+     *  @param  failureThreshold    the number of consecutive failures at which
+     *                              the circuit opens
+     *  @param  openTimeout         how long the circuit stays open before a
+     *                              probe request is let through, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public void setCircuitBreaker(int failureThreshold, int openTimeout)
+            throws OutOfBoundsException {
+        if(failureThreshold<MIN_FAILURE_THRESHOLD)
+            throw new OutOfBoundsException("failureThreshold", String.valueOf(failureThreshold), "("+failureThreshold+">="+MIN_FAILURE_THRESHOLD+")==false");
+        if(openTimeout<MIN_TIMEOUT)
+            throw new OutOfBoundsException("openTimeout", String.valueOf(openTimeout), "("+openTimeout+">="+MIN_TIMEOUT+")==false");
+        this.circuitFailureThreshold = failureThreshold;
+        this.circuitOpenTimeout = openTimeout;
+    }
+
+    /**
+     *  The number of consecutive failures at which a circuit opens.
+     *
+     *  @return     the failure threshold
+     */
+    public int getCircuitFailureThreshold() {
+        return this.circuitFailureThreshold;
+    }
+
+    /**
+     *  How long a circuit stays open before a probe request is let through.
+     *
+     *  @return     the open timeout, in milliseconds
+     */
+    public int getCircuitOpenTimeout() {
+        return this.circuitOpenTimeout;
+    }
+
+    /**
+     *  Sets the budget of retries, shared by all services, relative to the
+     *  number of requests.
+     *
+     *  @param  ratio       the number of retries permitted per request, between
+     *                      0 and 1
+     *  @param  reserve     the maximum number of retries which may be banked
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public void setRetryBudget(double ratio, int reserve)
+            throws OutOfBoundsException {
+        if(!(ratio>=0d && ratio<=1d))
+            throw new OutOfBoundsException("ratio", String.valueOf(ratio), "(0<="+ratio+"<=1)==false");
+        if(reserve<0)
+            throw new OutOfBoundsException("reserve", String.valueOf(reserve), "("+reserve+">=0)==false");
+        this.retryBudgetRatio = ratio;
+        this.retryBudgetReserve = reserve;
+    }
+
+    /**
+     *  The number of retries permitted per request.
+     *
+     *  @return     the retry budget ratio
+     */
+    public double getRetryBudgetRatio() {
+        return this.retryBudgetRatio;
+    }
+
+    /**
+     *  The maximum number of retries which may be banked.
+     *
+     *  @return     the retry budget reserve
+     */
+    public int getRetryBudgetReserve() {
+        return this.retryBudgetReserve;
+    }
+
+    /**
+     *  Sets the rate limit of requests sent with any one key, across all
+     *  services. The limit adapts to throttling by the SandCage API (see
+     *  {@link com.sandcage.api.limit.RateLimiter}).
+     *
+     *  @param  permitsPerSecond    the maximum sustained rate, or zero to
+     *                              disable the limit
+     *  @param  burst               the maximum number of requests sent in a
+     *                              burst
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public void setKeyRateLimit(double permitsPerSecond, int burst)
+            throws OutOfBoundsException {
+        checkRateLimit(permitsPerSecond, burst);
+        this.keyRateLimit = permitsPerSecond;
+        this.keyRateBurst = burst;
+    }
+
+    /**
+     *  The rate limit of requests sent with any one key.
+     *
+     *  @return     the rate, in requests per second, or zero if disabled
+     */
+    public double getKeyRateLimit() {
+        return this.keyRateLimit;
+    }
+
+    /**
+     *  The maximum number of requests sent with any one key in a burst.
+     *
+     *  @return     the burst size
+     */
+    public int getKeyRateBurst() {
+        return this.keyRateBurst;
+    }
+
+    /**
+     *  Sets the rate limit of requests to the given SandCage API service. The
+     *  limit adapts to throttling by the SandCage API (see 
+     *  {@link com.sandcage.api.limit.RateLimiter}).
+     *
+     *  @param  service             the service, ie: schedule-tasks, get-info,
+     *                              list-files or destroy-files
+     *  @param  permitsPerSecond    the maximum sustained rate, or zero to
+     *                              disable the limit
+     *  @param  burst               the maximum number of requests sent in a
+     *                              burst
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if the service is null
+     */
+    public void setServiceRateLimit(String service, double permitsPerSecond, int burst)
+            throws OutOfBoundsException, NullPointerException {
+        if(service==null)
+            throw new NullPointerException("The service was missing");
+        checkRateLimit(permitsPerSecond, burst);
+        this.serviceRateLimits.put(service, permitsPerSecond);
+        this.serviceRateBursts.put(service, burst);
+    }
+
+    /**
+     *  The rate limit of requests to the given SandCage API service.
+     *
+     *  @param  service     the service
+     *
+     *  @return     the rate, in requests per second, or zero if disabled
+     */
+    public double getServiceRateLimit(String service) {
+        Double rate = this.serviceRateLimits.get(service);
+        return rate!=null ? rate : RATE_LIMIT_DEFAULTS;
+    }
+
+    /**
+     *  The maximum number of requests to the given SandCage API service sent
+     *  in a burst.
+     *
+     *  @param  service     the service
+     *
+     *  @return     the burst size
+     */
+    public int getServiceRateBurst(String service) {
+        Integer burst = this.serviceRateBursts.get(service);
+        return burst!=null ? burst : 1;
+    }
+
+    /**
+     *  Sets whether a request which exceeds a rate limit fails at once, with a
+     *  {@link com.sandcage.api.limit.RateLimitException}, rather than waiting
+     *  (without blocking a thread) for a permit.
+     *
+     *  @param  rateLimitFailFast   <tt>true</tt> to fail fast, else <tt>false</tt>
+     *                              to wait
+     */
+    public void setRateLimitFailFast(boolean rateLimitFailFast) {
+        this.rateLimitFailFast = rateLimitFailFast;
+    }
+
+    /**
+     *  Whether a request which exceeds a rate limit fails at once.
+     *
+     *  @return     <tt>true</tt> to fail fast, else <tt>false</tt> to wait
+     */
+    public boolean isRateLimitFailFast() {
+        return this.rateLimitFailFast;
+    }
+
+    /**
+     *  Sets the size from which request bodies are sent gzip compressed, with a
+     *  <tt>Content-Encoding</tt> header. Large schedule-tasks payloads, being
+     *  repetitive JSON, typically shrink several-fold.
+     *
+     *  @param  compressionThreshold    the size, in bytes, from which request
+     *                                  bodies are compressed, or 0 to never
+     *                                  compress them
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setCompressionThreshold(int compressionThreshold)
+            throws OutOfBoundsException {
+        if(compressionThreshold<0)
+            throw new OutOfBoundsException("compressionThreshold", String.valueOf(compressionThreshold), "("+compressionThreshold+">=0)==false");
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     *  The size from which request bodies are sent gzip compressed.
+     *
+     *  @return     the size, in bytes, or 0 if request bodies are never compressed
+     */
+    public int getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
+
+    /**
+     *  Sets whether gzip, or deflate, compressed responses are accepted. They
+     *  are decompressed as they are read.
+     *
+     *  @param  responseCompression     <tt>true</tt> to accept compressed responses,
+     *                                  else <tt>false</tt>
+     */
+    public void setResponseCompression(boolean responseCompression) {
+        this.responseCompression = responseCompression;
+    }
+
+    /**
+     *  Whether gzip, or deflate, compressed responses are accepted.
+     *
+     *  @return     <tt>true</tt> if accepted, else <tt>false</tt>
+     */
+    public boolean isResponseCompression() {
+        return this.responseCompression;
+    }
+
+    /**
+     *  Sets the {@link DispatchMetrics} which receive the measurements of each
+     *  request, eg: a {@link com.sandcage.api.metrics.DefaultDispatchMetrics}.
+     *  None are recorded by default.
+     *
+     *  @param  metrics     the {@link DispatchMetrics}, or {@link DispatchMetrics#NONE}
+     *
+     *  @throws NullPointerException    if the metrics are null
+     */
+    public void setMetrics(DispatchMetrics metrics)
+            throws NullPointerException {
+        if(metrics==null)
+            throw new NullPointerException("The metrics were missing from the configuration");
+        this.metrics = metrics;
+    }
+
+    /**
+     *  The {@link DispatchMetrics} which receive the measurements of each request.
+     *
+     *  @return     the {@link DispatchMetrics}
+     */
+    public DispatchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     *  Sets where, and how verbosely, requests are logged. Messages are handed
+     *  to the {@link LogSink} on a dedicated thread; nothing is logged by default.
+     *
+     *  @param  sink    the {@link LogSink}, eg: {@link LogSink#CONSOLE}
+     *  @param  level   the most verbose {@link LogLevel} logged, or {@link LogLevel#OFF}
+     *
+     *  @throws NullPointerException    if any value is null
+     */
+    public void setLogging(LogSink sink, LogLevel level)
+            throws NullPointerException {
+        if(sink==null)
+            throw new NullPointerException("The log sink was missing from the configuration");
+        if(level==null)
+            throw new NullPointerException("The log level was missing from the configuration");
+        this.logSink = sink;
+        this.logLevel = level;
+    }
+
+    /**
+     *  The {@link LogSink} to which requests are logged.
+     *
+     *  @return     the {@link LogSink}
+     */
+    public LogSink getLogSink() {
+        return this.logSink;
+    }
+
+    /**
+     *  The most verbose {@link LogLevel} logged.
+     *
+     *  @return     the {@link LogLevel}
+     */
+    public LogLevel getLogLevel() {
+        return this.logLevel;
+    }
+
+    /**
+     *  Sets the fraction of requests whose {@link LogLevel#INFO} and 
+     *  {@link LogLevel#DEBUG} messages are logged; errors and retries are 
+     *  always logged.
+     *
+     *  @param  logSampling     the fraction of requests logged, between 0 and 1
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setLogSampling(double logSampling)
+            throws OutOfBoundsException {
+        if(!(logSampling>=0d && logSampling<=1d))
+            throw new OutOfBoundsException("logSampling", String.valueOf(logSampling), "(0<="+logSampling+"<=1)==false");
+        this.logSampling = logSampling;
+    }
+
+    /**
+     *  The fraction of requests whose {@link LogLevel#INFO} and {@link LogLevel#DEBUG}
+     *  messages are logged.
+     *
+     *  @return     the fraction of requests logged
+     */
+    public double getLogSampling() {
+        return this.logSampling;
+    }
+
+    /**
+     *  Sets the number of bytes of a request body logged, after which it is
+     *  truncated.
+     *
+     *  @param  logBodyLimit    the number of bytes logged
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setLogBodyLimit(int logBodyLimit)
+            throws OutOfBoundsException {
+        if(logBodyLimit<0)
+            throw new OutOfBoundsException("logBodyLimit", String.valueOf(logBodyLimit), "("+logBodyLimit+">=0)==false");
+        this.logBodyLimit = logBodyLimit;
+    }
+
+    /**
+     *  The number of bytes of a request body logged, after which it is truncated.
+     *
+     *  @return     the number of bytes logged
+     */
+    public int getLogBodyLimit() {
+        return this.logBodyLimit;
+    }
+
+    /**
+     *  Conducts basic checks as to whether the given rate limit is within bounds.
+     */
+    private static void checkRateLimit(double permitsPerSecond, int burst)
+            throws OutOfBoundsException {
+        if(!(permitsPerSecond>=0d) || Double.isInfinite(permitsPerSecond))
+            throw new OutOfBoundsException("permitsPerSecond", String.valueOf(permitsPerSecond), "("+permitsPerSecond+">=0)==false");
+        if(burst<1)
+            throw new OutOfBoundsException("burst", String.valueOf(burst), "("+burst+">=1)==false");
+    }
+}
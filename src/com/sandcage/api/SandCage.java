@@ -3,7 +3,13 @@ package com.sandcage.api;
 
 import com.sandcage.api.io.Dispatch;
 import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Response;
+import com.sandcage.api.service.delete.DestroyResponse;
+import com.sandcage.api.service.enumerate.ListResponse;
+import com.sandcage.api.service.info.InfoResponse;
 import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -13,6 +19,14 @@ import com.sandcage.api.service.put.ScheduledPayload;
  *  this class, in sequence invoking the relevant operation ({@link #scheduleTasks()}, 
  *  {@link #getInfo()}, {@link #getInfo()}, {@link #listFiles()}, or 
  *  {@link #destroyFiles() }).
+ *  <p>
+ *  Each operation is also available in a non-blocking form ({@link #scheduleTasksAsync()},
+ *  {@link #getInfoAsync()}, {@link #listFilesAsync()}, or {@link #destroyFilesAsync()}),
+ *  which returns immediately with a {@link CompletableFuture} of the {@link Response}.
+ *  <p>
+ *  All instances share the connection pool of a default {@link SandCageClient}.
+ *  Applications dispatching more than the odd request should instead create and
+ *  share a {@link SandCageClient}, configured as required.
  * 
  * 
  *  @date       03/11/2016
@@ -26,10 +40,10 @@ public class SandCage {
 
     private static final String ENDPOINT_VERSION = "0.2";
 
-    private static final String ENDPOINT_SCHEDULE_TASKS = "schedule-tasks";
-    private static final String ENDPOINT_GET_INFO = "get-info";
-    private static final String ENDPOINT_LIST_FILES = "list-files";
-    private static final String ENDPOINT_DESTROY_FILES = "destroy-files";
+    static final String ENDPOINT_SCHEDULE_TASKS = "schedule-tasks";
+    static final String ENDPOINT_GET_INFO = "get-info";
+    static final String ENDPOINT_LIST_FILES = "list-files";
+    static final String ENDPOINT_DESTROY_FILES = "destroy-files";
 
     private Payload payload;
 
@@ -41,7 +55,10 @@ public class SandCage {
      *  the SandCage API.
      * 
      *  @param  payload     the specialized {@link Payload} to dispatch to SandCage API
+     * 
+     *  @deprecated     create and share a {@link SandCageClient} instead
      */
+    @Deprecated
     public SandCage(Payload payload) {
         if(payload==null)
             throw new NullPointerException("The payload was missing from the request");
@@ -57,10 +74,25 @@ public class SandCage {
      */
     public void scheduleTasks() {
 
-        Dispatch dispatch = new Dispatch(this.payload, ENDPOINT_SCHEDULE_TASKS);
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_SCHEDULE_TASKS);
         dispatch.post();
     }
 
+    /**
+     *  Dispatches a given {@link ScheduledPayload}, via {@link Dispatch}, to the
+     *  SandCage API schedule-tasks endpoint, without blocking the calling thread.
+     * 
+     *  @return     a {@link CompletableFuture} of the (specialized) {@link Response}
+     * 
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+     *  @see    <a href="https://api.sandcage.com/0.2/schedule-tasks">schedule-tasks endpoint</a>
+     */
+    public CompletableFuture<ScheduledResponse> scheduleTasksAsync() {
+
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_SCHEDULE_TASKS);
+        return dispatch.postAsync(ScheduledResponse::new);
+    }
+
     /**
      *  Dispatches a given {@link InfoPayload}, via {@link Dispatch}, to the
      *  SandCage API get-info endpoint.
@@ -70,10 +102,25 @@ public class SandCage {
      */
     public void getInfo() {
 
-        Dispatch dispatch = new Dispatch(this.payload, ENDPOINT_GET_INFO);
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_GET_INFO);
         dispatch.post();
     }
 
+    /**
+     *  Dispatches a given {@link InfoPayload}, via {@link Dispatch}, to the
+     *  SandCage API get-info endpoint, without blocking the calling thread.
+     * 
+     *  @return     a {@link CompletableFuture} of the (specialized) {@link Response}
+     * 
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+     *  @see    <a href="https://api.sandcage.com/0.2/get-info">get-info endpoint</a>
+     */
+    public CompletableFuture<InfoResponse> getInfoAsync() {
+
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_GET_INFO);
+        return dispatch.postAsync(InfoResponse::new);
+    }
+
     /**
      *  Dispatches a given {@link ListPayload}, via {@link Dispatch}, to the
      *  SandCage API list-files endpoint.
@@ -83,10 +130,25 @@ public class SandCage {
      */
     public void listFiles() {
 
-        Dispatch dispatch = new Dispatch(this.payload, ENDPOINT_LIST_FILES);
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_LIST_FILES);
         dispatch.post();
     }
 
+    /**
+     *  Dispatches a given {@link ListPayload}, via {@link Dispatch}, to the
+     *  SandCage API list-files endpoint, without blocking the calling thread.
+     * 
+     *  @return     a {@link CompletableFuture} of the (specialized) {@link Response}
+     * 
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+     *  @see    <a href="https://api.sandcage.com/0.2/list-files">list-files endpoint</a>
+     */
+    public CompletableFuture<ListResponse> listFilesAsync() {
+
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_LIST_FILES);
+        return dispatch.postAsync(ListResponse::new);
+    }
+
     /**
      *  Dispatches a given {@link DestroyPayload}, via {@link Dispatch}, to the
      *  SandCage API destroy-files endpoint.
@@ -96,10 +158,25 @@ public class SandCage {
      */
     public void destroyFiles() {
 
-        Dispatch dispatch = new Dispatch(this.payload, ENDPOINT_DESTROY_FILES);
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_DESTROY_FILES);
         dispatch.post();
     }
 
+    /**
+     *  Dispatches a given {@link DestroyPayload}, via {@link Dispatch}, to the
+     *  SandCage API destroy-files endpoint, without blocking the calling thread.
+     * 
+     *  @return     a {@link CompletableFuture} of the (specialized) {@link Response}
+     * 
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/destroy_files">destroy-files docs</a>
+     *  @see    <a href="https://api.sandcage.com/0.2/destroy-files">destroy-files endpoint</a>
+     */
+    public CompletableFuture<DestroyResponse> destroyFilesAsync() {
+
+        Dispatch dispatch = new Dispatch(DefaultClient.INSTANCE.getTransport(), this.payload, ENDPOINT_DESTROY_FILES);
+        return dispatch.postAsync(DestroyResponse::new);
+    }
+
     /**
      *  The endpoint scheme and host.
      * 
@@ -126,4 +203,13 @@ public class SandCage {
     public static String getKey() {
         return KEY;
     }
-}
\ No newline at end of file
+
+    /**
+     *  Lazily creates the {@link SandCageClient} shared by all {@link SandCage}
+     *  instances.
+     */
+    private static class DefaultClient {
+
+        private static final SandCageClient INSTANCE = new SandCageClient();
+    }
+}
@@ -0,0 +1,489 @@
+package com.sandcage.api;
+
+import com.sandcage.api.cache.InfoCache;
+import com.sandcage.api.cache.SingleFlight;
+import com.sandcage.api.io.Dispatch;
+import com.sandcage.api.io.Transport;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Response;
+import com.sandcage.api.service.delete.DestroyFile;
+import com.sandcage.api.service.delete.DestroyPayload;
+import com.sandcage.api.service.delete.DestroyResponse;
+import com.sandcage.api.service.enumerate.ListPayload;
+import com.sandcage.api.service.enumerate.ListResponse;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.info.InfoResponse;
+import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ *  A long-lived, thread-safe SandCage API client.
+ *  <p>
+ *  Unlike {@link SandCage}, which is bound to a single {@link Payload}, one
+ *  instance of this class is meant to be created at start-up and shared by all
+ *  threads for the lifetime of the application. It owns a bounded pool of
+ *  keep-alive connections (see {@link Configuration}), so that sustained traffic
+ *  reuses warm TLS connections rather than paying a handshake per request.
+ *  <p>
+ *  Every operation is available in a blocking form, and in a non-blocking form
+ *  which returns a {@link CompletableFuture} of the (specialized) {@link Response}.
+ *  <p>
+ *  Optionally (see {@link Configuration#setInfoCacheSize(int)}), get-info records
+ *  are cached by file_token, per key, so that only files which are not cached
+ *  are fetched from the SandCage API; files passed to destroy-files are
+ *  invalidated once it is answered, even should lookups race the destroy.
+ *  Concurrent, identical get-info lookups share a single request (see
+ *  {@link Configuration#setInfoCoalescing(boolean)}).
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://api.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class SandCageClient implements AutoCloseable {
+
+    private static final int HTTP_OK = 200;
+    private static final String STATUS_SUCCESS = "success";
+
+    private final Transport transport;
+    private final InfoCache infoCache;
+    private final SingleFlight<String, InfoResponse> infoLookups;
+
+
+    /**
+     *  Creates a {@link SandCageClient} using the default {@link Configuration}.
+     */
+    public SandCageClient() {
+        this(new Configuration());
+    }
+
+    /**
+     *  Creates a {@link SandCageClient}.
+     *
+     *  @param  configuration   the {@link Configuration} of the client
+     *
+     *  @throws NullPointerException    if the configuration is null
+     */
+    public SandCageClient(Configuration configuration)
+            throws NullPointerException {
+        this.transport = new Transport(configuration);
+        this.infoCache = configuration.getInfoCacheSize()>0 
+            ? newInfoCache(configuration.getInfoCacheSize(), configuration.getInfoCacheTtl()) 
+            : null;
+        this.infoLookups = configuration.isInfoCoalescing() ? new SingleFlight<String, InfoResponse>() : null;
+    }
+
+    /**
+     *  Dispatches a given {@link ScheduledPayload} to the SandCage API
+     *  schedule-tasks endpoint, blocking until the response is received.
+     *
+     *  @param  payload     the {@link ScheduledPayload} to dispatch
+     *
+     *  @return     the {@link ScheduledResponse}
+     *
+     *  @throws     IOException     if the request could not be sent or the
+     *                              response could not be read
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+     */
+    public ScheduledResponse scheduleTasks(ScheduledPayload payload)
+            throws IOException {
+        return await(scheduleTasksAsync(payload));
+    }
+
+    /**
+     *  Dispatches a given {@link ScheduledPayload} to the SandCage API
+     *  schedule-tasks endpoint, without blocking the calling thread.
+     *
+     *  @param  payload     the {@link ScheduledPayload} to dispatch
+     *
+     *  @return     a {@link CompletableFuture} of the {@link ScheduledResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+     */
+    public CompletableFuture<ScheduledResponse> scheduleTasksAsync(ScheduledPayload payload) {
+        return dispatch(payload, SandCage.ENDPOINT_SCHEDULE_TASKS, ScheduledResponse::new);
+    }
+
+    /**
+     *  Dispatches a given {@link InfoPayload} to the SandCage API get-info
+     *  endpoint, blocking until the response is received.
+     *
+     *  @param  payload     the {@link InfoPayload} to dispatch
+     *
+     *  @return     the {@link InfoResponse}
+     *
+     *  @throws     IOException     if the request could not be sent or the
+     *                              response could not be read
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+     */
+    public InfoResponse getInfo(InfoPayload payload)
+            throws IOException {
+        return await(getInfoAsync(payload));
+    }
+
+    /**
+     *  Dispatches a given {@link InfoPayload} to the SandCage API get-info
+     *  endpoint, without blocking the calling thread.
+     *  <p>
+     *  If the {@link #getInfoCache() cache} is enabled, files which are cached
+     *  are served from it, and only the remainder are requested; should every
+     *  file be cached, no request is sent at all. Lookups by request_id are
+     *  always sent, but their records are cached nonetheless.
+     *
+     *  @param  payload     the {@link InfoPayload} to dispatch
+     *
+     *  @return     a {@link CompletableFuture} of the {@link InfoResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+     */
+    public CompletableFuture<InfoResponse> getInfoAsync(InfoPayload payload) {
+        if(payload==null)
+            throw new NullPointerException("The payload was missing from the request");
+        if(this.infoCache==null || payload.getRequest_id()!=null)               // The API factors the request_id alone
+            return fetchInfo(payload);
+
+        final ArrayList<File> misses = new ArrayList<File>();
+        final Map<String, FileRecord> hits = new HashMap<String, FileRecord>();
+        for(File file : payload.getFiles()) {
+            FileRecord record = this.infoCache.get(payload.getKey(), file.getFile_token());
+            if(record!=null)
+                hits.put(file.getFile_token(), record);
+            else
+                misses.add(file);
+        }
+        if(misses.isEmpty())
+            return CompletableFuture.completedFuture(merge(payload, hits, null));
+        if(hits.isEmpty())
+            return fetchInfo(payload);
+
+        InfoPayload remainder;
+        try {
+            remainder = new InfoPayload(payload.getKey(), null, misses, payload.getPlan());
+        } catch(OutOfBoundsException oobex) {                                   // A subset of an already valid payload
+            throw new IllegalStateException(oobex);
+        }
+        return fetchInfo(remainder)
+            .thenApply(fetched -> fetched.isSuccessful() ? merge(payload, hits, fetched) : fetched);
+    }
+
+    /**
+     *  Dispatches a given {@link InfoPayload} to the SandCage API get-info
+     *  endpoint, handing each {@link FileRecord} to the given consumer as soon 
+     *  as it has been read, rather than retaining it in the {@link InfoResponse}.
+     *
+     *  @param  payload     the {@link InfoPayload} to dispatch
+     *  @param  consumer    the consumer of the {@link FileRecord file records}; it
+     *                      is invoked on a thread of the client
+     *
+     *  @return     a {@link CompletableFuture} of the {@link InfoResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+     */
+    public CompletableFuture<InfoResponse> getInfoAsync(InfoPayload payload, Consumer<? super FileRecord> consumer) {
+        if(consumer==null)
+            throw new NullPointerException("The consumer of the file records was missing");
+        return dispatch(payload, SandCage.ENDPOINT_GET_INFO, () -> new InfoResponse(consumer));
+    }
+
+    /**
+     *  Dispatches a given {@link ListPayload} to the SandCage API list-files
+     *  endpoint, blocking until the response is received.
+     *
+     *  @param  payload     the {@link ListPayload} to dispatch
+     *
+     *  @return     the {@link ListResponse}
+     *
+     *  @throws     IOException     if the request could not be sent or the
+     *                              response could not be read
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+     */
+    public ListResponse listFiles(ListPayload payload)
+            throws IOException {
+        return await(listFilesAsync(payload));
+    }
+
+    /**
+     *  Dispatches a given {@link ListPayload} to the SandCage API list-files
+     *  endpoint, without blocking the calling thread.
+     *
+     *  @param  payload     the {@link ListPayload} to dispatch
+     *
+     *  @return     a {@link CompletableFuture} of the {@link ListResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+     */
+    public CompletableFuture<ListResponse> listFilesAsync(ListPayload payload) {
+        return dispatch(payload, SandCage.ENDPOINT_LIST_FILES, ListResponse::new);
+    }
+
+    /**
+     *  Dispatches a given {@link ListPayload} to the SandCage API list-files
+     *  endpoint, handing each {@link FileRecord} to the given consumer as soon 
+     *  as it has been read, rather than retaining it in the {@link ListResponse}.
+     *
+     *  @param  payload     the {@link ListPayload} to dispatch
+     *  @param  consumer    the consumer of the {@link FileRecord file records}; it
+     *                      is invoked on a thread of the client
+     *
+     *  @return     a {@link CompletableFuture} of the {@link ListResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+     */
+    public CompletableFuture<ListResponse> listFilesAsync(ListPayload payload, Consumer<? super FileRecord> consumer) {
+        if(consumer==null)
+            throw new NullPointerException("The consumer of the file records was missing");
+        return dispatch(payload, SandCage.ENDPOINT_LIST_FILES, () -> new ListResponse(consumer));
+    }
+
+    /**
+     *  Dispatches a given {@link DestroyPayload} to the SandCage API
+     *  destroy-files endpoint, blocking until the response is received.
+     *
+     *  @param  payload     the {@link DestroyPayload} to dispatch
+     *
+     *  @return     the {@link DestroyResponse}
+     *
+     *  @throws     IOException     if the request could not be sent or the
+     *                              response could not be read
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/destroy_files">destroy-files docs</a>
+     */
+    public DestroyResponse destroyFiles(DestroyPayload payload)
+            throws IOException {
+        return await(destroyFilesAsync(payload));
+    }
+
+    /**
+     *  Dispatches a given {@link DestroyPayload} to the SandCage API
+     *  destroy-files endpoint, without blocking the calling thread.
+     *
+     *  @param  payload     the {@link DestroyPayload} to dispatch
+     *
+     *  @return     a {@link CompletableFuture} of the {@link DestroyResponse}
+     *
+     *  @see    <a href="https://www.sandcage.com/docs/0.2/destroy_files">destroy-files docs</a>
+     */
+    public CompletableFuture<DestroyResponse> destroyFilesAsync(DestroyPayload payload) {
+        if(this.infoCache==null)
+            return dispatch(payload, SandCage.ENDPOINT_DESTROY_FILES, DestroyResponse::new);
+        // Invalidated once answered, as lookups sent while it was in flight may predate the destroy
+        return dispatch(payload, SandCage.ENDPOINT_DESTROY_FILES, DestroyResponse::new)
+            .whenComplete((response, failure) -> invalidate(payload, response));
+    }
+
+    /**
+     *  The cache of get-info records of this client, if enabled.
+     *
+     *  @return     the {@link InfoCache}, or null if disabled
+     */
+    public InfoCache getInfoCache() {
+        return this.infoCache;
+    }
+
+    /**
+     *  The coalescer of concurrent, identical get-info lookups of this client,
+     *  if enabled.
+     *
+     *  @return     the {@link SingleFlight}, or null if disabled
+     */
+    public SingleFlight<String, InfoResponse> getInfoLookups() {
+        return this.infoLookups;
+    }
+
+    /**
+     *  Stops accepting requests. Requests already in flight are completed as
+     *  normal.
+     */
+    @Override
+    public void close() {
+        this.transport.close();
+    }
+
+    /**
+     *  The {@link Transport} owned by this client.
+     *
+     *  @return     the {@link Transport}
+     */
+    Transport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     *  Dispatches the given {@link Payload} to the given service.
+     *
+     *  @param  payload     the {@link Payload} to dispatch
+     *  @param  service     the SandCage API service at which to dispatch it
+     *  @param  factory     creates the (specialized) {@link Response}
+     *
+     *  @return     a {@link CompletableFuture} of the (specialized) {@link Response}
+     */
+    private <R extends Response> CompletableFuture<R> dispatch(Payload payload, String service, Supplier<R> factory) {
+        if(payload==null)
+            throw new NullPointerException("The payload was missing from the request");
+        return new Dispatch(this.transport, payload, service).postAsync(factory);
+    }
+
+    /**
+     *  Requests the given {@link InfoPayload} from the SandCage API, sharing the
+     *  request with any identical one in flight, and caching its records.
+     *
+     *  @param  payload     the {@link InfoPayload} to dispatch
+     *
+     *  @return     a {@link CompletableFuture} of the (possibly shared) {@link InfoResponse}
+     */
+    private CompletableFuture<InfoResponse> fetchInfo(InfoPayload payload) {
+        Supplier<CompletableFuture<InfoResponse>> call = this.infoCache!=null
+            ? () -> {
+                long generation = this.infoCache.getGeneration();                // Read before the lookup is sent
+                return dispatch(payload, SandCage.ENDPOINT_GET_INFO, InfoResponse::new)
+                    .thenApply(response -> cache(payload.getKey(), response, generation));
+            }
+            : () -> dispatch(payload, SandCage.ENDPOINT_GET_INFO, InfoResponse::new);
+        return this.infoLookups!=null ? this.infoLookups.execute(lookupKey(payload), call) : call.get();
+    }
+
+    /**
+     *  The key identifying identical get-info lookups: the request_id if any
+     *  (as the API factors it alone), else the ordered file_tokens, qualified
+     *  by the user's key.
+     *
+     *  @param  payload     the {@link InfoPayload}
+     *
+     *  @return     the key of the lookup
+     */
+    private static String lookupKey(InfoPayload payload) {
+        StringBuilder key = new StringBuilder(payload.getKey()).append('\n');
+        if(payload.getRequest_id()!=null)
+            return key.append("request_id:").append(payload.getRequest_id()).toString();
+        key.append("file_token:");
+        for(File file : payload.getFiles())
+            key.append(file.getFile_token()).append(',');
+        return key.toString();
+    }
+
+    /**
+     *  Caches the {@link FileRecord file records} of the given response, if it
+     *  was successful, unless their files were invalidated since it was sent.
+     *
+     *  @param  key         the user's key, with which the records were fetched
+     *  @param  response    the {@link InfoResponse} read from the SandCage API
+     *  @param  generation  the generation of the cache when the lookup was sent
+     *
+     *  @return     the same {@link InfoResponse}
+     */
+    private InfoResponse cache(String key, InfoResponse response, long generation) {
+        if(response.isSuccessful())
+            for(FileRecord record : response.getFiles())
+                this.infoCache.put(key, record, generation);
+        return response;
+    }
+
+    /**
+     *  Merges cached and fetched {@link FileRecord file records} into a single
+     *  {@link InfoResponse}, in the order in which the files were requested.
+     *
+     *  @param  payload     the {@link InfoPayload} as requested
+     *  @param  hits        the cached records, by file_token
+     *  @param  fetched     the response for the files which were not cached, if any
+     *
+     *  @return     the merged {@link InfoResponse}
+     */
+    private static InfoResponse merge(InfoPayload payload, Map<String, FileRecord> hits, InfoResponse fetched) {
+        Map<String, FileRecord> byToken = new HashMap<String, FileRecord>(hits);
+        List<FileRecord> unmatched = new ArrayList<FileRecord>();
+        if(fetched!=null)
+            for(FileRecord record : fetched.getFiles())
+                if(record.getFileToken()==null || byToken.putIfAbsent(record.getFileToken(), record)!=null)
+                    unmatched.add(record);
+        List<FileRecord> files = new ArrayList<FileRecord>(byToken.size()+unmatched.size());
+        for(File file : payload.getFiles()) {
+            FileRecord record = byToken.remove(file.getFile_token());
+            if(record!=null)
+                files.add(record);
+        }
+        files.addAll(byToken.values());
+        files.addAll(unmatched);
+        return fetched!=null 
+            ? new InfoResponse(fetched.getStatusCode(), fetched.getStatus(), files) 
+            : new InfoResponse(HTTP_OK, STATUS_SUCCESS, files);
+    }
+
+    /**
+     *  Invalidates, at once, the cached records of the files of the given
+     *  {@link DestroyPayload}, by file_token or reference_id, along with those
+     *  of the file_tokens reported in the {@link DestroyResponse}, if any.
+     *
+     *  @param  payload     the {@link DestroyPayload}
+     *  @param  response    the {@link DestroyResponse}, if any
+     */
+    private void invalidate(DestroyPayload payload, DestroyResponse response) {
+        HashSet<String> fileTokens = new HashSet<String>();
+        HashSet<String> referenceIds = new HashSet<String>();
+        if(payload!=null && payload.getFiles()!=null)
+            for(File file : payload.getFiles()) {
+                fileTokens.add(file.getFile_token());
+                if(file instanceof DestroyFile)
+                    referenceIds.add(((DestroyFile) file).getReference_id());
+            }
+        if(response!=null)
+            for(FileRecord record : response.getFiles())
+                fileTokens.add(record.getFileToken());
+        this.infoCache.invalidate(fileTokens, referenceIds);
+    }
+
+    /**
+     *  Creates the cache of get-info records, whose bounds have already been
+     *  checked by the {@link Configuration}.
+     */
+    private static InfoCache newInfoCache(int maxSize, int ttl) {
+        try {
+            return new InfoCache(maxSize, ttl);
+        } catch(OutOfBoundsException oobex) {
+            throw new IllegalStateException(oobex);
+        }
+    }
+
+    /**
+     *  Blocks until the given {@link CompletableFuture} completes, unwrapping
+     *  the cause of any failure.
+     *
+     *  @param  <T>     the type of the result
+     *  @param  future  the {@link CompletableFuture} to wait upon
+     *
+     *  @return     the result
+     *
+     *  @throws     IOException     if the request could not be sent or the
+     *                              response could not be read
+     */
+    private static <T> T await(CompletableFuture<T> future)
+            throws IOException {
+        try {
+            return future.join();
+        } catch(CompletionException cex) {
+            Throwable cause = cex.getCause();
+            if(cause instanceof IOException)
+                throw (IOException) cause;
+            if(cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if(cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.service.put.Job;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ *  The aggregated outcome of scheduling a batch of {@link Job jobs}, split into
+ *  plan-sized chunks.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class BatchResult {
+
+    private final List<ChunkResult> chunks;
+
+
+    /**
+     *  Creates a {@link BatchResult}.
+     *
+     *  @param  chunks      the {@link ChunkResult} of each chunk, in order
+     */
+    public BatchResult(List<ChunkResult> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     *  The {@link ChunkResult} of each chunk, in the order of the {@link Job jobs}.
+     *
+     *  @return     the {@link ChunkResult chunk results}
+     */
+    public List<ChunkResult> getChunks() {
+        return this.chunks;
+    }
+
+    /**
+     *  The request_id of each chunk accepted by the SandCage API.
+     *
+     *  @return     the request identifiers
+     */
+    public List<String> getRequestIds() {
+        ArrayList<String> requestIds = new ArrayList<String>();
+        for(ChunkResult chunk : this.chunks)
+            if(chunk.isSuccessful() && chunk.getResponse().getRequestId()!=null)
+                requestIds.add(chunk.getResponse().getRequestId());
+        return requestIds;
+    }
+
+    /**
+     *  The {@link Job jobs} of the chunks which were not dispatched, or not 
+     *  accepted by the SandCage API, eg: to schedule these again.
+     *
+     *  @return     the failed {@link Job jobs}
+     */
+    public List<Job> getFailedJobs() {
+        ArrayList<Job> failed = new ArrayList<Job>();
+        for(ChunkResult chunk : this.chunks)
+            if(!chunk.isSuccessful())
+                failed.addAll(chunk.getJobs());
+        return failed;
+    }
+
+    /**
+     *  Whether every chunk was accepted by the SandCage API.
+     *
+     *  @return     <tt>true</tt> if every chunk was accepted, else <tt>false</tt>
+     */
+    public boolean isSuccessful() {
+        for(ChunkResult chunk : this.chunks)
+            if(!chunk.isSuccessful())
+                return false;
+        return true;
+    }
+}
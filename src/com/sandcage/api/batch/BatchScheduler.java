@@ -0,0 +1,173 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ *  Schedules an arbitrarily large collection of {@link Job jobs}, by splitting
+ *  it into {@link ScheduledPayload payloads} no larger than a given {@link Plan}
+ *  permits, and dispatching these concurrently.
+ *  <p>
+ *  No more than a given number of chunks are in flight at any one time: as each
+ *  completes, the next is dispatched. The failure of a chunk does not affect the
+ *  others; it is reported in the aggregated {@link BatchResult}, along with the
+ *  {@link Job jobs} it contained.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class BatchScheduler {
+
+    private static final int MIN_IN_FLIGHT = 1;
+
+    private final SandCageClient client;
+    private final String key;
+    private final Plan plan;
+    private final int maxInFlight;
+
+
+    /**
+     *  Creates a {@link BatchScheduler}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to dispatch
+     *  @param  key             the user's unique key
+     *  @param  plan            the {@link Plan} which determines the chunk size
+     *  @param  maxInFlight     the maximum number of chunks in flight at any one
+     *                          time
+     *
+     *  @throws     OutOfBoundsException    if maxInFlight is less than one
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public BatchScheduler(SandCageClient client, String key, Plan plan, int maxInFlight)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the scheduler");
+        if(key==null)
+            throw new NullPointerException("Mandatory field [ key ] was missing from the scheduler");
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the scheduler");
+        if(maxInFlight<MIN_IN_FLIGHT)
+            throw new OutOfBoundsException("maxInFlight", String.valueOf(maxInFlight), "("+maxInFlight+">="+MIN_IN_FLIGHT+")==false");
+        this.client = client;
+        this.key = key;
+        this.plan = plan;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     *  Schedules the given {@link Job jobs}, blocking until every chunk has
+     *  completed.
+     *
+     *  @param  jobs            the {@link Job jobs} to schedule
+     *  @param  callbackUrl     the URL to use for the API callback, if any
+     *
+     *  @return     the {@link BatchResult}
+     *
+     *  @throws     OutOfBoundsException    if the callback URL is not within
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if jobs is null
+     */
+    public BatchResult schedule(Collection<Job> jobs, String callbackUrl)
+            throws OutOfBoundsException, NullPointerException {
+        return scheduleAsync(jobs, callbackUrl).join();
+    }
+
+    /**
+     *  Schedules the given {@link Job jobs}, without blocking the calling thread.
+     *
+     *  @param  jobs            the {@link Job jobs} to schedule
+     *  @param  callbackUrl     the URL to use for the API callback, if any
+     *
+     *  @return     a {@link CompletableFuture} of the {@link BatchResult}, which
+     *              is completed once every chunk has completed
+     *
+     *  @throws     OutOfBoundsException    if the callback URL is not within
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if jobs is null
+     */
+    public CompletableFuture<BatchResult> scheduleAsync(Collection<Job> jobs, String callbackUrl)
+            throws OutOfBoundsException, NullPointerException {
+        if(jobs==null)
+            throw new NullPointerException("Mandatory field [ jobs ] was missing from the request");
+
+        // Splits the jobs into plan-sized payloads, all of which are checked before any is dispatched
+        ArrayList<Job> all = new ArrayList<Job>(jobs);
+        final ArrayList<ScheduledPayload> payloads = new ArrayList<ScheduledPayload>();
+        for(int from=0; from<all.size(); from+=this.plan.getMaxJobs()) {
+            ArrayList<Job> chunk = new ArrayList<Job>(all.subList(from, Math.min(all.size(), from+this.plan.getMaxJobs())));
+            payloads.add(new ScheduledPayload(this.key, chunk, callbackUrl, this.plan));
+        }
+
+        final CompletableFuture<BatchResult> result = new CompletableFuture<BatchResult>();
+        final ChunkResult[] chunks = new ChunkResult[payloads.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(payloads.size());
+
+        if(payloads.isEmpty()) {
+            result.complete(new BatchResult(new ArrayList<ChunkResult>()));
+            return result;
+        }
+
+        for(int i=0; i<Math.min(this.maxInFlight, payloads.size()); i++)
+            dispatchNext(payloads, chunks, next, remaining, result);
+
+        return result;
+    }
+
+    /**
+     *  Dispatches the next chunk, if any, dispatching the one after it once it
+     *  completes. Chunks which fail synchronously, eg: upon an open breaker or
+     *  an exhausted rate limit, are followed by the next within the loop, rather
+     *  than by recursing, lest a long run of these overflow the stack.
+     */
+    private void dispatchNext(List<ScheduledPayload> payloads, ChunkResult[] chunks, AtomicInteger next, 
+            AtomicInteger remaining, CompletableFuture<BatchResult> result) {
+        int index;
+        while((index = next.getAndIncrement())<payloads.size()) {
+            final int chunk = index;
+            final ScheduledPayload payload = payloads.get(chunk);
+            CompletableFuture<ScheduledResponse> pending = this.client.scheduleTasksAsync(payload);
+            if(!pending.isDone()) {
+                pending.whenComplete((response, failure) -> {
+                    if(record(chunks, chunk, payload, response, failure, remaining, result))
+                        dispatchNext(payloads, chunks, next, remaining, result);
+                });
+                return;
+            }
+            if(!pending.handle((response, failure) -> record(chunks, chunk, payload, response, failure, remaining, result)).join())
+                return;
+        }
+    }
+
+    /**
+     *  Records the outcome of a chunk, completing the result upon the last.
+     *
+     *  @return     <tt>true</tt> if chunks remain outstanding, else <tt>false</tt>
+     */
+    private static boolean record(ChunkResult[] chunks, int index, ScheduledPayload payload, ScheduledResponse response, 
+            Throwable failure, AtomicInteger remaining, CompletableFuture<BatchResult> result) {
+        if(failure instanceof CompletionException && failure.getCause()!=null)
+            failure = failure.getCause();
+        chunks[index] = new ChunkResult(payload.getJobs(), response, failure);
+        if(remaining.decrementAndGet()==0) {
+            result.complete(new BatchResult(Arrays.asList(chunks)));
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.util.List;
+
+
+/**
+ *  The outcome of dispatching one plan-sized chunk of a batch of {@link Job jobs}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class ChunkResult {
+
+    private final List<Job> jobs;
+    private final ScheduledResponse response;
+    private final Throwable failure;
+
+
+    /**
+     *  Creates a {@link ChunkResult}.
+     *
+     *  @param  jobs        the {@link Job jobs} of the chunk
+     *  @param  response    the {@link ScheduledResponse}, if the chunk was dispatched
+     *  @param  failure     the cause of the failure, if the chunk was not dispatched
+     */
+    public ChunkResult(List<Job> jobs, ScheduledResponse response, Throwable failure) {
+        this.jobs = jobs;
+        this.response = response;
+        this.failure = failure;
+    }
+
+    /**
+     *  The {@link Job jobs} of the chunk.
+     *
+     *  @return     the {@link Job jobs}
+     */
+    public List<Job> getJobs() {
+        return this.jobs;
+    }
+
+    /**
+     *  The {@link ScheduledResponse} of the chunk.
+     *
+     *  @return     the {@link ScheduledResponse}, or null if the chunk could 
+     *              not be dispatched
+     */
+    public ScheduledResponse getResponse() {
+        return this.response;
+    }
+
+    /**
+     *  The cause of the failure to dispatch the chunk.
+     *
+     *  @return     the cause, or null if the chunk was dispatched
+     */
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     *  Whether the chunk was dispatched and accepted by the SandCage API.
+     *
+     *  @return     <tt>true</tt> if the chunk was accepted, else <tt>false</tt>
+     */
+    public boolean isSuccessful() {
+        return this.response!=null && this.response.isSuccessful();
+    }
+}
@@ -0,0 +1,284 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.delete.DestroyFile;
+import com.sandcage.api.service.delete.DestroyPayload;
+import com.sandcage.api.service.delete.DestroyResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *  A write-behind queue of files to destroy, which are sent in batched
+ *  {@link DestroyPayload payloads}.
+ *  <p>
+ *  Callers {@link #destroy(DestroyFile) enqueue} one file at a time, and are
+ *  handed a {@link CompletableFuture} of its outcome. Files are accumulated
+ *  until either the batch is full or the oldest file has waited for the
+ *  maximum age, whichever comes first; the batch is then sent as a single
+ *  {@link DestroyPayload}, no larger than the {@link Plan} permits. Files
+ *  enqueued while the same file (by file_token, else reference_id) is queued
+ *  or in flight share its outcome, rather than being sent again. As the queue
+ *  cannot tell which file_token a reference_id stands for, a file enqueued once
+ *  by each is sent twice; enqueue each file by the same identifier throughout.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/destroy_files">destroy-files docs</a>
+ */
+public class DestroyQueue implements AutoCloseable {
+
+    private static final int MIN_BATCH_SIZE = 1;
+    private static final int MIN_AGE = 1;
+    private static final String BY_FILE_TOKEN = "file_token:";
+    private static final String BY_REFERENCE_ID = "reference_id:";
+
+    private final SandCageClient client;
+    private final String key;
+    private final Plan plan;
+    private final String callbackUrl;
+    private final int maxBatchSize;
+    private final long maxAge;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final Map<String, CompletableFuture<FileRecord>> unresolved 
+        = new HashMap<String, CompletableFuture<FileRecord>>();                 // Guarded by this
+    private Batch current;                                                      // Guarded by this
+    private boolean closed;                                                     // Guarded by this
+
+
+    /**
+     *  Creates a {@link DestroyQueue}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to dispatch
+     *  @param  key             the user's unique key
+     *  @param  plan            the {@link Plan} which bounds the batch size
+     *  @param  callbackUrl     the URL to use for the API callback, if any
+     *  @param  maxBatchSize    the number of files at which a batch is sent at
+     *                          once
+     *  @param  maxAge          the maximum time a file waits for its batch to
+     *                          fill, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the batch size exceeds the
+     *                                      {@link Plan}, any value is less than
+     *                                      one, or the callbackUrl is not within
+     *                                      the permissible bounds
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public DestroyQueue(SandCageClient client, String key, Plan plan, String callbackUrl, int maxBatchSize, long maxAge)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the queue");
+        if(key==null)
+            throw new NullPointerException("Mandatory field [ key ] was missing from the queue");
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the queue");
+        if(maxBatchSize<MIN_BATCH_SIZE || maxBatchSize>plan.getMaxDestroyFiles())
+            throw new OutOfBoundsException("maxBatchSize", String.valueOf(maxBatchSize), 
+                "("+MIN_BATCH_SIZE+"<="+maxBatchSize+"<="+plan.getMaxDestroyFiles()+")==false");
+        if(maxAge<MIN_AGE)
+            throw new OutOfBoundsException("maxAge", String.valueOf(maxAge), "("+maxAge+">="+MIN_AGE+")==false");
+        ArrayList<File> probe = new ArrayList<File>(1);                         // The smallest batch; its files are not checked
+        probe.add(null);
+        new DestroyPayload(key, probe, callbackUrl, plan);                      // Checks the callbackUrl as each batch will be
+        this.client = client;
+        this.key = key;
+        this.plan = plan;
+        this.callbackUrl = callbackUrl;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAge = maxAge;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-destroy-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     *  Enqueues the given file for destruction, as part of the next batch.
+     *
+     *  @param  file    the {@link DestroyFile} to destroy
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord} which
+     *              reports the outcome for the file, or of null if the SandCage
+     *              API reported none; it fails with an {@link IOException} if
+     *              the batch could not be sent, or was not successful
+     *
+     *  @throws     NullPointerException    if the file, or both its file_token
+     *                                      and reference_id, are null
+     */
+    public CompletableFuture<FileRecord> destroy(DestroyFile file)
+            throws NullPointerException {
+        final String id = idOf(file);
+        Batch full = null;
+        CompletableFuture<FileRecord> future;
+        synchronized(this) {
+            if(this.closed) {
+                future = new CompletableFuture<FileRecord>();
+                future.completeExceptionally(new IllegalStateException("The queue has been closed"));
+                return future;
+            }
+            future = this.unresolved.get(id);
+            if(future!=null)
+                return future.copy();                                           // Already queued, or in flight
+            future = new CompletableFuture<FileRecord>();
+            this.unresolved.put(id, future);
+            if(this.current==null) {
+                final Batch batch = new Batch();
+                this.current = batch;
+                batch.timeout = this.timer.schedule(() -> flush(batch), this.maxAge, TimeUnit.MILLISECONDS);
+            }
+            this.current.add(id, file, future);
+            if(this.current.size()>=this.maxBatchSize) {
+                full = this.current;
+                this.current = null;
+            }
+        }
+        if(full!=null)
+            send(full);
+        return future.copy();
+    }
+
+    /**
+     *  Sends the pending batch, if any, without waiting for it to fill or age.
+     */
+    public void flush() {
+        Batch batch;
+        synchronized(this) {
+            batch = this.current;
+            this.current = null;
+        }
+        if(batch!=null)
+            send(batch);
+    }
+
+    /**
+     *  The number of files queued or in flight, whose outcome is not yet known.
+     *
+     *  @return     the number of unresolved files
+     */
+    public synchronized int getPending() {
+        return this.unresolved.size();
+    }
+
+    /**
+     *  Sends the pending batch, if any, and stops accepting files.
+     */
+    @Override
+    public void close() {
+        synchronized(this) {
+            this.closed = true;
+        }
+        flush();
+        this.timer.shutdown();
+    }
+
+    /**
+     *  Sends the given batch, unless it has already been sent (ie: once full).
+     */
+    private void flush(Batch batch) {
+        synchronized(this) {
+            if(this.current!=batch)
+                return;
+            this.current = null;
+        }
+        send(batch);
+    }
+
+    /**
+     *  Sends the given batch as a single {@link DestroyPayload}, completing the
+     *  outcome of each of its files once the response is received.
+     */
+    private void send(final Batch batch) {
+        if(batch.timeout!=null)
+            batch.timeout.cancel(false);
+
+        CompletableFuture<DestroyResponse> response;
+        try {
+            response = this.client.destroyFilesAsync(
+                new DestroyPayload(this.key, batch.files, this.callbackUrl, this.plan));
+        } catch(OutOfBoundsException | RuntimeException ex) {
+            resolve(batch, null, ex);
+            return;
+        }
+        response.whenComplete((destroyed, failure) -> resolve(batch, destroyed, failure));
+    }
+
+    /**
+     *  Completes the outcome of each file of the given batch.
+     */
+    private void resolve(Batch batch, DestroyResponse response, Throwable failure) {
+        if(failure==null && !response.isSuccessful())
+            failure = new IOException("The destroy-files batch failed with HTTP "+response.getStatusCode()+": "+response.getErrors());
+        if(failure instanceof CompletionException && failure.getCause()!=null)
+            failure = failure.getCause();
+
+        Map<String, FileRecord> records = new HashMap<String, FileRecord>();
+        if(failure==null)
+            for(FileRecord record : response.getFiles()) {
+                if(record.getFileToken()!=null)
+                    records.putIfAbsent(BY_FILE_TOKEN+record.getFileToken(), record);
+                if(record.getReferenceId()!=null)
+                    records.putIfAbsent(BY_REFERENCE_ID+record.getReferenceId(), record);
+            }
+
+        synchronized(this) {
+            for(String id : batch.outcomes.keySet())
+                this.unresolved.remove(id);
+        }
+        for(Map.Entry<String, CompletableFuture<FileRecord>> outcome : batch.outcomes.entrySet())
+            if(failure!=null)
+                outcome.getValue().completeExceptionally(failure);
+            else
+                outcome.getValue().complete(records.get(outcome.getKey()));
+    }
+
+    /**
+     *  The identity of the given file, ie: its file_token, else its reference_id;
+     *  each is qualified by its kind, lest a file_token equal to the reference_id
+     *  of another file be taken for it.
+     */
+    private static String idOf(DestroyFile file) {
+        if(file==null)
+            throw new NullPointerException("The file to destroy was missing");
+        if(file.getFile_token()!=null)
+            return BY_FILE_TOKEN+file.getFile_token();
+        if(file.getReference_id()!=null)
+            return BY_REFERENCE_ID+file.getReference_id();
+        throw new NullPointerException("Neither a file_token nor a reference_id was provided for the file to destroy");
+    }
+
+    /**
+     *  The files of a batch, along with their outcomes, by identity.
+     */
+    private static class Batch {
+
+        private final ArrayList<File> files = new ArrayList<File>();
+        private final Map<String, CompletableFuture<FileRecord>> outcomes = new LinkedHashMap<String, CompletableFuture<FileRecord>>();
+        private ScheduledFuture<?> timeout;
+
+        private void add(String id, DestroyFile file, CompletableFuture<FileRecord> outcome) {
+            this.files.add(file);
+            this.outcomes.put(id, outcome);
+        }
+
+        private int size() {
+            return this.files.size();
+        }
+    }
+}
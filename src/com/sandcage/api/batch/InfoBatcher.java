@@ -0,0 +1,244 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.info.InfoFile;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.info.InfoResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *  Merges single get-info lookups into batched {@link InfoPayload payloads}.
+ *  <p>
+ *  Callers {@link #lookup(String) look up} one file_token at a time, and are
+ *  handed a {@link CompletableFuture} of its {@link FileRecord}. Tokens are
+ *  accumulated until either the batch is full or the oldest token has waited
+ *  for the maximum delay, whichever comes first; the batch is then sent as a
+ *  single {@link InfoPayload}, and its response demultiplexed to each caller.
+ *  Tokens looked up more than once within a batch are requested once.
+ *  <p>
+ *  Batches are dispatched via {@link SandCageClient#getInfoAsync(InfoPayload)},
+ *  so they are served from, and populate, the client's cache (if enabled).
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+ */
+public class InfoBatcher implements AutoCloseable {
+
+    private static final int MIN_BATCH_SIZE = 1;
+    private static final int MIN_DELAY = 1;
+
+    private final SandCageClient client;
+    private final String key;
+    private final Plan plan;
+    private final int maxBatchSize;
+    private final long maxDelay;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private Batch current;                                                      // Guarded by this
+    private boolean closed;                                                     // Guarded by this
+
+
+    /**
+     *  Creates an {@link InfoBatcher}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to dispatch
+     *  @param  key             the user's unique key
+     *  @param  plan            the {@link Plan} which bounds the batch size
+     *  @param  maxBatchSize    the number of files at which a batch is sent
+     *                          at once
+     *  @param  maxDelay        the maximum time a lookup waits for its batch to
+     *                          fill, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the batch size exceeds the
+     *                                      {@link Plan}, or any value is less
+     *                                      than one
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public InfoBatcher(SandCageClient client, String key, Plan plan, int maxBatchSize, long maxDelay)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the batcher");
+        if(key==null)
+            throw new NullPointerException("Mandatory field [ key ] was missing from the batcher");
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the batcher");
+        if(maxBatchSize<MIN_BATCH_SIZE || maxBatchSize>plan.getMaxInfoFiles())
+            throw new OutOfBoundsException("maxBatchSize", String.valueOf(maxBatchSize), 
+                "("+MIN_BATCH_SIZE+"<="+maxBatchSize+"<="+plan.getMaxInfoFiles()+")==false");
+        if(maxDelay<MIN_DELAY)
+            throw new OutOfBoundsException("maxDelay", String.valueOf(maxDelay), "("+maxDelay+">="+MIN_DELAY+")==false");
+        this.client = client;
+        this.key = key;
+        this.plan = plan;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-info-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);                               // Batches which fill up cancel their timeout
+    }
+
+    /**
+     *  Looks up the {@link FileRecord} of the given file_token, as part of the
+     *  next batch.
+     *
+     *  @param  fileToken   the file_token to look up
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord}, or of
+     *              null if the SandCage API reported no record for the token;
+     *              it fails with an {@link IOException} if the batch could not
+     *              be sent, or was not successful
+     *
+     *  @throws     OutOfBoundsException    if the length of the file_token is 
+     *                                      not within permissible bounds
+     *  @throws     NullPointerException    if the file_token is null
+     */
+    public CompletableFuture<FileRecord> lookup(String fileToken)
+            throws OutOfBoundsException, NullPointerException {
+        InfoFile file = new InfoFile(fileToken);
+        Batch full = null;
+        CompletableFuture<FileRecord> future;
+        synchronized(this) {
+            if(this.closed) {
+                future = new CompletableFuture<FileRecord>();
+                future.completeExceptionally(new IllegalStateException("The batcher has been closed"));
+                return future;
+            }
+            if(this.current==null) {
+                final Batch batch = new Batch();
+                this.current = batch;
+                batch.timeout = this.timer.schedule(() -> flush(batch), this.maxDelay, TimeUnit.MILLISECONDS);
+            }
+            future = this.current.add(file);
+            if(this.current.size()>=this.maxBatchSize) {
+                full = this.current;
+                this.current = null;
+            }
+        }
+        if(full!=null)
+            send(full);
+        return future.copy();
+    }
+
+    /**
+     *  Sends the pending batch, if any, without waiting for it to fill.
+     */
+    public void flush() {
+        Batch batch;
+        synchronized(this) {
+            batch = this.current;
+            this.current = null;
+        }
+        if(batch!=null)
+            send(batch);
+    }
+
+    /**
+     *  Sends the pending batch, if any, and stops accepting lookups.
+     */
+    @Override
+    public void close() {
+        synchronized(this) {
+            this.closed = true;
+        }
+        flush();
+        this.timer.shutdown();
+    }
+
+    /**
+     *  Sends the given batch, unless it has already been sent (ie: once full).
+     */
+    private void flush(Batch batch) {
+        synchronized(this) {
+            if(this.current!=batch)
+                return;
+            this.current = null;
+        }
+        send(batch);
+    }
+
+    /**
+     *  Sends the given batch as a single {@link InfoPayload}, completing the
+     *  lookups of its files once the response is received.
+     */
+    private void send(Batch batch) {
+        if(batch.timeout!=null)
+            batch.timeout.cancel(false);
+        final Map<String, CompletableFuture<FileRecord>> lookups = batch.lookups;
+        InfoPayload payload;
+        try {
+            payload = new InfoPayload(this.key, null, batch.files, this.plan);
+        } catch(OutOfBoundsException oobex) {                                   // The batch size is bounded by the plan
+            throw new IllegalStateException(oobex);
+        }
+
+        CompletableFuture<InfoResponse> response;
+        try {
+            response = this.client.getInfoAsync(payload);
+        } catch(RuntimeException rex) {
+            for(CompletableFuture<FileRecord> lookup : lookups.values())
+                lookup.completeExceptionally(rex);
+            return;
+        }
+
+        response.whenComplete((info, failure) -> {
+            if(failure==null && !info.isSuccessful())
+                failure = new IOException("The get-info batch failed with HTTP "+info.getStatusCode()+": "+info.getErrors());
+            if(failure!=null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause()!=null ? failure.getCause() : failure;
+                for(CompletableFuture<FileRecord> lookup : lookups.values())
+                    lookup.completeExceptionally(cause);
+                return;
+            }
+            Map<String, FileRecord> records = new HashMap<String, FileRecord>();
+            for(FileRecord record : info.getFiles())
+                if(record.getFileToken()!=null)
+                    records.putIfAbsent(record.getFileToken(), record);
+            for(Map.Entry<String, CompletableFuture<FileRecord>> lookup : lookups.entrySet())
+                lookup.getValue().complete(records.get(lookup.getKey()));
+        });
+    }
+
+    /**
+     *  The files of a batch, along with the lookups awaiting them.
+     */
+    private static class Batch {
+
+        private final ArrayList<File> files = new ArrayList<File>();
+        private final Map<String, CompletableFuture<FileRecord>> lookups = new LinkedHashMap<String, CompletableFuture<FileRecord>>();
+        private ScheduledFuture<?> timeout;
+
+        private CompletableFuture<FileRecord> add(InfoFile file) {
+            CompletableFuture<FileRecord> lookup = this.lookups.get(file.getFile_token());
+            if(lookup==null) {
+                lookup = new CompletableFuture<FileRecord>();
+                this.lookups.put(file.getFile_token(), lookup);
+                this.files.add(file);
+            }
+            return lookup;
+        }
+
+        private int size() {
+            return this.files.size();
+        }
+    }
+}
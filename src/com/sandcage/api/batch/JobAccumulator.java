@@ -0,0 +1,283 @@
+package com.sandcage.api.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.io.JsonCodec;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.ScheduledPayload;
+import com.sandcage.api.service.put.ScheduledResponse;
+import com.sandcage.api.service.put.Task;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *  Packs {@link Job jobs}, submitted one at a time, into batched
+ *  {@link ScheduledPayload payloads}.
+ *  <p>
+ *  Producers {@link #submit(Job) submit} one {@link Job} at a time, and are
+ *  handed a {@link CompletableFuture} of its {@link JobResult}. Jobs are 
+ *  accumulated until the batch reaches either the maximum number of jobs (no
+ *  more than the {@link Plan} permits) or the maximum size of its JSON 
+ *  representation, or until the oldest job has waited for the maximum latency,
+ *  whichever comes first; the batch is then sent as a single {@link ScheduledPayload}.
+ *  A job which on its own exceeds the maximum size is sent in a batch of its own.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class JobAccumulator implements AutoCloseable {
+
+    private static final int MIN_VALUE = 1;
+
+    private final SandCageClient client;
+    private final String key;
+    private final Plan plan;
+    private final String callbackUrl;
+    private final int maxJobs;
+    private final long maxBytes;
+    private final long maxLatency;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private Batch current;                                                      // Guarded by this
+    private boolean closed;                                                     // Guarded by this
+
+
+    /**
+     *  Creates a {@link JobAccumulator}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to dispatch
+     *  @param  key             the user's unique key
+     *  @param  plan            the {@link Plan} which bounds the number of jobs
+     *                          per batch
+     *  @param  callbackUrl     the URL to use for the API callback, if any
+     *  @param  maxJobs         the number of jobs at which a batch is sent at once
+     *  @param  maxBytes        the size of the JSON representation of its jobs
+     *                          at which a batch is sent at once, in bytes
+     *  @param  maxLatency      the maximum time a job waits for its batch to
+     *                          fill, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the number of jobs exceeds the
+     *                                      {@link Plan}, any value is less than
+     *                                      one, or the callbackUrl is not within
+     *                                      the permissible bounds
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public JobAccumulator(SandCageClient client, String key, Plan plan, String callbackUrl, 
+            int maxJobs, long maxBytes, long maxLatency)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the accumulator");
+        if(key==null)
+            throw new NullPointerException("Mandatory field [ key ] was missing from the accumulator");
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the accumulator");
+        if(maxJobs<MIN_VALUE || maxJobs>plan.getMaxJobs())
+            throw new OutOfBoundsException("maxJobs", String.valueOf(maxJobs), "("+MIN_VALUE+"<="+maxJobs+"<="+plan.getMaxJobs()+")==false");
+        if(maxBytes<MIN_VALUE)
+            throw new OutOfBoundsException("maxBytes", String.valueOf(maxBytes), "("+maxBytes+">="+MIN_VALUE+")==false");
+        if(maxLatency<MIN_VALUE)
+            throw new OutOfBoundsException("maxLatency", String.valueOf(maxLatency), "("+maxLatency+">="+MIN_VALUE+")==false");
+        ArrayList<Job> probe = new ArrayList<Job>(1);                           // The smallest batch; its jobs are not checked
+        probe.add(null);
+        new ScheduledPayload(key, probe, callbackUrl, plan);                    // Checks the callbackUrl as each batch will be
+        this.client = client;
+        this.key = key;
+        this.plan = plan;
+        this.callbackUrl = callbackUrl;
+        this.maxJobs = maxJobs;
+        this.maxBytes = maxBytes;
+        this.maxLatency = maxLatency;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-job-accumulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     *  Submits the given {@link Job}, to be scheduled as part of the next batch.
+     *
+     *  @param  job     the {@link Job} to schedule
+     *
+     *  @return     a {@link CompletableFuture} of the {@link JobResult}; it fails
+     *              with an {@link IOException} if the batch could not be sent,
+     *              or was not successful
+     *
+     *  @throws     NullPointerException    if the job is null
+     */
+    public CompletableFuture<JobResult> submit(Job job)
+            throws NullPointerException {
+        if(job==null)
+            throw new NullPointerException("The job to schedule was missing");
+        CompletableFuture<JobResult> future = new CompletableFuture<JobResult>();
+        long size;
+        try {
+            size = JsonCodec.measure(job);                                      // Measured outside the lock
+        } catch(JsonProcessingException jpex) {
+            future.completeExceptionally(jpex);
+            return future;
+        }
+
+        Batch full = null, overflow = null;
+        synchronized(this) {
+            if(this.closed) {
+                future.completeExceptionally(new IllegalStateException("The accumulator has been closed"));
+                return future;
+            }
+            if(this.current!=null && this.current.bytes+size>this.maxBytes) {
+                overflow = this.current;                                        // Sent before the job is added
+                this.current = null;
+            }
+            if(this.current==null) {
+                final Batch batch = new Batch();
+                this.current = batch;
+                batch.timeout = this.timer.schedule(() -> flush(batch), this.maxLatency, TimeUnit.MILLISECONDS);
+            }
+            this.current.add(job, size, future);
+            if(this.current.jobs.size()>=this.maxJobs || this.current.bytes>=this.maxBytes) {
+                full = this.current;
+                this.current = null;
+            }
+        }
+        if(overflow!=null)
+            send(overflow);
+        if(full!=null)
+            send(full);
+        return future.copy();
+    }
+
+    /**
+     *  Sends the pending batch, if any, without waiting for it to fill.
+     */
+    public void flush() {
+        Batch batch;
+        synchronized(this) {
+            batch = this.current;
+            this.current = null;
+        }
+        if(batch!=null)
+            send(batch);
+    }
+
+    /**
+     *  Sends the pending batch, if any, and stops accepting jobs.
+     */
+    @Override
+    public void close() {
+        synchronized(this) {
+            this.closed = true;
+        }
+        flush();
+        this.timer.shutdown();
+    }
+
+    /**
+     *  Sends the given batch, unless it has already been sent (ie: once full).
+     */
+    private void flush(Batch batch) {
+        synchronized(this) {
+            if(this.current!=batch)
+                return;
+            this.current = null;
+        }
+        send(batch);
+    }
+
+    /**
+     *  Sends the given batch as a single {@link ScheduledPayload}, completing
+     *  the result of each of its jobs once the response is received.
+     */
+    private void send(final Batch batch) {
+        if(batch.timeout!=null)
+            batch.timeout.cancel(false);
+
+        CompletableFuture<ScheduledResponse> response;
+        try {
+            response = this.client.scheduleTasksAsync(
+                new ScheduledPayload(this.key, batch.jobs, this.callbackUrl, this.plan));
+        } catch(OutOfBoundsException | RuntimeException ex) {
+            resolve(batch, null, ex);
+            return;
+        }
+        response.whenComplete((scheduled, failure) -> resolve(batch, scheduled, failure));
+    }
+
+    /**
+     *  Completes the result of each job of the given batch, attributing task
+     *  records to jobs by position, as the SandCage API reports one per task, in
+     *  order; should the number of records not match, only those whose
+     *  reference_id matches a task of the job are attributed to it.
+     */
+    private static void resolve(Batch batch, ScheduledResponse response, Throwable failure) {
+        if(failure==null && !response.isSuccessful())
+            failure = new IOException("The schedule-tasks batch failed with HTTP "+response.getStatusCode()+": "+response.getErrors());
+        if(failure instanceof CompletionException && failure.getCause()!=null)
+            failure = failure.getCause();
+        if(failure!=null) {
+            for(CompletableFuture<JobResult> result : batch.results)
+                result.completeExceptionally(failure);
+            return;
+        }
+
+        List<FileRecord> records = response.getTasks();
+        int count = 0;
+        for(Job job : batch.jobs)
+            count += job.getTasks()!=null ? job.getTasks().size() : 0;
+        boolean positional = records.size()==count;
+
+        Map<String, List<FileRecord>> byReferenceId = new HashMap<String, List<FileRecord>>();
+        if(!positional)
+            for(FileRecord record : records)
+                if(record.getReferenceId()!=null)
+                    byReferenceId.computeIfAbsent(record.getReferenceId(), id -> new ArrayList<FileRecord>()).add(record);
+        int position = 0;
+        for(int i=0; i<batch.jobs.size(); i++) {
+            Job job = batch.jobs.get(i);
+            List<FileRecord> tasks = new ArrayList<FileRecord>();
+            if(job.getTasks()!=null)
+                for(Task task : job.getTasks()) {
+                    if(positional)
+                        tasks.add(records.get(position++));
+                    else {
+                        List<FileRecord> matched = task.getReference_id()!=null ? byReferenceId.remove(task.getReference_id()) : null;
+                        if(matched!=null)
+                            tasks.addAll(matched);
+                    }
+                }
+            batch.results.get(i).complete(new JobResult(job, response.getRequestId(), tasks));
+        }
+    }
+
+    /**
+     *  The jobs of a batch, along with their results.
+     */
+    private static class Batch {
+
+        private final ArrayList<Job> jobs = new ArrayList<Job>();
+        private final List<CompletableFuture<JobResult>> results = new ArrayList<CompletableFuture<JobResult>>();
+        private long bytes;
+        private ScheduledFuture<?> timeout;
+
+        private void add(Job job, long size, CompletableFuture<JobResult> result) {
+            this.jobs.add(job);
+            this.results.add(result);
+            this.bytes += size+1;                                               // Along with its separator
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sandcage.api.batch;
+
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.put.Job;
+import java.util.List;
+
+
+/**
+ *  The outcome of scheduling a single {@link Job} as part of a batch.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class JobResult {
+
+    private final Job job;
+    private final String requestId;
+    private final List<FileRecord> tasks;
+
+
+    /**
+     *  Creates a {@link JobResult}.
+     *
+     *  @param  job         the {@link Job}
+     *  @param  requestId   the request_id of the batch in which it was scheduled
+     *  @param  tasks       the task records attributed to the {@link Job}
+     */
+    public JobResult(Job job, String requestId, List<FileRecord> tasks) {
+        this.job = job;
+        this.requestId = requestId;
+        this.tasks = tasks;
+    }
+
+    /**
+     *  The {@link Job}.
+     *
+     *  @return     the {@link Job}
+     */
+    public Job getJob() {
+        return this.job;
+    }
+
+    /**
+     *  The request_id of the batch in which the {@link Job} was scheduled, by
+     *  which its completion may be looked up via get-info.
+     *
+     *  @return     the request_id, if any
+     */
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     *  The task records reported by the SandCage API for the {@link Job}, one
+     *  per task, in order. Should the API report more, or fewer, records than
+     *  the batch had tasks, these are attributed by reference_id instead, and
+     *  only tasks with a reference_id are reported.
+     *
+     *  @return     the {@link FileRecord task records}
+     */
+    public List<FileRecord> getTasks() {
+        return this.tasks;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sandcage.api.cache;
+
+
+/**
+ *  A snapshot of the statistics of an {@link InfoCache}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+ */
+public class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+
+    /**
+     *  Creates a {@link CacheStats}.
+     *
+     *  @param  hits            the number of lookups served from the cache
+     *  @param  misses          the number of lookups not served from the cache
+     *  @param  evictions       the number of entries evicted to bound the size
+     *  @param  expirations     the number of entries which outlived their TTL
+     *  @param  invalidations   the number of entries explicitly invalidated
+     */
+    public CacheStats(long hits, long misses, long evictions, long expirations, long invalidations) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    /**
+     *  The number of lookups served from the cache.
+     *
+     *  @return     the number of hits
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     *  The number of lookups not served from the cache, including those of
+     *  expired entries.
+     *
+     *  @return     the number of misses
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     *  The number of entries evicted to bound the size of the cache.
+     *
+     *  @return     the number of evictions
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     *  The number of entries which outlived their time-to-live.
+     *
+     *  @return     the number of expirations
+     */
+    public long getExpirations() {
+        return this.expirations;
+    }
+
+    /**
+     *  The number of entries explicitly invalidated, eg: upon destroy-files.
+     *
+     *  @return     the number of invalidations
+     */
+    public long getInvalidations() {
+        return this.invalidations;
+    }
+
+    /**
+     *  The ratio of lookups served from the cache.
+     *
+     *  @return     the hit rate, between 0 and 1 (or 0 if there were no lookups)
+     */
+    public double getHitRate() {
+        long lookups = this.hits+this.misses;
+        return lookups==0 ? 0d : (double) this.hits/lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "hits="+this.hits+", misses="+this.misses+", evictions="+this.evictions
+            +", expirations="+this.expirations+", invalidations="+this.invalidations;
+    }
+}
@@ -0,0 +1,341 @@
+package com.sandcage.api.cache;
+
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  A size-bounded, in-memory cache of get-info {@link FileRecord file records},
+ *  keyed by file_token, and scoped to the user's key: a record fetched with
+ *  one key is never served to lookups with another.
+ *  <p>
+ *  Entries are evicted in least-recently-used order once the cache is full, and
+ *  expire once they outlive their time-to-live. To keep contention low, the
+ *  cache is split into independently locked segments, each an LRU of its own;
+ *  eviction is therefore LRU per segment, rather than across the whole cache.
+ *  <p>
+ *  Records of files still being processed (see {@link FileRecord#isPending()})
+ *  are never cached, as their state is about to change.
+ *  <p>
+ *  Each invalidation advances the generation of the cache, and leaves behind a
+ *  tombstone of that generation. A record is only cached if it was looked up
+ *  (see {@link #getGeneration()}) after its file was last invalidated, so that
+ *  a lookup which raced, eg: a destroy-files request, cannot re-insert the
+ *  record it invalidated. Tombstones are held apart from the records, and do
+ *  not count towards the maximum size, so that invalidating files which were
+ *  never cached evicts nothing; each segment holds as many tombstones as it
+ *  may records, and should one be evicted, or expire, its segment conservatively
+ *  refuses any record looked up before it.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+ */
+public class InfoCache {
+
+    private static final int MIN_SIZE = 1;
+    private static final int MIN_TTL = 1;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+
+    /**
+     *  Creates an {@link InfoCache}.
+     *
+     *  @param  maxSize     the maximum number of records held
+     *  @param  ttl         the time-to-live of each record, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if any value is not within
+     *                                      permissible bounds
+     */
+    public InfoCache(int maxSize, long ttl)
+            throws OutOfBoundsException {
+        if(maxSize<MIN_SIZE)
+            throw new OutOfBoundsException("maxSize", String.valueOf(maxSize), "("+maxSize+">="+MIN_SIZE+")==false");
+        if(ttl<MIN_TTL)
+            throw new OutOfBoundsException("ttl", String.valueOf(ttl), "("+ttl+">="+MIN_TTL+")==false");
+        int count = Math.min(MAX_SEGMENTS, maxSize);
+        this.segments = new Segment[count];
+        for(int i=0; i<count; i++)
+            this.segments[i] = new Segment(maxSize/count+(i<maxSize%count ? 1 : 0));
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+
+    /**
+     *  Looks up the record of the given file_token, as fetched with the given key.
+     *
+     *  @param  key         the user's unique key
+     *  @param  fileToken   the file_token
+     *
+     *  @return     the cached {@link FileRecord}, or null if absent, expired or
+     *              fetched with another key
+     */
+    public FileRecord get(String key, String fileToken) {
+        if(key==null || fileToken==null)
+            return null;
+        FileRecord record = segmentFor(fileToken).get(key, fileToken, System.nanoTime());
+        if(record==null)
+            this.misses.increment();
+        else
+            this.hits.increment();
+        return record;
+    }
+
+    /**
+     *  The current generation of the cache, to be read before a lookup is sent,
+     *  and handed to {@link #put(String, FileRecord, long)} along with its records.
+     *
+     *  @return     the current generation
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    /**
+     *  Caches the given record, under its file_token and the given key, unless
+     *  it has no file_token, its file is still being processed, or its file was
+     *  invalidated after it was looked up.
+     *
+     *  @param  key         the user's unique key, with which it was fetched
+     *  @param  record      the {@link FileRecord} to cache
+     *  @param  generation  the {@link #getGeneration() generation} of the cache
+     *                      when the lookup was sent
+     */
+    public void put(String key, FileRecord record, long generation) {
+        if(key==null || record==null || record.getFileToken()==null || record.isPending())
+            return;
+        segmentFor(record.getFileToken()).put(key, record, generation, System.nanoTime());
+    }
+
+    /**
+     *  Invalidates the record of the given file_token, whichever the key.
+     *
+     *  @param  fileToken   the file_token
+     */
+    public void invalidate(String fileToken) {
+        if(fileToken==null)
+            return;
+        invalidate(Collections.singleton(fileToken), Collections.<String>emptySet());
+    }
+
+    /**
+     *  Invalidates every record with the given reference_id. As records are 
+     *  keyed by file_token, this scans the whole cache; and, as the file_tokens
+     *  of the reference_id are not known, no record looked up beforehand is
+     *  cached thereafter.
+     *
+     *  @param  referenceId     the reference_id
+     */
+    public void invalidateReferenceId(String referenceId) {
+        if(referenceId==null)
+            return;
+        invalidate(Collections.<String>emptySet(), Collections.singleton(referenceId));
+    }
+
+    /**
+     *  Invalidates the records of the given file_tokens, whichever the key, and
+     *  every record with any of the given reference_ids, at once: the cache is
+     *  scanned once for all the reference_ids, rather than once for each.
+     *
+     *  @param  fileTokens      the file_tokens; null elements are ignored
+     *  @param  referenceIds    the reference_ids; null elements are ignored
+     *
+     *  @throws     NullPointerException    if either collection is null
+     */
+    public void invalidate(Collection<String> fileTokens, Collection<String> referenceIds)
+            throws NullPointerException {
+        if(fileTokens==null || referenceIds==null)
+            throw new NullPointerException("The file_tokens, or reference_ids, to invalidate were missing");
+        long next = this.generation.incrementAndGet();
+        long expiresAt = System.nanoTime()+this.ttlNanos;
+        for(String fileToken : fileTokens)
+            if(fileToken!=null && segmentFor(fileToken).invalidate(fileToken, next, expiresAt))
+                this.invalidations.increment();
+
+        Set<String> ids = new HashSet<String>(referenceIds);
+        ids.remove(null);
+        if(!ids.isEmpty())
+            for(Segment segment : this.segments)
+                this.invalidations.add(segment.removeReferenceIds(ids, next));
+    }
+
+    /**
+     *  Invalidates every record.
+     */
+    public void invalidateAll() {
+        long next = this.generation.incrementAndGet();
+        for(Segment segment : this.segments)
+            this.invalidations.add(segment.removeAll(next));
+    }
+
+    /**
+     *  The number of records held, including any expired but not yet purged.
+     *
+     *  @return     the number of records
+     */
+    public int size() {
+        int size = 0;
+        for(Segment segment : this.segments)
+            size += segment.records();
+        return size;
+    }
+
+    /**
+     *  A snapshot of the statistics of this cache.
+     *
+     *  @return     the {@link CacheStats}
+     */
+    public CacheStats getStats() {
+        return new CacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), 
+            this.expirations.sum(), this.invalidations.sum());
+    }
+
+    private Segment segmentFor(String fileToken) {
+        int hash = fileToken.hashCode();
+        return this.segments[((hash^(hash>>>16))&0x7fffffff)%this.segments.length];
+    }
+
+    /**
+     *  A cached record, along with the key with which it was fetched, and its
+     *  expiry; or, without a record, the tombstone of an invalidation.
+     */
+    private static class Cached {
+
+        private final String key;
+        private final FileRecord record;
+        private final long generation;
+        private final long expiresAt;
+
+        private Cached(String key, FileRecord record, long generation, long expiresAt) {
+            this.key = key;
+            this.record = record;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     *  An independently locked, access-ordered segment of the cache, along with
+     *  the tombstones of its invalidations, in order of invalidation.
+     */
+    private class Segment extends LinkedHashMap<String, Cached> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LinkedHashMap<String, Cached> tombstones;
+        private long floor;                                                     // Records looked up before are refused
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.tombstones = new LinkedHashMap<String, Cached>() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                    if(size()<=Segment.this.capacity)
+                        return false;
+                    bury(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            if(size()<=this.capacity)
+                return false;
+            evictions.increment();
+            return true;
+        }
+
+        private synchronized FileRecord get(String key, String fileToken, long now) {
+            Cached entry = super.get(fileToken);
+            if(entry==null)
+                return null;
+            if(now-entry.expiresAt>=0) {
+                super.remove(fileToken);
+                expirations.increment();
+                return null;
+            }
+            return entry.key.equals(key) ? entry.record : null;
+        }
+
+        private synchronized void put(String key, FileRecord record, long generation, long now) {
+            if(generation<this.floor)
+                return;
+            Cached tombstone = this.tombstones.get(record.getFileToken());
+            if(tombstone!=null) {
+                if(now-tombstone.expiresAt>=0) {
+                    this.tombstones.remove(record.getFileToken());
+                    bury(tombstone);
+                    if(generation<this.floor)
+                        return;
+                } else if(generation<tombstone.generation) {
+                    return;                                                     // Looked up before its invalidation
+                }
+            }
+            super.put(record.getFileToken(), new Cached(key, record, generation, now+ttlNanos));
+        }
+
+        private synchronized boolean invalidate(String fileToken, long generation, long expiresAt) {
+            this.tombstones.remove(fileToken);                                  // Re-inserted as the youngest
+            this.tombstones.put(fileToken, new Cached(null, null, generation, expiresAt));
+            return super.remove(fileToken)!=null;
+        }
+
+        private synchronized int removeReferenceIds(Set<String> referenceIds, long generation) {
+            int removed = 0;
+            for(Iterator<Cached> it=values().iterator(); it.hasNext();) {
+                Cached entry = it.next();
+                if(referenceIds.contains(entry.record.getReferenceId())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            this.floor = Math.max(this.floor, generation);
+            return removed;
+        }
+
+        private synchronized int removeAll(long generation) {
+            int removed = size();
+            super.clear();
+            this.tombstones.clear();
+            this.floor = Math.max(this.floor, generation);
+            return removed;
+        }
+
+        private synchronized int records() {
+            return size();
+        }
+
+        /**
+         *  Forgets a tombstone, refusing, in its stead, any record looked up
+         *  before it.
+         */
+        private void bury(Cached tombstone) {
+            this.floor = Math.max(this.floor, tombstone.generation);
+        }
+    }
+}
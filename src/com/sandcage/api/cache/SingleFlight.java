@@ -0,0 +1,106 @@
+package com.sandcage.api.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ *  Coalesces concurrent, identical calls: while a call for a given key is in
+ *  flight, further calls for the same key do not start a call of their own,
+ *  but share the result of the one in flight.
+ *  <p>
+ *  Once a call completes, the key is released, so the next call for it starts
+ *  anew; results are not retained (see {@link InfoCache} for that). Each
+ *  caller is handed its own dependent {@link CompletableFuture}, so that one
+ *  caller cancelling its future does not affect the others.
+ *
+ *  @param  <K>     the type of the keys identifying identical calls
+ *  @param  <V>     the type of the results
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<K, CompletableFuture<V>>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+
+    /**
+     *  Creates a {@link SingleFlight}.
+     */
+    public SingleFlight() {
+    }
+
+    /**
+     *  Starts the given call, unless one for the same key is already in flight,
+     *  in which case its result is shared.
+     *
+     *  @param  key     the key identifying identical calls
+     *  @param  call    starts the call
+     *
+     *  @return     a {@link CompletableFuture} of the (possibly shared) result
+     *
+     *  @throws NullPointerException    if the key or call is null
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletableFuture<V>> call)
+            throws NullPointerException {
+        if(key==null || call==null)
+            throw new NullPointerException("The key or the call was missing");
+
+        final CompletableFuture<V> flight = new CompletableFuture<V>();
+        CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, flight);
+        if(existing!=null) {
+            this.shared.increment();
+            return existing.copy();
+        }
+
+        this.calls.increment();
+        try {
+            call.get().whenComplete((value, failure) -> {
+                this.inFlight.remove(key, flight);                             // Release the key before waking the waiters
+                if(failure!=null)
+                    flight.completeExceptionally(failure instanceof CompletionException && failure.getCause()!=null ? failure.getCause() : failure);
+                else
+                    flight.complete(value);
+            });
+        } catch(RuntimeException rex) {
+            this.inFlight.remove(key, flight);
+            flight.completeExceptionally(rex);
+        }
+        return flight.copy();
+    }
+
+    /**
+     *  The number of calls currently in flight.
+     *
+     *  @return     the number of distinct keys in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.size();
+    }
+
+    /**
+     *  The number of calls actually started.
+     *
+     *  @return     the number of calls started
+     */
+    public long getCalls() {
+        return this.calls.sum();
+    }
+
+    /**
+     *  The number of calls which shared the result of one already in flight,
+     *  rather than starting their own.
+     *
+     *  @return     the number of coalesced calls
+     */
+    public long getShared() {
+        return this.shared.sum();
+    }
+}
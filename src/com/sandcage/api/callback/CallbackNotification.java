@@ -0,0 +1,65 @@
+package com.sandcage.api.callback;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ *  A notification sent by the SandCage API to the callback_url of a
+ *  schedule-tasks or destroy-files request.
+ *  <p>
+ *  The notification is read like any other {@link Response}: its request_id,
+ *  its status, and the {@link FileRecord file records} it reports (under 
+ *  "files", "tasks" or "results").
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class CallbackNotification extends Response {
+
+    private static final String FIELD_REQUEST_ID = "request_id";
+    private static final String FIELD_FILES = "files";
+    private static final String FIELD_TASKS = "tasks";
+    private static final String FIELD_RESULTS = "results";
+
+    private String requestId;
+    private ArrayList<FileRecord> files = new ArrayList<FileRecord>();
+
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) 
+            throws IOException {
+        if(FIELD_REQUEST_ID.equals(field)) {
+            this.requestId = parser.getValueAsString();
+            return true;
+        }
+        if(FIELD_FILES.equals(field) || FIELD_TASKS.equals(field) || FIELD_RESULTS.equals(field)) {
+            readRecords(parser, this.files::add);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     *  The request_id of the request whose state is notified.
+     *  
+     *  @return     the request_id, if any
+     */
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     *  The {@link FileRecord file records} reported by the notification.
+     *  
+     *  @return     the {@link FileRecord file records}
+     */
+    public List<FileRecord> getFiles() {
+        return this.files;
+    }
+}
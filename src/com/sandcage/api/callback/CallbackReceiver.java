@@ -0,0 +1,319 @@
+package com.sandcage.api.callback;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sandcage.api.io.JsonCodec;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.put.ScheduledResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ *  An embedded HTTP listener, which receives the notifications the SandCage API
+ *  sends to the callback_url of schedule-tasks and destroy-files requests, and
+ *  completes the futures of those awaiting them.
+ *  <p>
+ *  Notifications are correlated by request_id (see {@link #awaitRequest(String)})
+ *  and by the reference_id of their {@link FileRecord file records} (see
+ *  {@link #awaitReference(String)}). As a notification may arrive before its
+ *  request has even returned, the most recent notifications which nobody was
+ *  awaiting are retained, up to a bound, and handed to those who await them
+ *  later. A future which is cancelled, or times out (eg: via
+ *  {@link CompletableFuture#orTimeout(long, java.util.concurrent.TimeUnit)}),
+ *  stops awaiting its notification, so that lost notifications do not leak.
+ *  <p>
+ *  Requests are handled on virtual threads where the JVM supports them (Java 21
+ *  or later), else on a cached pool of daemon threads.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class CallbackReceiver implements AutoCloseable {
+
+    private static final int MIN_RETAINED = 0;
+    private static final int BACKLOG = 0;                                       // The system default
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NO_CONTENT = 204;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_BAD_METHOD = 405;
+    private static final String METHOD_POST = "POST";
+
+    public static final int RETAINED_DEFAULTS = 10000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String path;
+    private final int maxRetained;
+
+    private final Map<String, List<CompletableFuture<CallbackNotification>>> byRequestId 
+        = new LinkedHashMap<String, List<CompletableFuture<CallbackNotification>>>();   // Guarded by this
+    private final Map<String, List<CompletableFuture<FileRecord>>> byReferenceId 
+        = new LinkedHashMap<String, List<CompletableFuture<FileRecord>>>();             // Guarded by this
+    private final LinkedHashMap<String, CallbackNotification> earlyRequests 
+        = new LinkedHashMap<String, CallbackNotification>();                            // Guarded by this
+    private final LinkedHashMap<String, FileRecord> earlyReferences 
+        = new LinkedHashMap<String, FileRecord>();                                      // Guarded by this
+
+
+    /**
+     *  Creates, and starts, a {@link CallbackReceiver}.
+     *
+     *  @param  address         the address on which to listen; port 0 picks
+     *                          any free port
+     *  @param  path            the path at which notifications are received,
+     *                          eg: /sandcage/callback
+     *  @param  maxRetained     the maximum number of notifications (and of file
+     *                          records) retained while nobody awaits them, eg:
+     *                          {@link #RETAINED_DEFAULTS}
+     *
+     *  @throws     IOException             if the listener could not be bound
+     *  @throws     OutOfBoundsException    if maxRetained is negative
+     *  @throws     NullPointerException    if the address or path is null
+     */
+    public CallbackReceiver(InetSocketAddress address, String path, int maxRetained)
+            throws IOException, OutOfBoundsException, NullPointerException {
+        if(address==null || path==null)
+            throw new NullPointerException("The address or the path of the callback receiver was missing");
+        if(maxRetained<MIN_RETAINED)
+            throw new OutOfBoundsException("maxRetained", String.valueOf(maxRetained), "("+maxRetained+">="+MIN_RETAINED+")==false");
+        this.path = path.startsWith("/") ? path : "/"+path;
+        this.maxRetained = maxRetained;
+        this.executor = newExecutor();
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.createContext(this.path, this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     *  The callback_url at which this receiver is reachable, from this host. If
+     *  the SandCage API reaches it through a proxy or a public address, pass
+     *  that address to the payloads instead.
+     *
+     *  @return     the callback_url
+     */
+    public String getCallbackUrl() {
+        InetSocketAddress address = this.server.getAddress();
+        String host = address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+        return "http://"+host+":"+address.getPort()+this.path;
+    }
+
+    /**
+     *  The port on which this receiver listens.
+     *
+     *  @return     the port
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     *  Awaits the next notification for the given request_id.
+     *
+     *  @param  requestId   the request_id, as returned by schedule-tasks
+     *
+     *  @return     a {@link CompletableFuture} of the {@link CallbackNotification};
+     *              cancel it, or bound it with a timeout, to stop awaiting
+     *
+     *  @throws NullPointerException    if the request_id is null
+     */
+    public CompletableFuture<CallbackNotification> awaitRequest(String requestId)
+            throws NullPointerException {
+        if(requestId==null)
+            throw new NullPointerException("The request_id to await was missing");
+        CompletableFuture<CallbackNotification> future = new CompletableFuture<CallbackNotification>();
+        synchronized(this) {
+            CallbackNotification early = this.earlyRequests.remove(requestId);
+            if(early==null) {
+                this.byRequestId.computeIfAbsent(requestId, id -> new ArrayList<CompletableFuture<CallbackNotification>>()).add(future);
+                future.whenComplete((notification, failure) -> forget(this.byRequestId, requestId, future));
+                return future;
+            }
+            future.complete(early);
+        }
+        return future;
+    }
+
+    /**
+     *  Awaits the next notification for the request returned by the given
+     *  schedule-tasks future.
+     *
+     *  @param  scheduled   the {@link CompletableFuture} of the {@link ScheduledResponse}
+     *
+     *  @return     a {@link CompletableFuture} of the {@link CallbackNotification};
+     *              it fails if scheduling failed, or returned no request_id
+     */
+    public CompletableFuture<CallbackNotification> awaitScheduled(CompletableFuture<ScheduledResponse> scheduled) {
+        return scheduled.thenCompose(response -> {
+            if(response.getRequestId()==null)
+                return CompletableFuture.failedFuture(new IOException("The SandCage API returned no request_id: "+response.getErrors()));
+            return awaitRequest(response.getRequestId());
+        });
+    }
+
+    /**
+     *  Awaits the next {@link FileRecord} notified with the given reference_id.
+     *
+     *  @param  referenceId     the reference_id, as set on the {@link 
+     *                          com.sandcage.api.service.put.Task task}
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord}; cancel
+     *              it, or bound it with a timeout, to stop awaiting
+     *
+     *  @throws NullPointerException    if the reference_id is null
+     */
+    public CompletableFuture<FileRecord> awaitReference(String referenceId)
+            throws NullPointerException {
+        if(referenceId==null)
+            throw new NullPointerException("The reference_id to await was missing");
+        CompletableFuture<FileRecord> future = new CompletableFuture<FileRecord>();
+        synchronized(this) {
+            FileRecord early = this.earlyReferences.remove(referenceId);
+            if(early==null) {
+                this.byReferenceId.computeIfAbsent(referenceId, id -> new ArrayList<CompletableFuture<FileRecord>>()).add(future);
+                future.whenComplete((record, failure) -> forget(this.byReferenceId, referenceId, future));
+                return future;
+            }
+            future.complete(early);
+        }
+        return future;
+    }
+
+    /**
+     *  Stops listening, failing the futures of any who still await notifications.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdown();
+        List<CompletableFuture<?>> orphans = new ArrayList<CompletableFuture<?>>();
+        synchronized(this) {
+            for(List<CompletableFuture<CallbackNotification>> waiters : this.byRequestId.values())
+                orphans.addAll(waiters);
+            for(List<CompletableFuture<FileRecord>> waiters : this.byReferenceId.values())
+                orphans.addAll(waiters);
+            this.byRequestId.clear();
+            this.byReferenceId.clear();
+        }
+        for(CompletableFuture<?> orphan : orphans)
+            orphan.completeExceptionally(new IllegalStateException("The callback receiver has been closed"));
+    }
+
+    /**
+     *  Dispatches the given notification to those who await it, or retains it.
+     *
+     *  @param  notification    the {@link CallbackNotification}
+     */
+    void deliver(CallbackNotification notification) {
+        List<CompletableFuture<CallbackNotification>> requestWaiters = null;
+        List<CompletableFuture<FileRecord>> referenceWaiters = new ArrayList<CompletableFuture<FileRecord>>();
+        List<FileRecord> referenceRecords = new ArrayList<FileRecord>();
+        synchronized(this) {
+            if(notification.getRequestId()!=null) {
+                requestWaiters = this.byRequestId.remove(notification.getRequestId());
+                if(requestWaiters==null)
+                    retain(this.earlyRequests, notification.getRequestId(), notification);
+            }
+            for(FileRecord record : notification.getFiles()) {
+                if(record.getReferenceId()==null)
+                    continue;
+                List<CompletableFuture<FileRecord>> waiters = this.byReferenceId.remove(record.getReferenceId());
+                if(waiters==null) {
+                    retain(this.earlyReferences, record.getReferenceId(), record);
+                    continue;
+                }
+                for(CompletableFuture<FileRecord> waiter : waiters) {
+                    referenceWaiters.add(waiter);
+                    referenceRecords.add(record);
+                }
+            }
+        }
+        if(requestWaiters!=null)                                                // Completed outside the lock
+            for(CompletableFuture<CallbackNotification> waiter : requestWaiters)
+                waiter.complete(notification);
+        for(int i=0; i<referenceWaiters.size(); i++)
+            referenceWaiters.get(i).complete(referenceRecords.get(i));
+    }
+
+    /**
+     *  Handles a single HTTP exchange, ie: a notification.
+     */
+    private void handle(HttpExchange exchange)
+            throws IOException {
+        try(InputStream is = exchange.getRequestBody()) {
+            if(!METHOD_POST.equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(HTTP_BAD_METHOD, -1);
+                return;
+            }
+            CallbackNotification notification = new CallbackNotification();
+            try(JsonParser parser = JsonCodec.getFactory().createParser(is)) {
+                notification.read(HTTP_OK, parser);                             // Delivered; its success is up to its status
+                is.transferTo(OutputStream.nullOutputStream());                 // Consumes any trailing bytes so the connection is reused
+            } catch(JsonProcessingException jpex) {
+                exchange.sendResponseHeaders(HTTP_BAD_REQUEST, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(HTTP_NO_CONTENT, -1);
+            deliver(notification);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     *  Stops awaiting on behalf of the given future, once it has completed, eg:
+     *  as it was cancelled or timed out; waiters which were notified have
+     *  already been removed.
+     */
+    private synchronized <V> void forget(Map<String, List<CompletableFuture<V>>> waiting, String id, CompletableFuture<V> future) {
+        List<CompletableFuture<V>> waiters = waiting.get(id);
+        if(waiters!=null && waiters.remove(future) && waiters.isEmpty())
+            waiting.remove(id);
+    }
+
+    /**
+     *  Retains the given value, evicting the eldest once the bound is reached.
+     */
+    private <V> void retain(LinkedHashMap<String, V> retained, String id, V value) {
+        if(this.maxRetained==0)
+            return;
+        retained.put(id, value);
+        Iterator<String> eldest = retained.keySet().iterator();
+        while(retained.size()>this.maxRetained && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     *  Creates the executor of the listener: virtual threads where supported,
+     *  else a cached pool of daemon threads.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch(ReflectiveOperationException roex) {                            // Prior to Java 21
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "sandcage-callback");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
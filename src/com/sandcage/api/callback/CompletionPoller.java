@@ -0,0 +1,414 @@
+package com.sandcage.api.callback;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.File;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.Plan;
+import com.sandcage.api.service.info.InfoFile;
+import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.info.InfoResponse;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ *  Tracks scheduled requests until they complete, by polling get-info, where
+ *  callbacks (see {@link CallbackReceiver}) are not an option.
+ *  <p>
+ *  Files are tracked by file_token whenever the schedule-tasks response
+ *  reported one: all files due for a poll are then looked up together, in
+ *  batches as large as the {@link Plan} permits, so the number of requests
+ *  grows with the number of batches rather than of files. As get-info factors
+ *  a single request_id per request, requests for which no file_token is known
+ *  are polled by request_id, one per request.
+ *  <p>
+ *  Poll intervals adapt: the first poll of a file is timed by the completion
+ *  time estimated for its type of task (a moving average of those observed),
+ *  and each poll which finds it still pending backs off, up to a maximum
+ *  interval.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+ */
+public class CompletionPoller implements AutoCloseable {
+
+    private static final int MIN_INTERVAL = 1;
+    private static final double BACKOFF_FACTOR = 1.5d;
+    private static final double ESTIMATE_WEIGHT = 0.2d;                         // OF EACH NEW OBSERVATION
+    private static final double FIRST_POLL_FACTOR = 0.8d;                       // OF THE ESTIMATE
+    private static final String TYPE_UNKNOWN = "";
+
+    private final SandCageClient client;
+    private final String key;
+    private final Plan plan;
+    private final long minInterval;
+    private final long maxInterval;
+    private final long maxWait;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ConcurrentHashMap<String, Tracked<FileRecord>> files = new ConcurrentHashMap<String, Tracked<FileRecord>>();
+    private final ConcurrentHashMap<String, Tracked<List<FileRecord>>> requests = new ConcurrentHashMap<String, Tracked<List<FileRecord>>>();
+    private final ConcurrentHashMap<String, Double> estimates = new ConcurrentHashMap<String, Double>();
+
+
+    /**
+     *  Creates, and starts, a {@link CompletionPoller}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to poll
+     *  @param  key             the user's unique key
+     *  @param  plan            the {@link Plan} which bounds the batch size
+     *  @param  minInterval     the shortest interval between polls of a file,
+     *                          in milliseconds; also the granularity of polling
+     *  @param  maxInterval     the longest interval between polls of a file,
+     *                          in milliseconds
+     *  @param  maxWait         how long a file is tracked before its future
+     *                          fails with a {@link TimeoutException}, in
+     *                          milliseconds
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public CompletionPoller(SandCageClient client, String key, Plan plan, long minInterval, long maxInterval, long maxWait)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the poller");
+        if(key==null)
+            throw new NullPointerException("Mandatory field [ key ] was missing from the poller");
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the poller");
+        if(minInterval<MIN_INTERVAL || maxInterval<minInterval || maxWait<minInterval)
+            throw new OutOfBoundsException("minInterval,maxInterval,maxWait", minInterval+","+maxInterval+","+maxWait, 
+                "("+MIN_INTERVAL+"<="+minInterval+"<="+maxInterval+" && "+minInterval+"<="+maxWait+")==false");
+        this.client = client;
+        this.key = key;
+        this.plan = plan;
+        this.minInterval = TimeUnit.MILLISECONDS.toNanos(minInterval);
+        this.maxInterval = TimeUnit.MILLISECONDS.toNanos(maxInterval);
+        this.maxWait = TimeUnit.MILLISECONDS.toNanos(maxWait);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-completion-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.scheduleWithFixedDelay(this::poll, minInterval, minInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *  Tracks the files of the given schedule-tasks response until each has
+     *  completed: by file_token, if the response reported the file_token of
+     *  every task, else by request_id.
+     *
+     *  @param  response    the {@link ScheduledResponse}
+     *  @param  type        the type of task (eg: its action), by which the
+     *                      completion time is estimated, if known
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord file records}
+     *              once none is pending
+     *
+     *  @throws     NullPointerException    if the response is null, or reported
+     *                                      neither file_tokens nor a request_id
+     */
+    public CompletableFuture<List<FileRecord>> track(ScheduledResponse response, String type)
+            throws NullPointerException {
+        if(response==null)
+            throw new NullPointerException("The response to track was missing");
+        // Decides between tracking by file_token and by request_id before tracking anything
+        boolean byFile = !response.getTasks().isEmpty();
+        for(FileRecord task : response.getTasks())
+            byFile &= task.getFileToken()!=null;
+        if(!byFile) {
+            if(response.getRequestId()==null)
+                throw new NullPointerException("The response reported neither file_tokens nor a request_id to track");
+            return trackRequest(response.getRequestId(), type);
+        }
+        List<CompletableFuture<FileRecord>> tracked = new ArrayList<CompletableFuture<FileRecord>>();
+        for(FileRecord task : response.getTasks())
+            tracked.add(trackFile(task.getFileToken(), type!=null ? type : task.getAction()));
+        return CompletableFuture.allOf(tracked.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<FileRecord> records = new ArrayList<FileRecord>(tracked.size());
+            for(CompletableFuture<FileRecord> file : tracked)
+                records.add(file.join());
+            return records;
+        });
+    }
+
+    /**
+     *  Tracks the file of the given file_token until it has completed. Files
+     *  which are already tracked share the same outcome.
+     *
+     *  @param  fileToken   the file_token
+     *  @param  type        the type of task, by which the completion time is
+     *                      estimated, if known
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord} once it
+     *              is not pending
+     *
+     *  @throws     NullPointerException    if the file_token is null
+     */
+    public CompletableFuture<FileRecord> trackFile(String fileToken, String type)
+            throws NullPointerException {
+        if(fileToken==null)
+            throw new NullPointerException("The file_token to track was missing");
+        return this.files.computeIfAbsent(fileToken, token -> newTracked(type)).future.copy();
+    }
+
+    /**
+     *  Tracks the request of the given request_id until none of its files is
+     *  pending.
+     *
+     *  @param  requestId   the request_id, as returned by schedule-tasks
+     *  @param  type        the type of task, by which the completion time is
+     *                      estimated, if known
+     *
+     *  @return     a {@link CompletableFuture} of the {@link FileRecord file records}
+     *              once none is pending
+     *
+     *  @throws     NullPointerException    if the request_id is null
+     */
+    public CompletableFuture<List<FileRecord>> trackRequest(String requestId, String type)
+            throws NullPointerException {
+        if(requestId==null)
+            throw new NullPointerException("The request_id to track was missing");
+        return this.requests.computeIfAbsent(requestId, id -> newTracked(type)).future.copy();
+    }
+
+    /**
+     *  The number of files and requests still being tracked.
+     *
+     *  @return     the number of outstanding files and requests
+     */
+    public int getOutstanding() {
+        return this.files.size()+this.requests.size();
+    }
+
+    /**
+     *  The completion time currently estimated for the given type of task.
+     *
+     *  @param  type    the type of task
+     *
+     *  @return     the estimate, in milliseconds, or zero if none was observed
+     */
+    public long getEstimate(String type) {
+        Double estimate = this.estimates.get(type!=null ? type : TYPE_UNKNOWN);
+        return estimate!=null ? TimeUnit.NANOSECONDS.toMillis(estimate.longValue()) : 0L;
+    }
+
+    /**
+     *  Stops polling, failing the futures of anything still tracked.
+     */
+    @Override
+    public void close() {
+        this.timer.shutdownNow();
+        IllegalStateException closed = new IllegalStateException("The completion poller has been closed");
+        for(String token : this.files.keySet()) {
+            Tracked<FileRecord> tracked = this.files.remove(token);
+            if(tracked!=null)
+                tracked.future.completeExceptionally(closed);
+        }
+        for(String id : this.requests.keySet()) {
+            Tracked<List<FileRecord>> tracked = this.requests.remove(id);
+            if(tracked!=null)
+                tracked.future.completeExceptionally(closed);
+        }
+    }
+
+    /**
+     *  Polls every file and request which is due, on the timer thread.
+     */
+    private void poll() {
+        long now = System.nanoTime();
+
+        ArrayList<File> due = new ArrayList<File>();
+        for(Map.Entry<String, Tracked<FileRecord>> entry : this.files.entrySet()) {
+            if(!isDue(this.files, entry.getKey(), entry.getValue(), now))
+                continue;
+            try {
+                due.add(new InfoFile(entry.getKey()));
+            } catch(OutOfBoundsException oobex) {                               // Not a valid file_token: it can never be polled
+                this.files.remove(entry.getKey(), entry.getValue());
+                entry.getValue().future.completeExceptionally(oobex);
+                continue;
+            }
+            if(due.size()==this.plan.getMaxInfoFiles()) {
+                pollFilesOrBackOff(due);
+                due = new ArrayList<File>();
+            }
+        }
+        if(!due.isEmpty())
+            pollFilesOrBackOff(due);
+
+        for(Map.Entry<String, Tracked<List<FileRecord>>> entry : this.requests.entrySet()) {
+            if(!isDue(this.requests, entry.getKey(), entry.getValue(), now))
+                continue;
+            try {
+                pollRequest(entry.getKey());
+            } catch(RuntimeException rex) {                                     // Eg: the client has been closed; retried until maxWait
+                backOff(entry.getValue(), System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     *  Polls the given files, backing them off should the poll fail to be sent,
+     *  so that a failure never cancels the polling of the timer.
+     */
+    private void pollFilesOrBackOff(ArrayList<File> due) {
+        try {
+            pollFiles(due);
+        } catch(RuntimeException rex) {                                         // Eg: the client has been closed; retried until maxWait
+            long now = System.nanoTime();
+            for(File file : due) {
+                Tracked<FileRecord> tracked = this.files.get(file.getFile_token());
+                if(tracked!=null)
+                    backOff(tracked, now);
+            }
+        }
+    }
+
+    /**
+     *  Whether the given tracked item is due for a poll, failing it if it has
+     *  been tracked for too long.
+     */
+    private <T> boolean isDue(ConcurrentHashMap<String, Tracked<T>> map, String id, Tracked<T> tracked, long now) {
+        if(now-tracked.startedAt>=this.maxWait) {
+            if(map.remove(id, tracked))
+                tracked.future.completeExceptionally(new TimeoutException("[ "+id+" ] did not complete in time"));
+            return false;
+        }
+        if(tracked.polling || now-tracked.nextPollAt<0)
+            return false;
+        tracked.polling = true;
+        return true;
+    }
+
+    /**
+     *  Looks up the given files together, completing those which are done and
+     *  backing off the others.
+     */
+    private void pollFiles(ArrayList<File> due) {
+        InfoPayload payload;
+        try {
+            payload = new InfoPayload(this.key, null, due, this.plan);
+        } catch(OutOfBoundsException oobex) {                                   // The batch size is bounded by the plan
+            throw new IllegalStateException(oobex);
+        }
+        this.client.getInfoAsync(payload).whenComplete((response, failure) -> {
+            Map<String, FileRecord> records = new HashMap<String, FileRecord>();
+            if(failure==null && response.isSuccessful())
+                for(FileRecord record : response.getFiles())
+                    if(record.getFileToken()!=null)
+                        records.put(record.getFileToken(), record);
+            long now = System.nanoTime();
+            for(File file : due) {
+                Tracked<FileRecord> tracked = this.files.get(file.getFile_token());
+                if(tracked==null)
+                    continue;
+                FileRecord record = records.get(file.getFile_token());
+                if(record!=null && !record.isPending() && this.files.remove(file.getFile_token(), tracked)) {
+                    observe(tracked, now);
+                    tracked.future.complete(record);
+                } else {
+                    backOff(tracked, now);
+                }
+            }
+        });
+    }
+
+    /**
+     *  Looks up the given request, completing it if none of its files is pending,
+     *  else backing it off.
+     */
+    private void pollRequest(String requestId) {
+        InfoPayload payload;
+        try {
+            payload = new InfoPayload(this.key, requestId, null, this.plan);
+        } catch(OutOfBoundsException oobex) {                                   // Not a valid request_id: it can never be polled
+            Tracked<List<FileRecord>> tracked = this.requests.remove(requestId);
+            if(tracked!=null)
+                tracked.future.completeExceptionally(oobex);
+            return;
+        }
+        this.client.getInfoAsync(payload).whenComplete((response, failure) -> {
+            Tracked<List<FileRecord>> tracked = this.requests.get(requestId);
+            if(tracked==null)
+                return;
+            long now = System.nanoTime();
+            boolean done = failure==null && response.isSuccessful() && !response.getFiles().isEmpty();
+            if(done)
+                for(FileRecord record : response.getFiles())
+                    done &= !record.isPending();
+            if(done && this.requests.remove(requestId, tracked)) {
+                observe(tracked, now);
+                tracked.future.complete(response.getFiles());
+            } else {
+                backOff(tracked, now);
+            }
+        });
+    }
+
+    /**
+     *  Creates a tracked item, whose first poll is timed by the completion time
+     *  estimated for its type.
+     */
+    private <T> Tracked<T> newTracked(String type) {
+        String kind = type!=null ? type : TYPE_UNKNOWN;
+        long now = System.nanoTime();
+        Double estimate = this.estimates.get(kind);
+        long first = estimate!=null 
+            ? Math.min(this.maxInterval, Math.max(this.minInterval, (long) (estimate*FIRST_POLL_FACTOR))) 
+            : this.minInterval;
+        return new Tracked<T>(kind, now, now+first, first);
+    }
+
+    /**
+     *  Schedules the next poll of the given item, further off than the last.
+     */
+    private void backOff(Tracked<?> tracked, long now) {
+        tracked.interval = Math.min(this.maxInterval, (long) (tracked.interval*BACKOFF_FACTOR));
+        tracked.nextPollAt = now+tracked.interval;
+        tracked.polling = false;
+    }
+
+    /**
+     *  Folds the observed completion time of the given item into the estimate
+     *  of its type.
+     */
+    private void observe(Tracked<?> tracked, long now) {
+        double observed = now-tracked.startedAt;
+        this.estimates.merge(tracked.type, observed, 
+            (estimate, sample) -> estimate+ESTIMATE_WEIGHT*(sample-estimate));
+    }
+
+    /**
+     *  A file, or request, being tracked.
+     */
+    private static class Tracked<T> {
+
+        private final String type;
+        private final long startedAt;
+        private final CompletableFuture<T> future = new CompletableFuture<T>();
+        private volatile long nextPollAt;
+        private volatile long interval;
+        private volatile boolean polling;
+
+        private Tracked(String type, long startedAt, long nextPollAt, long interval) {
+            this.type = type;
+            this.startedAt = startedAt;
+            this.nextPollAt = nextPollAt;
+            this.interval = interval;
+        }
+    }
+}
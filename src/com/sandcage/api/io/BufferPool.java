@@ -0,0 +1,212 @@
+package com.sandcage.api.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ *  A striped pool of growable byte buffers, into which request bodies are
+ *  serialized, and from which they are sent, without any per-request copy.
+ *  <p>
+ *  A {@link Buffer} is held from serialization until its request has been
+ *  answered, or has failed, for retries resend the same bytes. Should any
+ *  attempt fail before it is answered, eg: upon a timeout, the {@link Buffer}
+ *  is never returned to the pool, as the client may still be reading it. Each thread
+ *  starts its search for a free {@link Buffer} at a slot of its own, so that
+ *  threads rarely contend; should no slot hold one, a new {@link Buffer} is
+ *  allocated, and should no slot be free upon release, it is left to the
+ *  garbage collector. Buffers which have grown beyond {@link #MAX_RETAINED_SIZE}
+ *  are never retained.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+final class BufferPool {
+
+    static final int INITIAL_SIZE = 8192;                                       // 8KB
+    static final int MAX_RETAINED_SIZE = 262144;                                // 256KB
+
+    private static final int SLOTS = 64;
+    private static final int SCRATCH_SIZE = 8192;                               // 8KB
+
+    static final BufferPool SHARED = new BufferPool(SLOTS);
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+    private final AtomicReferenceArray<Buffer> slots;
+    private final int mask;
+
+
+    /**
+     *  Creates a {@link BufferPool}.
+     *
+     *  @param  slots   the number of buffers retained, a power of two
+     */
+    BufferPool(int slots) {
+        this.slots = new AtomicReferenceArray<Buffer>(slots);
+        this.mask = slots-1;
+    }
+
+    /**
+     *  Takes an empty {@link Buffer} from the pool, or allocates one.
+     *
+     *  @return     an empty {@link Buffer}, to be {@link #release(Buffer) released}
+     */
+    Buffer acquire() {
+        int start = (int)Thread.currentThread().getId();
+        for(int i=0; i<=this.mask; i++) {
+            Buffer buffer = this.slots.getAndSet((start+i)&this.mask, null);
+            if(buffer!=null) {
+                buffer.count = 0;
+                return buffer;
+            }
+        }
+        return new Buffer(INITIAL_SIZE);
+    }
+
+    /**
+     *  Returns a {@link Buffer} to the pool, once its bytes are no longer used.
+     *
+     *  @param  buffer  the {@link Buffer}, if any
+     */
+    void release(Buffer buffer) {
+        if(buffer==null || buffer.array.length>MAX_RETAINED_SIZE)
+            return;
+        int start = (int)Thread.currentThread().getId();
+        for(int i=0; i<=this.mask; i++)
+            if(this.slots.compareAndSet((start+i)&this.mask, null, buffer))
+                return;
+    }
+
+    /**
+     *  Reads, and discards, the rest of the given stream into a per-thread
+     *  scratch array, eg: so that its connection may be reused.
+     *
+     *  @param  in  the stream to drain
+     *
+     *  @throws     IOException     if the stream could not be read
+     */
+    static void drain(InputStream in)
+            throws IOException {
+        byte[] scratch = SCRATCH.get();
+        while(in.read(scratch, 0, scratch.length)>=0);
+    }
+
+    /**
+     *  A growable byte buffer, written as an {@link OutputStream}, and sent as
+     *  a fixed-length request body.
+     */
+    static final class Buffer extends OutputStream {
+
+        private byte[] array;
+        private int count;
+
+        private Buffer(int size) {
+            this.array = new byte[size];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(this.count+1);
+            this.array[this.count++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(this.count+len);
+            System.arraycopy(b, off, this.array, this.count, len);
+            this.count += len;
+        }
+
+        /**
+         *  The bytes written, of which only the first {@link #size()} are valid.
+         *
+         *  @return     the backing array
+         */
+        byte[] array() {
+            return this.array;
+        }
+
+        /**
+         *  The number of bytes written.
+         *
+         *  @return     the number of bytes
+         */
+        int size() {
+            return this.count;
+        }
+
+        /**
+         *  A request body of the bytes written, sent with their exact
+         *  <tt>Content-Length</tt>. Each subscription, ie: each attempt, is
+         *  handed a view of the backing array, rather than a copy.
+         *
+         *  @return     the request body
+         */
+        HttpRequest.BodyPublisher publisher() {
+            return new Publisher(this.array, this.count);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if(capacity<0)
+                throw new OutOfMemoryError("Request body too large");
+            if(capacity>this.array.length)
+                this.array = Arrays.copyOf(this.array, Math.max(capacity, this.array.length<<1));
+        }
+    }
+
+    /**
+     *  Publishes a byte array range as a single {@link ByteBuffer}.
+     */
+    private static final class Publisher implements HttpRequest.BodyPublisher {
+
+        private final byte[] array;
+        private final int length;
+
+        private Publisher(byte[] array, int length) {
+            this.array = array;
+            this.length = length;
+        }
+
+        @Override
+        public long contentLength() {
+            return this.length;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    if(this.done)
+                        return;
+                    this.done = true;
+                    if(n<=0L) {
+                        subscriber.onError(new IllegalArgumentException("Non-positive request: "+n));
+                        return;
+                    }
+                    if(length>0)
+                        subscriber.onNext(ByteBuffer.wrap(array, 0, length));
+                    subscriber.onComplete();
+                }
+
+                @Override
+                public void cancel() {
+                    this.done = true;
+                }
+            });
+        }
+    }
+}
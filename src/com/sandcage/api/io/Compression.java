@@ -0,0 +1,92 @@
+package com.sandcage.api.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ *  Compresses request bodies, and decompresses response bodies, as per their
+ *  HTTP <tt>Content-Encoding</tt>.
+ *  <p>
+ *  Request bodies are compressed at the fastest level: JSON payloads are
+ *  repetitive enough that higher levels gain little over it, at several times
+ *  the cost. Response bodies are decompressed as they are read, never as a whole.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+final class Compression {
+
+    static final String ENCODING_GZIP = "gzip";
+    static final String ENCODING_DEFLATE = "deflate";
+    static final String ENCODING_IDENTITY = "identity";
+    static final String ACCEPT_ENCODING = ENCODING_GZIP+", "+ENCODING_DEFLATE;
+
+    private static final int BUFFER_SIZE = 8192;
+
+
+    private Compression() {
+    }
+
+    /**
+     *  Compresses the given body with gzip, into the given {@link BufferPool.Buffer}.
+     *
+     *  @param  body    the body, of which only the first <tt>length</tt> bytes
+     *                  are compressed
+     *  @param  length  the number of bytes to compress
+     *  @param  out     the {@link BufferPool.Buffer} into which to write the
+     *                  gzip compressed body
+     */
+    static void gzip(byte[] body, int length, BufferPool.Buffer out) {
+        try(GZIPOutputStream gzip = new FastGZIPOutputStream(out)) {
+            gzip.write(body, 0, length);
+        } catch(IOException ioex) {                                             // Never thrown by the buffer
+            throw new IllegalStateException(ioex);
+        }
+    }
+
+    /**
+     *  Wraps the given response body so that it is decompressed as it is read,
+     *  as per its <tt>Content-Encoding</tt>.
+     *
+     *  @param  body        the (compressed) response body
+     *  @param  encoding    the <tt>Content-Encoding</tt>, if any
+     *
+     *  @return     the decompressed response body
+     *
+     *  @throws     IOException     if the encoding is not supported, or the gzip
+     *                              header could not be read
+     */
+    static InputStream decode(InputStream body, String encoding)
+            throws IOException {
+        if(encoding==null)
+            return body;
+        switch(encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "":
+            case ENCODING_IDENTITY:     return body;
+            case ENCODING_GZIP:
+            case "x-gzip":              return new GZIPInputStream(body, BUFFER_SIZE);
+            case ENCODING_DEFLATE:      return new InflaterInputStream(body);  // zlib-wrapped, as per RFC 7230
+            default:                    throw new IOException("Unsupported Content-Encoding [ "+encoding+" ]");
+        }
+    }
+
+    /**
+     *  A {@link GZIPOutputStream} which favours speed over ratio.
+     */
+    private static class FastGZIPOutputStream extends GZIPOutputStream {
+
+        private FastGZIPOutputStream(OutputStream out)
+                throws IOException {
+            super(out, BUFFER_SIZE);
+            this.def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -1,34 +1,70 @@
-
 package com.sandcage.api.io;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.sandcage.api.service.put.ScheduledPayload;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonParser;
 import com.sandcage.api.SandCage;
+import com.sandcage.api.limit.RateLimitException;
+import com.sandcage.api.limit.RateLimiter;
+import com.sandcage.api.log.AsyncLogger;
+import com.sandcage.api.log.LogLevel;
+import com.sandcage.api.metrics.DispatchMetrics;
+import com.sandcage.api.retry.CircuitBreaker;
+import com.sandcage.api.retry.CircuitOpenException;
+import com.sandcage.api.retry.RetryBudget;
+import com.sandcage.api.retry.RetryPolicy;
 import com.sandcage.api.service.Payload;
-import java.io.ByteArrayOutputStream;
+import com.sandcage.api.service.Response;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.MalformedURLException;
-import java.net.ProtocolException;
-import java.net.SocketTimeoutException;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSession;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.ZipException;
 
 
 /**
  *  This class dispatches a request to the SandCage API/endpoint of interest.
+ *  <p>
+ *  Requests are sent over the pooled connections of a shared {@link Transport}:
+ *  {@link #postAsync()} returns as soon as the request has been handed over to
+ *  the {@link Transport}, so that a single JVM may keep many requests in flight
+ *  without dedicating a thread to each.
+ *  <p>
+ *  Failed requests are retried as per the {@link RetryPolicy} of the service,
+ *  within the {@link RetryBudget} of the {@link Transport}, honouring any
+ *  <tt>Retry-After</tt> header. While the {@link CircuitBreaker} of the service
+ *  is open, requests fail fast with a {@link CircuitOpenException}.
+ *  <p>
+ *  Each attempt first obtains a permit from the {@link RateLimiter rate limiters}
+ *  of its service and key, if any: it is delayed until the permit may be used,
+ *  or, if the client fails fast, fails with a {@link RateLimitException}.
+ *  Throttling responses (ie: HTTP 429) are fed back to the limiters.
+ *  <p>
+ *  The time taken to serialize the payload, and the latency, status code and
+ *  size of each attempt, are handed to the {@link DispatchMetrics} of the
+ *  {@link Transport}, and recorded as JDK Flight Recorder events (see
+ *  {@link DispatchEvent}, {@link SerializationEvent} and {@link ParseEvent}).
+ *  <p>
+ *  Request bodies from the compression threshold of the {@link Transport} are
+ *  sent gzip compressed, and, unless disabled, gzip or deflate compressed
+ *  responses are accepted, and decompressed as they are read.
+ *  <p>
+ *  Request bodies are serialized into, and sent straight from, buffers of the
+ *  shared {@link BufferPool}, which are reused once the request is over.
+ *  <p>
+ *  Requests are logged via the {@link AsyncLogger} of the {@link Transport}: 
+ *  messages are only built if their {@link LogLevel} is enabled, which it is
+ *  not by default.
  *  
  *  @date       03/11/2016
  *  @version    0.2
@@ -36,217 +72,453 @@ import javax.net.ssl.X509TrustManager;
  */
 public class Dispatch {
 
-    private static final String ENCODING_UTF8 = "UTF-8";
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
 
-    private static final String HTTP_METHOD_POST = "POST";
     private static final String HTTP_HEADER_CONTENT_TYPE = "Content-Type";
-    private static final String HTTP_HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String HTTP_HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String HTTP_HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HTTP_HEADER_RETRY_AFTER = "Retry-After";
     
     private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
 
-    private static final int TIMEOUT_CONNECT = 5000;                            //  5000ms
-    private static final int TIMEOUT_READ = 10000;                              // 10000ms
-
+    private Transport transport;
     private String service;
     private Payload payload;
 
-    /*  IMPORTANT NOTICE:
-     *  
-     *  Requests can be sent over HTTPS only. You may therefore require the JDK 
-     *  JCE files or some crypto API, like Bouncy Castle. It is assumed that you 
-     *  have the required crypto setup to allow you communicate over HTTPS, with 
-     *  the sole exception that you may not have the SandCage SSL certificate 
-     *  installed in your cacerts. It is important, therefore, that you install
-     *  the SandCage API endpoint SSL certificate to your cacerts before invoking
-     *  an instance of this class. 
-     *  
-     *  Nonetheless, to allow you to hit the ground running, static method 
-     *  {@link #bypassSslVerification()} has been put in place to allow you to 
-     *  bypass JVM checks which assure that the SandCage API certificate is 
-     *  present in your cacerts (by default this features is commented-out, and 
-     *  therefore disabled, so your JVM cacerts repo will be checked).
-     *
-     *  You can use this option to disable verification as a mechanism to exclude 
-     *  other issues which you may experience during development. 
-     *  
-     *  NOTE: do not disable/bypass verification in a production environment.
-     */
-    static {
-         // bypassVerification();                                                // Uncomment to disable SSL verification (you MUST COMMENT THIS OUT IN A PRODUCTION ENVIRONMENT)
-    }
-
 
     /**
      *  Creates a {@link Dispatch}.
      * 
+     *  @param  transport   the {@link Transport} over which to send the request
      *  @param  payload     the (specialized) {@link Payload} to dispatch to the 
      *                      SandCage API
      *  @param  service     the SandCage API service at which to dispatch the
      *                      (specialized) {@link Payload}
      */
-    public Dispatch(Payload payload, String service) {
+    public Dispatch(Transport transport, Payload payload, String service) {
+        this.transport = transport;
         this.payload = payload;
         this.service = service;
     }
 
     /**
      *  Dispatches, via HTTPS, a given (specialized) {@link Payload} to the 
-     *  relevant SandCage API service.
+     *  relevant SandCage API service, blocking until the response is received.
+     *  <p>
+     *  As there is no outcome to return, a failed request is always reported:
+     *  logged as an error by {@link #postAsync(Supplier)} if that level is
+     *  enabled, else printed, as ever, to the standard error stream.
      */
     public void post() {
 
-        boolean dispatchSuccess = false;
+        try {
 
-        URL url = null;
-        HttpsURLConnection connection = null;
+            postAsync(Response::new).join();
 
-        try {
+        } catch(CompletionException cex) {
+            if(!this.transport.getLogger().isEnabled(LogLevel.ERROR))
+                (cex.getCause()!=null ? cex.getCause() : cex).printStackTrace();
+        }
+    }
 
-            // Converts your specialized payload into a JSON payload
-            String jsonPayload = jsonParser();
+    /**
+     *  Dispatches, via HTTPS, a given (specialized) {@link Payload} to the 
+     *  relevant SandCage API service, without blocking the calling thread.
+     *  <p>
+     *  The response body is parsed incrementally, straight from the connection,
+     *  into the (specialized) {@link Response} created by the given factory.
+     * 
+     *  @param  <R>         the type of the (specialized) {@link Response}
+     *  @param  factory     creates the (specialized) {@link Response} into which
+     *                      to read the response body
+     * 
+     *  @return     a {@link CompletableFuture} completed with the {@link Response}
+     *              once it has been read, or completed exceptionally if the
+     *              request could not be serialized or sent, or if the response
+     *              to a successful request could not be read
+     */
+    public <R extends Response> CompletableFuture<R> postAsync(Supplier<R> factory) {
 
-            // Prints the JSON request to the SandCage API to output
-            System.out.println("Your JSON request to the SandCage API is:");
-            System.out.println(jsonPayload);
+        final DispatchMetrics metrics = this.transport.getMetrics();
+        final AsyncLogger logger = this.transport.getLogger();
+        final boolean sampled = logger.sample();
+        final BufferPool.Buffer json = BufferPool.SHARED.acquire();
+        final BufferPool.Buffer compressed;
+        HttpRequest request;
 
-            String endpoint = SandCage.getEndpointBase()+SandCage.getEndpointVersion()+"/"+this.service;
+        try {
 
-            // Prints out the url/endpoint
-            System.out.println("Dispatching payload to:");
-            System.out.println(endpoint);
+            // Converts your specialized payload into a (compact, UTF-8) JSON payload
+            SerializationEvent serialization = new SerializationEvent();
+            serialization.begin();
+            long serializeStart = System.nanoTime();
+            try {
+                JsonCodec.serialize(this.payload, json);
+            } catch(JsonProcessingException jpex) {
+                throw jpex;
+            } catch(IOException ioex) {                                         // Never thrown by the buffer
+                throw new IllegalStateException(ioex);
+            }
+            final int length = json.size();
+            metrics.onSerialized(this.service, System.nanoTime()-serializeStart, length);
+            serialization.end();
+            if(serialization.shouldCommit()) {
+                serialization.endpoint = this.service;
+                serialization.payloadType = this.payload.getClass().getSimpleName();
+                serialization.items = this.payload.getItemCount();
+                serialization.bytes = length;
+                serialization.commit();
+            }
+
+            String endpoint = this.transport.getEndpointBase()+SandCage.getEndpointVersion()+"/"+this.service;
+
+            // Logs the (truncated) JSON request to the SandCage API, and its url/endpoint
+            if(sampled && logger.isEnabled(LogLevel.DEBUG)) {
+                String logged = logger.body(json.array(), length);              // Rendered now, as the buffer is reused
+                logger.log(LogLevel.DEBUG, () -> "Dispatching "+length+" bytes to "+endpoint+": "+logged);
+            }
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpoint))
+                .timeout(Duration.ofMillis(this.transport.getReadTimeout()))
+                .header(HTTP_HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON);
+            if(this.transport.isResponseCompression())
+                builder.header(HTTP_HEADER_ACCEPT_ENCODING, Compression.ACCEPT_ENCODING);
+
+            // Compresses large payloads, which are repetitive JSON
+            BufferPool.Buffer body = json;
+            int threshold = this.transport.getCompressionThreshold();
+            if(threshold>0 && length>=threshold) {
+                body = BufferPool.SHARED.acquire();
+                Compression.gzip(json.array(), length, body);
+                builder.header(HTTP_HEADER_CONTENT_ENCODING, Compression.ENCODING_GZIP);
+            }
+            compressed = body!=json ? body : null;
+
+            request = builder
+                .POST(body.publisher())                                         // Content-Length is the exact byte count
+                .build();
 
-            url = new URL(endpoint);
-            connection = (HttpsURLConnection) url.openConnection();             // You must install the SandCage SSL cert in your cacerts
-            connection.setRequestMethod(HTTP_METHOD_POST);
-            connection.setInstanceFollowRedirects(Boolean.TRUE);
-            connection.setConnectTimeout(TIMEOUT_CONNECT);
-            connection.setReadTimeout(TIMEOUT_READ);
-            connection.setUseCaches(false);
-            connection.setRequestProperty(HTTP_HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON);
-            connection.setRequestProperty(HTTP_HEADER_CONTENT_LENGTH, String.valueOf(jsonPayload.length()));
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-            connection.connect();
+        } catch(JsonProcessingException jpex) {
+            BufferPool.SHARED.release(json);
+            logger.log(LogLevel.ERROR, () -> this.service+" payload could not be serialized: "+jpex);
+            return CompletableFuture.failedFuture(jpex);
+        } catch(IllegalArgumentException iaex) {
+            BufferPool.SHARED.release(json);
+            return CompletableFuture.failedFuture(iaex);
+        }
 
-            // Send JSON payload to the SandCage API
-            OutputStream os = connection.getOutputStream();
-            os.write(URLEncoder.encode(jsonPayload, ENCODING_UTF8).getBytes());
-            os.close();
-            os = null;
+        if(!this.transport.enter()) {                                           // Keeps the executor up across retries and delays
+            BufferPool.SHARED.release(json);
+            BufferPool.SHARED.release(compressed);
+            return CompletableFuture.failedFuture(new IllegalStateException("The transport has been closed"));
+        }
 
-            int responseCode = connection.getResponseCode();
+        CompletableFuture<R> result = new CompletableFuture<R>();
+        final boolean[] abandoned = new boolean[1];                             // Written by an attempt, before the result completes
+        metrics.onStart(this.service);
+        result.whenComplete((response, failure) -> {
+            this.transport.exit();
+            if(!abandoned[0]) {
+                BufferPool.SHARED.release(json);                                // No attempt remains to send them
+                BufferPool.SHARED.release(compressed);
+            }
+            metrics.onEnd(this.service);
+            if(failure!=null)
+                logger.log(LogLevel.ERROR, () -> this.service+" request failed: "+failure);
+            else if(!response.isSuccessful())
+                logger.log(LogLevel.WARN, () -> this.service+" responded with HTTP "+response.getStatusCode()
+                    +(response.getStatus()!=null ? " "+response.getStatus() : "")+" "+response.getErrors());
+        });
+        this.transport.getRetryBudget().onRequest();
+        attempt(request, factory, 1, 0L, sampled, abandoned, result);
+        return result;
+    }
 
-            if(responseCode==HttpsURLConnection.HTTP_OK)
-                dispatchSuccess = true;
+    /**
+     *  Sends the given request, retrying it upon a retryable failure.
+     * 
+     *  @param  <R>         the type of the (specialized) {@link Response}
+     *  @param  request     the request to send
+     *  @param  factory     creates the (specialized) {@link Response}
+     *  @param  attempt     the number of this attempt, starting at one
+     *  @param  delay       the delay before this attempt, in milliseconds
+     *  @param  sampled     whether the request is logged at {@link LogLevel#INFO}
+     *  @param  abandoned   set once an attempt fails before a response is read,
+     *                      whereupon the body is left to the garbage collector,
+     *                      rather than returned to the pool
+     *  @param  result      completed with the outcome of the final attempt
+     */
+    private <R extends Response> void attempt(HttpRequest request, Supplier<R> factory, int attempt, long delay, 
+            boolean sampled, boolean[] abandoned, CompletableFuture<R> result) {
 
-            // Prints the response code to output 
-            System.out.println("Response code: "+responseCode);
+        final CircuitBreaker breaker = this.transport.getCircuitBreaker(this.service);
+        if(!breaker.tryAcquire()) {                                             // Before a permit is spent on it
+            result.completeExceptionally(new CircuitOpenException(this.service));
+            return;
+        }
 
-            // Reads the response
-            InputStream is = connection.getInputStream();
-            ByteArrayOutputStream str = new ByteArrayOutputStream();
-            int read = 0;
-            byte[] buffer = new byte[8192];                                     // Increase the buffer size if you expect responses to be larger
-            while((read=is.read(buffer))!=-1)
-                str.write(buffer, 0, read);
+        long wait = this.transport.acquirePermit(this.service, this.payload.getKey());
+        if(wait<0L) {
+            breaker.release();
+            result.completeExceptionally(new RateLimitException(this.service));
+        } else if(wait==0L) {
+            send(request, factory, attempt, delay, sampled, abandoned, result);
+        } else {
+            CompletableFuture.runAsync(() -> send(request, factory, attempt, delay, sampled, abandoned, result),
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, this.transport.getExecutor()));
+        }
+    }
 
-            is.close();
-            is = null;
+    /**
+     *  Sends the given request, once permitted by the breaker and the rate
+     *  limiters.
+     * 
+     *  @param  <R>         the type of the (specialized) {@link Response}
+     *  @param  request     the request to send
+     *  @param  factory     creates the (specialized) {@link Response}
+     *  @param  attempt     the number of this attempt, starting at one
+     *  @param  delay       the delay before this attempt, in milliseconds
+     *  @param  sampled     whether the request is logged at {@link LogLevel#INFO}
+     *  @param  abandoned   set once an attempt fails before a response is read,
+     *                      whereupon the body is left to the garbage collector,
+     *                      rather than returned to the pool
+     *  @param  result      completed with the outcome of the final attempt
+     */
+    private <R extends Response> void send(HttpRequest request, Supplier<R> factory, int attempt, long delay, 
+            boolean sampled, boolean[] abandoned, CompletableFuture<R> result) {
+
+        final RetryPolicy policy = this.transport.getRetryPolicy(this.service);
+        final CircuitBreaker breaker = this.transport.getCircuitBreaker(this.service);
+        final DispatchMetrics metrics = this.transport.getMetrics();
+        final AsyncLogger logger = this.transport.getLogger();
+
+        final DispatchEvent event = new DispatchEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final long[] headersAt = new long[1];                                  // Written by the body handler, before the reader runs
+        final Response[] reading = new Response[1];                             // Written by the reader, before the attempt completes
+        final Supplier<R> tracked = () -> {
+            R response = factory.get();
+            reading[0] = response;
+            return response;
+        };
+        HttpResponse.BodyHandler<InputStream> handler = responseInfo -> {
+            headersAt[0] = System.nanoTime();
+            return HttpResponse.BodyHandlers.ofInputStream().apply(responseInfo);
+        };
+
+        this.transport
+            .send(request, handler, httpResponse -> read(httpResponse, tracked, this.service))
+            .whenComplete((outcome, failure) -> {
+
+                long end = System.nanoTime();
+                event.end();
+                if(event.shouldCommit()) {
+                    event.endpoint = this.service;
+                    event.payloadType = this.payload.getClass().getSimpleName();
+                    event.items = this.payload.getItemCount();
+                    event.attempt = attempt;
+                    event.requestBytes = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(-1L);
+                    if(failure!=null) {
+                        event.failure = failure.toString();
+                    } else {
+                        event.statusCode = outcome.response.getStatusCode();
+                        event.responseBytes = outcome.bytes;
+                    }
+                    event.commit();
+                }
+                if(sampled && failure==null)
+                    logger.log(LogLevel.INFO, () -> this.service+" responded with HTTP "+outcome.response.getStatusCode()+" in "
+                        +TimeUnit.NANOSECONDS.toMillis(end-start)+" ms (attempt "+attempt+", "+outcome.bytes+" bytes)");
+                if(failure!=null)
+                    metrics.onFailure(this.service, failure, end-start);
+                else
+                    metrics.onResponse(this.service, outcome.response.getStatusCode(), headersAt[0]-start, 
+                        end-outcome.readAt, end-start, outcome.bytes);
+
+                boolean retryable;
+                if(failure!=null) {
+                    if(failure instanceof JsonProcessingException)
+                        breaker.onSuccess();                                    // The service answered, albeit unreadably
+                    else {
+                        breaker.onFailure();
+                        abandoned[0] = true;                                    // The client may still be sending the body
+                    }
+                    // Records already handed to a consumer would be handed to it anew
+                    retryable = policy.isRetryable(failure) && (reading[0]==null || !reading[0].isStreamed());
+                } else {
+                    if(outcome.response.getStatusCode()>=HTTP_SERVER_ERROR)
+                        breaker.onFailure();
+                    else
+                        breaker.onSuccess();
+                    retryable = policy.isRetryable(outcome.response.getStatusCode());
+                    this.transport.onRateFeedback(this.service, this.payload.getKey(), 
+                        outcome.response.getStatusCode()==HTTP_TOO_MANY_REQUESTS, outcome.retryAfter);
+                }
 
-            // Prints the response to your output channel
-            System.out.println(new String(str.toByteArray(), "UTF-8"));
+                if(retryable && attempt<policy.getMaxAttempts() && breaker.getState()!=CircuitBreaker.State.OPEN) {
+                    long next = policy.nextDelay(delay);
+                    long retryAfter = outcome!=null ? outcome.retryAfter : -1L;
+                    if(retryAfter<=policy.getMaxDelay() && this.transport.getRetryBudget().tryRetry()) {
+                        final long wait = Math.max(next, retryAfter);
+                        metrics.onRetry(this.service, attempt+1);
+                        logger.log(LogLevel.WARN, () -> "Retrying "+this.service+" (attempt "+(attempt+1)+") in "+wait+" ms after "
+                            +(failure!=null ? failure.toString() : "HTTP "+outcome.response.getStatusCode()));
+                        CompletableFuture.runAsync(() -> attempt(request, factory, attempt+1, wait, sampled, abandoned, result),
+                            CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS, this.transport.getExecutor()));
+                        return;
+                    }
+                }
 
-            str.close();
-            str = null;
+                if(failure!=null)
+                    result.completeExceptionally(failure);
+                else
+                    result.complete(outcome.response);
+            });
+    }
 
-        } catch(JsonProcessingException jpex) {
-            jpex.printStackTrace();
-        } catch(MalformedURLException murlex) {
-            murlex.printStackTrace();
-        } catch(ProtocolException pex) {
-            pex.printStackTrace();
-        } catch(SocketTimeoutException stex) {
-            stex.printStackTrace();
+    /**
+     *  Reads the (specialized) {@link Response}, along with any <tt>Retry-After</tt>
+     *  header, from the given HTTP response.
+     * 
+     *  @param  <R>             the type of the (specialized) {@link Response}
+     *  @param  httpResponse    the HTTP response
+     *  @param  factory         creates the (specialized) {@link Response}
+     *  @param  service         the SandCage API service
+     * 
+     *  @return     the {@link Attempt}
+     */
+    private static <R extends Response> Attempt<R> read(HttpResponse<InputStream> httpResponse, Supplier<R> factory, 
+            String service) {
+
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        long readAt = System.nanoTime();
+        R response = factory.get();
+        CountingInputStream counted = new CountingInputStream(httpResponse.body());
+        String encoding = httpResponse.headers().firstValue(HTTP_HEADER_CONTENT_ENCODING).orElse(null);
+
+        // Error responses need not be JSON, nor even encoded as they claim (eg: 
+        // an empty body from a proxy, labelled gzip); their status code suffices
+        InputStream decoded = null;
+        try {
+            decoded = Compression.decode(counted, encoding);
         } catch(IOException ioex) {
-            ioex.printStackTrace();
-        } finally {
-            if(connection!=null)
-                connection.disconnect();
-            connection = null;
-            url = null;
-
-            // Prints the final commeont to output 
-            System.out.println(dispatchSuccess?"Your request was successfully sent to the API":"An error occured with your request");
+            if(httpResponse.statusCode()==HTTP_OK)
+                throw new CompletionException(ioex);
+            try(InputStream raw = counted;
+                    JsonParser empty = JsonCodec.getFactory().createParser(new byte[0])) {
+                response.read(httpResponse.statusCode(), empty);                // Records the status code alone
+                BufferPool.drain(raw);
+            } catch(IOException drainex) {                                      // The connection is merely not reused
+            }
+        }
+
+        // Reads the response, record by record, as it arrives (and is decompressed)
+        if(decoded!=null)
+            try(InputStream is = decoded;
+                    JsonParser parser = JsonCodec.getFactory().createParser(is)) {
+                response.read(httpResponse.statusCode(), parser);
+                BufferPool.drain(is);                                           // Consumes any trailing bytes so the connection is reused
+                BufferPool.drain(counted);
+            } catch(JsonProcessingException | ZipException ex) {
+                if(httpResponse.statusCode()==HTTP_OK)
+                    throw new CompletionException(ex);
+            } catch(IOException ioex) {
+                throw new CompletionException(ioex);
+            }
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.endpoint = service;
+            event.responseType = response.getClass().getSimpleName();
+            event.statusCode = httpResponse.statusCode();
+            event.bytes = counted.count;
+            event.commit();
         }
+
+        return new Attempt<R>(response, retryAfter(httpResponse.headers().firstValue(HTTP_HEADER_RETRY_AFTER)), readAt, counted.count);
     }
 
     /**
-     *  Analyzes the {@link Payload} associated with the request, generating its
-     *  JSON representation.
+     *  Parses a <tt>Retry-After</tt> header, given either in seconds or as an
+     *  HTTP date.
      * 
-     *  @return     the JSON representation of the associated {@link ScheduledPayload}
+     *  @param  header  the value of the header, if any
      * 
-     *  @throws     JsonProcessingException     if a parsing issue occurs
+     *  @return     the delay, in milliseconds, or -1 if absent or unparseable
      */
-    private String jsonParser() 
-            throws JsonProcessingException {
-
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
-        String json = mapper.writeValueAsString(this.payload);
+    static long retryAfter(Optional<String> header) {
+        if(!header.isPresent())
+            return -1L;
+        String value = header.get().trim();
+        try {
+            return Math.max(0L, TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+        } catch(NumberFormatException nfex) {
+            try {
+                return Math.max(0L, Duration.between(ZonedDateTime.now(), 
+                    ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)).toMillis());
+            } catch(DateTimeParseException dtpex) {
+                return -1L;
+            }
+        }
+    }
 
-        return json;
+    /**
+     *  The outcome of a single attempt.
+     */
+    private static class Attempt<R extends Response> {
+
+        private final R response;
+        private final long retryAfter;
+        private final long readAt;
+        private final long bytes;
+
+        private Attempt(R response, long retryAfter, long readAt, long bytes) {
+            this.response = response;
+            this.retryAfter = retryAfter;
+            this.readAt = readAt;
+            this.bytes = bytes;
+        }
     }
 
     /**
-     *  Sets {@link HttpsURLConnection} instances to bypass verification of the 
-     *  SandCage API SSL certificate vis-a-vis your cacerts repo.
-     *  <p>
-     *  This option can be invoked as a mechanism to exclude other issues which 
-     *  you may experience during the development process. 
-     *  <p>
-     *  <b>NOTE: do not disable verification in a production environment.</b>
+     *  Counts the bytes read from the response body.
      */
-    private static void bypassVerification() {
+    private static class CountingInputStream extends FilterInputStream {
 
-        try {
+        private long count;
 
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(
-                null, 
-                new TrustManager[] {
-                    new X509TrustManager() {
-                        @Override
-                        public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                            return null;
-                        }
-                        @Override
-                        public void checkClientTrusted(java.security.cert.X509Certificate[] xcs, String string) 
-                            throws CertificateException {
-                        }
-                        @Override
-                        public void checkServerTrusted(java.security.cert.X509Certificate[] xcs, String string) 
-                            throws CertificateException {
-                        }
-                    }
-                }, 
-                new java.security.SecureRandom()
-            );
-
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier(
-                new HostnameVerifier() {
-                    @Override
-                    public boolean verify(String hostname, SSLSession session) {
-                        return true;
-                    }
-                }
-            );
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read()
+                throws IOException {
+            int b = super.read();
+            if(b>=0)
+                this.count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+                throws IOException {
+            int n = super.read(b, off, len);
+            if(n>0)
+                this.count += n;
+            return n;
+        }
 
-        } catch(KeyManagementException kmex) {
-            kmex.printStackTrace();
-        } catch(NoSuchAlgorithmException nsaex) {
-            nsaex.printStackTrace();
+        @Override
+        public long skip(long n)
+                throws IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.sandcage.api.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ *  A JDK Flight Recorder event spanning a single attempt at a request, from
+ *  sending it to having read its response, or to its failure.
+ *  <p>
+ *  Like all the events of this package, it is enabled by default, and is
+ *  committed only while a recording is running: otherwise its cost is that of
+ *  allocating it.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+@Name("com.sandcage.Dispatch")
+@Label("SandCage Request")
+@Category({"SandCage", "API"})
+@Description("An attempt at a request to the SandCage API")
+@StackTrace(false)
+final class DispatchEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Payload Type")
+    String payloadType;
+
+    @Label("Items")
+    @Description("The number of jobs, or files, of the payload")
+    int items;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Status Code")
+    int statusCode;
+
+    @Label("Failure")
+    String failure;
+}
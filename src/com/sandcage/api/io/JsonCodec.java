@@ -0,0 +1,116 @@
+package com.sandcage.api.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sandcage.api.service.Payload;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ *  Serializes {@link Payload payloads} into their (compact) JSON representation.
+ *  <p>
+ *  A single, pre-configured {@link ObjectWriter} is shared by all requests: it
+ *  is immutable and thread-safe, and caches the serializers of the payload
+ *  classes, so no per-request mapper is built. Payloads are written as UTF-8
+ *  bytes, without any intermediate {@link String}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .disable(SerializationFeature.INDENT_OUTPUT)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter WRITER = MAPPER.writer();
+
+
+    private JsonCodec() {
+    }
+
+    /**
+     *  Serializes the given {@link Payload} into a byte array.
+     *
+     *  @param  payload     the {@link Payload} to serialize
+     *
+     *  @return     the UTF-8 encoded JSON representation of the {@link Payload}
+     *
+     *  @throws     JsonProcessingException     if a serialization issue occurs
+     */
+    public static byte[] serialize(Payload payload)
+            throws JsonProcessingException {
+        return WRITER.writeValueAsBytes(payload);
+    }
+
+    /**
+     *  Serializes the given {@link Payload} directly into the given stream. The
+     *  stream is flushed, but not closed.
+     *
+     *  @param  payload     the {@link Payload} to serialize
+     *  @param  out         the stream to which to write the UTF-8 encoded JSON
+     *                      representation of the {@link Payload}
+     *
+     *  @throws     IOException     if a serialization or I/O issue occurs
+     */
+    public static void serialize(Payload payload, OutputStream out)
+            throws IOException {
+        WRITER.writeValue(out, payload);
+    }
+
+    /**
+     *  Measures the size of the (compact) JSON representation of the given
+     *  value, eg: a {@link com.sandcage.api.service.put.Job} to be added to a
+     *  {@link Payload}, without retaining its bytes.
+     *
+     *  @param  value   the value to measure
+     *
+     *  @return     the size of the UTF-8 encoded JSON representation, in bytes
+     *
+     *  @throws     JsonProcessingException     if a serialization issue occurs
+     */
+    public static long measure(Object value)
+            throws JsonProcessingException {
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            WRITER.writeValue(out, value);
+        } catch(JsonProcessingException jpex) {
+            throw jpex;
+        } catch(IOException ioex) {                                             // Never thrown by the counting stream
+            throw new IllegalStateException(ioex);
+        }
+        return out.count;
+    }
+
+    /**
+     *  The {@link JsonFactory} shared by all requests.
+     *
+     *  @return     the shared {@link JsonFactory}
+     */
+    public static JsonFactory getFactory() {
+        return MAPPER.getFactory();
+    }
+
+    /**
+     *  Counts, and discards, the bytes written to it.
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+    }
+}
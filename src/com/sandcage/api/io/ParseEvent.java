@@ -0,0 +1,39 @@
+package com.sandcage.api.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ *  A JDK Flight Recorder event spanning the reading of a response body, as it
+ *  arrives from the connection.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+@Name("com.sandcage.Parse")
+@Label("SandCage Parse")
+@Category({"SandCage", "API"})
+@Description("The reading of a response body from JSON")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Response Type")
+    String responseType;
+
+    @Label("Status Code")
+    int statusCode;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
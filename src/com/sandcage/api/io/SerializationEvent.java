@@ -0,0 +1,39 @@
+package com.sandcage.api.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ *  A JDK Flight Recorder event spanning the serialization of a payload.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+@Name("com.sandcage.Serialization")
+@Label("SandCage Serialization")
+@Category({"SandCage", "API"})
+@Description("The serialization of a payload to JSON")
+@StackTrace(false)
+final class SerializationEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Payload Type")
+    String payloadType;
+
+    @Label("Items")
+    @Description("The number of jobs, or files, of the payload")
+    int items;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,535 @@
+package com.sandcage.api.io;
+
+import com.sandcage.api.Configuration;
+import com.sandcage.api.limit.RateLimiter;
+import com.sandcage.api.log.AsyncLogger;
+import com.sandcage.api.log.LogLevel;
+import com.sandcage.api.metrics.DispatchMetrics;
+import com.sandcage.api.retry.CircuitBreaker;
+import com.sandcage.api.retry.RetryBudget;
+import com.sandcage.api.retry.RetryPolicy;
+import com.sandcage.api.service.OutOfBoundsException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+
+/**
+ *  A long-lived, thread-safe HTTP transport, pooling keep-alive connections to
+ *  the SandCage API.
+ *  <p>
+ *  Each instance owns a single {@link HttpClient}, so consecutive requests reuse
+ *  warm TLS connections rather than handshaking anew. The number of requests in
+ *  flight is bounded by {@link Configuration#getMaxConnections()}: any further
+ *  requests are queued, without blocking the caller, until one completes.
+ *  <p>
+ *  Idle connections are evicted from the pool as per the JDK, whose idle timeout
+ *  (ie: the <tt>jdk.httpclient.keepalive.timeout</tt> system property) applies
+ *  to every {@link HttpClient} of the JVM, and is read once; it is therefore
+ *  left to the application to set, if at all, rather than set per client.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class Transport {
+
+    private static final int LOG_CAPACITY = 4096;
+
+    private static SSLContext sslContext;
+
+    private final Configuration configuration;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;                                // Created, and thus shut down, by this transport
+    private final HttpClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<Runnable>();
+    private final ConcurrentHashMap<String, RetryPolicy> retryPolicies = new ConcurrentHashMap<String, RetryPolicy>();
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<String, CircuitBreaker>();
+    private final RetryBudget retryBudget;
+    private final AsyncLogger logger;
+    private final ConcurrentHashMap<String, RateLimiter> serviceLimiters = new ConcurrentHashMap<String, RateLimiter>();
+    private final ConcurrentHashMap<String, RateLimiter> keyLimiters = new ConcurrentHashMap<String, RateLimiter>();
+    private volatile boolean closed;
+    private int outstanding;                                                    // Guarded by this transport
+
+    /*  IMPORTANT NOTICE:
+     *
+     *  Requests can be sent over HTTPS only. You may therefore require the JDK
+     *  JCE files or some crypto API, like Bouncy Castle. It is assumed that you
+     *  have the required crypto setup to allow you communicate over HTTPS, with
+     *  the sole exception that you may not have the SandCage SSL certificate
+     *  installed in your cacerts. It is important, therefore, that you install
+     *  the SandCage API endpoint SSL certificate to your cacerts before invoking
+     *  an instance of this class.
+     *
+     *  Nonetheless, to allow you to hit the ground running, static method
+     *  {@link #bypassSslVerification()} has been put in place to allow you to
+     *  bypass JVM checks which assure that the SandCage API certificate is
+     *  present in your cacerts (by default this features is commented-out, and
+     *  therefore disabled, so your JVM cacerts repo will be checked).
+     *
+     *  You can use this option to disable verification as a mechanism to exclude
+     *  other issues which you may experience during development.
+     *
+     *  NOTE: do not disable/bypass verification in a production environment.
+     */
+    static {
+         // bypassVerification();                                                // Uncomment to disable SSL verification (you MUST COMMENT THIS OUT IN A PRODUCTION ENVIRONMENT)
+    }
+
+
+    /**
+     *  Creates a {@link Transport}.
+     *
+     *  @param  configuration   the {@link Configuration} of the connection pool
+     *
+     *  @throws NullPointerException    if the configuration is null
+     */
+    public Transport(Configuration configuration)
+            throws NullPointerException {
+        if(configuration==null)
+            throw new NullPointerException("The configuration was missing from the transport");
+        this.configuration = new Configuration(configuration);
+
+        this.ownedExecutor = this.configuration.getExecutor()!=null
+            ? null
+            : Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "sandcage-transport");
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor = this.ownedExecutor!=null ? this.ownedExecutor : this.configuration.getExecutor();
+
+        try {
+            this.retryBudget = new RetryBudget(this.configuration.getRetryBudgetRatio(), this.configuration.getRetryBudgetReserve());
+        } catch(OutOfBoundsException oobex) {                                   // Already checked by the configuration
+            throw new IllegalStateException(oobex);
+        }
+
+        try {
+            this.logger = this.configuration.getLogLevel()==LogLevel.OFF
+                ? AsyncLogger.OFF
+                : new AsyncLogger(this.configuration.getLogSink(), this.configuration.getLogLevel(), 
+                    this.configuration.getLogSampling(), this.configuration.getLogBodyLimit(), LOG_CAPACITY);
+        } catch(OutOfBoundsException oobex) {                                   // Already checked by the configuration
+            throw new IllegalStateException(oobex);
+        }
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(this.configuration.getConnectTimeout()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(this.executor);
+        if(sslContext!=null)
+            builder.sslContext(sslContext);
+        this.client = builder.build();
+    }
+
+    /**
+     *  Sends the given request over a pooled connection, without blocking the
+     *  calling thread, then reads the response on the {@link #getExecutor() executor}
+     *  of this {@link Transport}. The connection counts as in flight until the
+     *  response has been read.
+     *
+     *  @param  <T>         the type of the response body
+     *  @param  <R>         the type of the result read from the response
+     *  @param  request     the request to send
+     *  @param  handler     the handler of the response body
+     *  @param  reader      reads the result from the response
+     *
+     *  @return     a {@link CompletableFuture} of the result
+     */
+    public <T, R> CompletableFuture<R> send(HttpRequest request, HttpResponse.BodyHandler<T> handler, 
+            Function<HttpResponse<T>, R> reader) {
+
+        final CompletableFuture<R> result = new CompletableFuture<R>();
+
+        if(!enter()) {
+            result.completeExceptionally(new IllegalStateException("The transport has been closed"));
+            return result;
+        }
+        result.whenComplete((value, failure) -> exit());
+
+        this.pending.add(() -> {
+            try {
+                this.client.sendAsync(request, handler)
+                    .thenApplyAsync(reader, this.executor)
+                    .whenComplete((value, failure) -> {
+                        release();
+                        if(failure!=null)
+                            result.completeExceptionally(failure instanceof CompletionException && failure.getCause()!=null ? failure.getCause() : failure);
+                        else
+                            result.complete(value);
+                    });
+            } catch(RuntimeException rex) {
+                release();
+                result.completeExceptionally(rex);
+            }
+        });
+        drain();
+
+        return result;
+    }
+
+    /**
+     *  The {@link Configuration} of this {@link Transport}.
+     *
+     *  @return     a copy of the {@link Configuration}
+     */
+    public Configuration getConfiguration() {
+        return new Configuration(this.configuration);
+    }
+
+    /**
+     *  The base URL of the SandCage API, to which requests are sent over this
+     *  {@link Transport}.
+     *
+     *  @return     the base URL, ending with a slash
+     */
+    public String getEndpointBase() {
+        return this.configuration.getEndpointBase();
+    }
+
+    /**
+     *  The size from which request bodies are sent gzip compressed.
+     *
+     *  @return     the size, in bytes, or 0 if request bodies are never compressed
+     */
+    public int getCompressionThreshold() {
+        return this.configuration.getCompressionThreshold();
+    }
+
+    /**
+     *  Whether compressed responses are accepted.
+     *
+     *  @return     <tt>true</tt> if accepted, else <tt>false</tt>
+     */
+    public boolean isResponseCompression() {
+        return this.configuration.isResponseCompression();
+    }
+
+    /**
+     *  The read timeout of requests sent over this {@link Transport}.
+     *
+     *  @return     the read timeout, in milliseconds
+     */
+    public int getReadTimeout() {
+        return this.configuration.getReadTimeout();
+    }
+
+    /**
+     *  The {@link RetryPolicy} of requests to the given SandCage API service.
+     *
+     *  @param  service     the service
+     *
+     *  @return     the {@link RetryPolicy}, which must not be modified
+     */
+    RetryPolicy getRetryPolicy(String service) {
+        return this.retryPolicies.computeIfAbsent(service, this.configuration::getRetryPolicy);
+    }
+
+    /**
+     *  The {@link CircuitBreaker} of the given SandCage API service.
+     *
+     *  @param  service     the service
+     *
+     *  @return     the {@link CircuitBreaker}, created upon first use
+     */
+    public CircuitBreaker getCircuitBreaker(String service) {
+        return this.breakers.computeIfAbsent(service, s -> {
+            try {
+                return new CircuitBreaker(this.configuration.getCircuitFailureThreshold(), this.configuration.getCircuitOpenTimeout());
+            } catch(OutOfBoundsException oobex) {                               // Already checked by the configuration
+                throw new IllegalStateException(oobex);
+            }
+        });
+    }
+
+    /**
+     *  The {@link RetryBudget} shared by all requests sent over this {@link Transport}.
+     *
+     *  @return     the {@link RetryBudget}
+     */
+    public RetryBudget getRetryBudget() {
+        return this.retryBudget;
+    }
+
+    /**
+     *  The {@link RateLimiter} of requests to the given SandCage API service.
+     *
+     *  @param  service     the service
+     *
+     *  @return     the {@link RateLimiter}, or null if the service is not limited
+     */
+    public RateLimiter getRateLimiter(String service) {
+        if(this.configuration.getServiceRateLimit(service)<=0d)
+            return null;
+        return this.serviceLimiters.computeIfAbsent(service, 
+            s -> newRateLimiter(this.configuration.getServiceRateLimit(s), this.configuration.getServiceRateBurst(s)));
+    }
+
+    /**
+     *  The {@link RateLimiter} of requests sent with the given key.
+     *
+     *  @param  key     the user's unique key
+     *
+     *  @return     the {@link RateLimiter}, or null if keys are not limited
+     */
+    public RateLimiter getKeyRateLimiter(String key) {
+        if(this.configuration.getKeyRateLimit()<=0d || key==null)
+            return null;
+        return this.keyLimiters.computeIfAbsent(key, 
+            k -> newRateLimiter(this.configuration.getKeyRateLimit(), this.configuration.getKeyRateBurst()));
+    }
+
+    /**
+     *  Obtains a permit, from both the service and the key {@link RateLimiter
+     *  limiters} (if any), to send a request.
+     *
+     *  @param  service     the service of the request
+     *  @param  key         the key of the request
+     *
+     *  @return     the delay before the request may be sent, in nanoseconds, or
+     *              -1 if the client fails fast and no permit is available
+     */
+    long acquirePermit(String service, String key) {
+        RateLimiter byService = getRateLimiter(service);
+        RateLimiter byKey = getKeyRateLimiter(key);
+        if(byService==null && byKey==null)
+            return 0L;
+        if(this.configuration.isRateLimitFailFast()) {
+            if(byService!=null && !byService.tryAcquire())
+                return -1L;
+            if(byKey!=null && !byKey.tryAcquire()) {
+                if(byService!=null)
+                    byService.release();
+                return -1L;
+            }
+            return 0L;
+        }
+        return Math.max(byService!=null ? byService.reserve() : 0L, byKey!=null ? byKey.reserve() : 0L);
+    }
+
+    /**
+     *  Feeds back the outcome of a request to the {@link RateLimiter limiters}
+     *  of its service and key.
+     *
+     *  @param  service     the service of the request
+     *  @param  key         the key of the request
+     *  @param  throttled   whether the SandCage API throttled the request
+     *  @param  retryAfter  the <tt>Retry-After</tt> delay, in milliseconds, or
+     *                      a negative value if none was given
+     */
+    void onRateFeedback(String service, String key, boolean throttled, long retryAfter) {
+        for(RateLimiter limiter : new RateLimiter[] { getRateLimiter(service), getKeyRateLimiter(key) })
+            if(limiter!=null) {
+                if(throttled)
+                    limiter.onThrottle(retryAfter);
+                else
+                    limiter.onSuccess();
+            }
+    }
+
+    /**
+     *  The {@link DispatchMetrics} which receive the measurements of the requests
+     *  sent over this {@link Transport}.
+     *
+     *  @return     the {@link DispatchMetrics}
+     */
+    public DispatchMetrics getMetrics() {
+        return this.configuration.getMetrics();
+    }
+
+    /**
+     *  The {@link AsyncLogger} of the requests sent over this {@link Transport}.
+     *
+     *  @return     the {@link AsyncLogger}
+     */
+    public AsyncLogger getLogger() {
+        return this.logger;
+    }
+
+    /**
+     *  The {@link Executor} on which responses are handled and read.
+     *
+     *  @return     the {@link Executor}
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     *  The number of requests currently in flight.
+     *
+     *  @return     the number of requests in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     *  The number of requests waiting for a connection.
+     *
+     *  @return     the number of queued requests
+     */
+    public int getQueued() {
+        return this.pending.size();
+    }
+
+    /**
+     *  Stops accepting requests. Requests already in flight, or queued, are
+     *  completed as normal; idle connections are released as they expire. The
+     *  executor, unless it was set by the {@link Configuration}, is shut down
+     *  once the last outstanding request is complete.
+     */
+    public void close() {
+        synchronized(this) {
+            this.closed = true;
+            if(this.outstanding==0)
+                shutdown();
+        }
+        this.logger.close();
+    }
+
+    /**
+     *  Counts a request, or a dispatch spanning the attempts of a request, as
+     *  outstanding, so that the executor is not shut down under it. Each call
+     *  which returns true must be matched by a call to {@link #exit()}.
+     *
+     *  @return     false if this {@link Transport} has been closed
+     */
+    synchronized boolean enter() {
+        if(this.closed)
+            return false;
+        this.outstanding++;
+        return true;
+    }
+
+    /**
+     *  Counts an outstanding request, or dispatch, as complete, shutting down the
+     *  executor if it was the last one since this {@link Transport} was closed.
+     */
+    synchronized void exit() {
+        if(--this.outstanding==0 && this.closed)
+            shutdown();
+    }
+
+    /**
+     *  Shuts down the executor, if it was created by this {@link Transport}.
+     *  Tasks already submitted to it still run.
+     */
+    private void shutdown() {
+        if(this.ownedExecutor!=null)
+            this.ownedExecutor.shutdown();
+    }
+
+    /**
+     *  Whether this {@link Transport} has been closed.
+     *
+     *  @return     <tt>true</tt> if closed, else <tt>false</tt>
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     *  Creates a {@link RateLimiter}, whose bounds have already been checked by
+     *  the {@link Configuration}.
+     */
+    private static RateLimiter newRateLimiter(double permitsPerSecond, int burst) {
+        try {
+            return new RateLimiter(permitsPerSecond, burst);
+        } catch(OutOfBoundsException oobex) {
+            throw new IllegalStateException(oobex);
+        }
+    }
+
+    /**
+     *  Starts as many queued requests as there are free connections.
+     */
+    private void drain() {
+        while(!this.pending.isEmpty()) {
+            int current = this.inFlight.get();
+            if(current>=this.configuration.getMaxConnections())
+                return;
+            if(!this.inFlight.compareAndSet(current, current+1))
+                continue;
+            Runnable next = this.pending.poll();
+            if(next==null) {
+                this.inFlight.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    /**
+     *  Frees a connection, starting the next queued request, if any.
+     */
+    private void release() {
+        this.inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     *  Sets the {@link HttpClient} of all subsequently created {@link Transport}
+     *  instances to bypass verification of the SandCage API SSL certificate
+     *  vis-a-vis your cacerts repo.
+     *  <p>
+     *  This option can be invoked as a mechanism to exclude other issues which
+     *  you may experience during the development process.
+     *  <p>
+     *  <b>NOTE: do not disable verification in a production environment.</b>
+     */
+    private static void bypassVerification() {
+
+        try {
+
+            SSLContext sc = SSLContext.getInstance("SSL");
+            sc.init(
+                null,
+                new TrustManager[] {
+                    new X509TrustManager() {
+                        @Override
+                        public java.security.cert.X509Certificate[] getAcceptedIssuers() {
+                            return null;
+                        }
+                        @Override
+                        public void checkClientTrusted(java.security.cert.X509Certificate[] xcs, String string)
+                            throws CertificateException {
+                        }
+                        @Override
+                        public void checkServerTrusted(java.security.cert.X509Certificate[] xcs, String string)
+                            throws CertificateException {
+                        }
+                    }
+                },
+                new java.security.SecureRandom()
+            );
+
+            sslContext = sc;
+            System.setProperty("jdk.internal.httpclient.disableHostnameVerification", Boolean.TRUE.toString());
+
+        } catch(KeyManagementException kmex) {
+            kmex.printStackTrace();
+        } catch(NoSuchAlgorithmException nsaex) {
+            nsaex.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sandcage.api.limit;
+
+import java.io.IOException;
+
+
+/**
+ *  Thrown when a request is rejected without being sent, as no permit of its
+ *  {@link RateLimiter} was available and the client fails fast.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class RateLimitException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+
+    /**
+     *  Creates a {@link RateLimitException}.
+     *
+     *  @param  service     the SandCage API service of the request
+     */
+    public RateLimitException(String service) {
+        super("The rate limit of requests to the SandCage API service [ "+service+" ] was reached; the request was not sent");
+    }
+}
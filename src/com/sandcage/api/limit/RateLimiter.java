@@ -0,0 +1,154 @@
+package com.sandcage.api.limit;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *  A token bucket, limiting the rate of requests to the SandCage API, which
+ *  adapts its rate to throttling responses.
+ *  <p>
+ *  Permits accrue at the current rate, up to the burst size. When the SandCage
+ *  API throttles a request (ie: HTTP 429), the current rate is halved, and no
+ *  permits are granted until any <tt>Retry-After</tt> delay has passed; each
+ *  request which is not throttled then raises the rate again, additively, back
+ *  up to the configured rate. Throughput thus settles at the rate the SandCage
+ *  API sustains, rather than oscillating between bursts and throttling.
+ *  <p>
+ *  Permits are either {@link #tryAcquire() acquired} at once, or 
+ *  {@link #reserve() reserved} ahead, in which case the caller is told how long
+ *  to wait before using it; no thread is blocked by the limiter itself.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class RateLimiter {
+
+    private static final int MIN_BURST = 1;
+    private static final double DECREASE_FACTOR = 0.5d;
+    private static final double INCREASE_STEP = 0.05d;                          // OF THE CONFIGURED RATE, PER REQUEST
+    private static final double MIN_RATE_FACTOR = 0.01d;                        // OF THE CONFIGURED RATE
+
+    private final double maxRate;
+    private final int burst;
+
+    private double rate;                                                        // Guarded by this; permits per second
+    private double permits;                                                     // Guarded by this; may be negative when reserved ahead
+    private long refilledAt;                                                    // Guarded by this
+    private long blockedUntil;                                                  // Guarded by this
+
+
+    /**
+     *  Creates a {@link RateLimiter}.
+     *
+     *  @param  permitsPerSecond    the maximum sustained rate
+     *  @param  burst               the maximum number of permits which may be
+     *                              banked, and hence used in a burst
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public RateLimiter(double permitsPerSecond, int burst)
+            throws OutOfBoundsException {
+        if(!(permitsPerSecond>0d) || Double.isInfinite(permitsPerSecond))
+            throw new OutOfBoundsException("permitsPerSecond", String.valueOf(permitsPerSecond), "("+permitsPerSecond+">0)==false");
+        if(burst<MIN_BURST)
+            throw new OutOfBoundsException("burst", String.valueOf(burst), "("+burst+">="+MIN_BURST+")==false");
+        this.maxRate = permitsPerSecond;
+        this.rate = permitsPerSecond;
+        this.burst = burst;
+        this.permits = burst;
+        this.refilledAt = System.nanoTime();
+        this.blockedUntil = this.refilledAt;
+    }
+
+    /**
+     *  Acquires a permit, if one is available now.
+     *
+     *  @return     <tt>true</tt> if acquired, else <tt>false</tt>
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        refill(now);
+        if(now-this.blockedUntil<0 || this.permits<1d)
+            return false;
+        this.permits -= 1d;
+        return true;
+    }
+
+    /**
+     *  Reserves a permit, which may only be used once the returned delay has
+     *  passed.
+     *
+     *  @return     the delay before the permit may be used, in nanoseconds
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        long wait = Math.max(0L, this.blockedUntil-now);
+        this.permits -= 1d;
+        if(this.permits<0d)
+            wait = Math.max(wait, (long) Math.ceil(-this.permits/this.rate*TimeUnit.SECONDS.toNanos(1)));
+        return wait;
+    }
+
+    /**
+     *  Returns a permit which was acquired, but not used.
+     */
+    public synchronized void release() {
+        this.permits = Math.min(this.burst, this.permits+1d);
+    }
+
+    /**
+     *  Records that a request was throttled, halving the rate and, given a
+     *  <tt>Retry-After</tt> delay, granting no permits until it has passed.
+     *
+     *  @param  retryAfter  the <tt>Retry-After</tt> delay, in milliseconds, or
+     *                      a negative value if none was given
+     */
+    public synchronized void onThrottle(long retryAfter) {
+        long now = System.nanoTime();
+        refill(now);
+        this.rate = Math.max(this.maxRate*MIN_RATE_FACTOR, this.rate*DECREASE_FACTOR);
+        this.permits = Math.min(this.permits, 0d);                              // Drops the banked burst
+        if(retryAfter>0) {
+            long until = now+TimeUnit.MILLISECONDS.toNanos(retryAfter);
+            if(until-this.blockedUntil>0)
+                this.blockedUntil = until;
+        }
+    }
+
+    /**
+     *  Records that a request was not throttled, raising the rate towards the
+     *  configured one.
+     */
+    public synchronized void onSuccess() {
+        if(this.rate<this.maxRate) {
+            refill(System.nanoTime());
+            this.rate = Math.min(this.maxRate, this.rate+this.maxRate*INCREASE_STEP);
+        }
+    }
+
+    /**
+     *  The current, adapted rate.
+     *
+     *  @return     the rate, in permits per second
+     */
+    public synchronized double getRate() {
+        return this.rate;
+    }
+
+    /**
+     *  Accrues the permits earned since the last refill.
+     */
+    private void refill(long now) {
+        long elapsed = now-this.refilledAt;
+        if(elapsed>0) {
+            this.permits = Math.min(this.burst, this.permits+elapsed*this.rate/TimeUnit.SECONDS.toNanos(1));
+            this.refilledAt = now;
+        }
+    }
+}
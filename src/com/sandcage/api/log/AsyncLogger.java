@@ -0,0 +1,231 @@
+package com.sandcage.api.log;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ *  Logs messages via a {@link LogSink}, on a dedicated thread, so that the
+ *  threads which send requests never wait on the sink.
+ *  <p>
+ *  Messages are gated by {@link LogLevel}, and built only if they pass the
+ *  gate: while logging is {@link LogLevel#OFF off} (the default), logging costs
+ *  a comparison. Messages are queued without blocking, and dropped (and counted)
+ *  if the queue is full. Messages at {@link LogLevel#INFO} and {@link LogLevel#DEBUG}
+ *  may further be sampled, and bodies are truncated.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class AsyncLogger implements AutoCloseable {
+
+    private static final String ELLIPSIS = "... (%d bytes)";
+
+    /**
+     *  Logs nothing.
+     */
+    public static final AsyncLogger OFF = new AsyncLogger();
+
+    private final LogSink sink;
+    private final LogLevel level;
+    private final double sampling;
+    private final int bodyLimit;
+    private final ArrayBlockingQueue<Message> queue;
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+
+    /**
+     *  Creates an {@link AsyncLogger}. Its thread is started with the first
+     *  message logged.
+     *
+     *  @param  sink        the {@link LogSink} to which to write
+     *  @param  level       the most verbose {@link LogLevel} logged
+     *  @param  sampling    the fraction of requests whose {@link LogLevel#INFO}
+     *                      and {@link LogLevel#DEBUG} messages are logged,
+     *                      between 0 and 1
+     *  @param  bodyLimit   the number of bytes of a body logged, after which it
+     *                      is truncated
+     *  @param  capacity    the number of messages which may be queued
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public AsyncLogger(LogSink sink, LogLevel level, double sampling, int bodyLimit, int capacity)
+            throws OutOfBoundsException, NullPointerException {
+        if(sink==null)
+            throw new NullPointerException("The sink was missing from the logger");
+        if(level==null)
+            throw new NullPointerException("The level was missing from the logger");
+        if(!(sampling>=0d && sampling<=1d))
+            throw new OutOfBoundsException("sampling", String.valueOf(sampling), "(0<="+sampling+"<=1)==false");
+        if(bodyLimit<0)
+            throw new OutOfBoundsException("bodyLimit", String.valueOf(bodyLimit), "("+bodyLimit+">=0)==false");
+        if(capacity<1)
+            throw new OutOfBoundsException("capacity", String.valueOf(capacity), "("+capacity+">=1)==false");
+        this.sink = sink;
+        this.level = level;
+        this.sampling = sampling;
+        this.bodyLimit = bodyLimit;
+        this.queue = new ArrayBlockingQueue<Message>(capacity);
+    }
+
+    /**
+     *  Creates the {@link AsyncLogger} which logs nothing.
+     */
+    private AsyncLogger() {
+        this.sink = LogSink.CONSOLE;
+        this.level = LogLevel.OFF;
+        this.sampling = 0d;
+        this.bodyLimit = 0;
+        this.queue = new ArrayBlockingQueue<Message>(1);
+    }
+
+    /**
+     *  Whether messages of the given level are logged.
+     *
+     *  @param  level   the {@link LogLevel} of the message
+     *
+     *  @return     <tt>true</tt> if logged, else <tt>false</tt>
+     */
+    public boolean isEnabled(LogLevel level) {
+        return this.level.includes(level);
+    }
+
+    /**
+     *  Decides whether the {@link LogLevel#INFO} and {@link LogLevel#DEBUG}
+     *  messages of a request are logged, as per the sampling rate. It is to be
+     *  called once per request.
+     *
+     *  @return     <tt>true</tt> if the request is sampled, else <tt>false</tt>
+     */
+    public boolean sample() {
+        return this.level.includes(LogLevel.INFO) 
+            && (this.sampling>=1d || ThreadLocalRandom.current().nextDouble()<this.sampling);
+    }
+
+    /**
+     *  Logs a message, built only if its level is enabled.
+     *
+     *  @param  level       the {@link LogLevel} of the message
+     *  @param  message     builds the message
+     */
+    public void log(LogLevel level, Supplier<String> message) {
+        if(!isEnabled(level) || this.closed)
+            return;
+        if(!this.queue.offer(new Message(level, message.get()))) {
+            this.dropped.increment();
+            return;
+        }
+        if(this.writer==null)
+            start();
+    }
+
+    /**
+     *  Renders the given UTF-8 encoded body, truncated to the body limit.
+     *
+     *  @param  body    the body
+     *
+     *  @return     the (truncated) body
+     */
+    public String body(byte[] body) {
+        return body(body, body.length);
+    }
+
+    /**
+     *  Renders the first bytes of a (UTF-8) body for logging, truncated to the
+     *  body limit, eg: those written into a larger, reused, buffer.
+     *
+     *  @param  body    the body
+     *  @param  length  the number of bytes of the body
+     *
+     *  @return     the (truncated) body
+     */
+    public String body(byte[] body, int length) {
+        if(length<=this.bodyLimit)
+            return new String(body, 0, length, StandardCharsets.UTF_8);
+        return new String(body, 0, this.bodyLimit, StandardCharsets.UTF_8)+String.format(ELLIPSIS, length);
+    }
+
+    /**
+     *  The number of messages dropped as the queue was full.
+     *
+     *  @return     the number of dropped messages
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     *  Stops logging, once the messages already queued have been written.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        Thread thread = this.writer;
+        if(thread!=null)
+            thread.interrupt();
+    }
+
+    /**
+     *  Starts the thread which writes the queued messages, unless already started.
+     */
+    private synchronized void start() {
+        if(this.writer!=null)
+            return;
+        Thread thread = new Thread(this::drain, "sandcage-logger");
+        thread.setDaemon(true);
+        this.writer = thread;
+        thread.start();
+    }
+
+    /**
+     *  Writes the queued messages to the sink, until closed.
+     */
+    private void drain() {
+        while(true) {
+            Message message;
+            try {
+                message = this.queue.take();
+            } catch(InterruptedException iex) {
+                if(!this.closed)
+                    continue;
+                while((message=this.queue.poll())!=null)
+                    write(message);
+                return;
+            }
+            write(message);
+        }
+    }
+
+    private void write(Message message) {
+        try {
+            this.sink.write(message.level, message.text);
+        } catch(RuntimeException rex) {                                         // A faulty sink must not stop the logger
+            this.dropped.increment();
+        }
+    }
+
+    /**
+     *  A queued message.
+     */
+    private static class Message {
+
+        private final LogLevel level;
+        private final String text;
+
+        private Message(LogLevel level, String text) {
+            this.level = level;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sandcage.api.log;
+
+
+/**
+ *  The levels at which dispatched requests are logged, from the least to the
+ *  most verbose. {@link #OFF} logs nothing at all.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public enum LogLevel {
+
+    /** Nothing is logged */
+    OFF,
+    /** Requests which failed */
+    ERROR,
+    /** Retries, and responses which report an error */
+    WARN,
+    /** The status code, and latency, of each response */
+    INFO,
+    /** The (truncated) body of each request */
+    DEBUG;
+
+
+    /**
+     *  Whether messages of the given level are logged at this level.
+     *
+     *  @param  level   the level of the message
+     *
+     *  @return     <tt>true</tt> if logged, else <tt>false</tt>
+     */
+    public boolean includes(LogLevel level) {
+        return this!=OFF && level!=OFF && level.ordinal()<=ordinal();
+    }
+}
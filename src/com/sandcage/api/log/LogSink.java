@@ -0,0 +1,30 @@
+package com.sandcage.api.log;
+
+
+/**
+ *  Writes log messages, eg: to a logging framework.
+ *  <p>
+ *  Messages are handed to the sink by the single thread of an {@link AsyncLogger},
+ *  never by the threads which send requests, so a sink may block.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+@FunctionalInterface
+public interface LogSink {
+
+    /**
+     *  Writes messages to the standard output, and errors to the standard error.
+     */
+    LogSink CONSOLE = (level, message) -> (level==LogLevel.ERROR ? System.err : System.out).println("[sandcage] "+level+" "+message);
+
+
+    /**
+     *  Writes a message.
+     *
+     *  @param  level       the level of the message
+     *  @param  message     the message
+     */
+    void write(LogLevel level, String message);
+}
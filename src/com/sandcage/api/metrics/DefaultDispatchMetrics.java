@@ -0,0 +1,89 @@
+package com.sandcage.api.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ *  Keeps the measurements of dispatched requests in memory, per SandCage API
+ *  service, as {@link LatencyHistogram latency histograms} and counters.
+ *  <p>
+ *  Recording is lock-free and, once a service has been seen, allocation-free,
+ *  so an instance may be shared by all the clients of a JVM.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class DefaultDispatchMetrics implements DispatchMetrics {
+
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<String, EndpointStats>();
+
+
+    @Override
+    public void onSerialized(String service, long nanos, long bytes) {
+        stats(service).onSerialized(nanos, bytes);
+    }
+
+    @Override
+    public void onStart(String service) {
+        stats(service).onStart();
+    }
+
+    @Override
+    public void onResponse(String service, int statusCode, long ttfbNanos, long parseNanos, long totalNanos, long bytes) {
+        stats(service).onResponse(statusCode, ttfbNanos, parseNanos, totalNanos, bytes);
+    }
+
+    @Override
+    public void onFailure(String service, Throwable failure, long totalNanos) {
+        stats(service).onFailure(totalNanos);
+    }
+
+    @Override
+    public void onRetry(String service, int attempt) {
+        stats(service).onRetry();
+    }
+
+    @Override
+    public void onEnd(String service) {
+        stats(service).onEnd();
+    }
+
+    /**
+     *  The measurements of the given service.
+     *
+     *  @param  service     the SandCage API service
+     *
+     *  @return     the {@link EndpointStats}, or null if no request was sent to
+     *              the service
+     */
+    public EndpointStats getStats(String service) {
+        return this.endpoints.get(service);
+    }
+
+    /**
+     *  The measurements of all the services to which requests were sent.
+     *
+     *  @return     the {@link EndpointStats}, by service
+     */
+    public Map<String, EndpointStats> getStats() {
+        return Collections.unmodifiableMap(this.endpoints);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for(Map.Entry<String, EndpointStats> entry : this.endpoints.entrySet())
+            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        return sb.toString();
+    }
+
+    private EndpointStats stats(String service) {
+        EndpointStats stats = this.endpoints.get(service);                      // Avoids the lambda of computeIfAbsent on the hot path
+        return stats!=null ? stats : this.endpoints.computeIfAbsent(service, s -> new EndpointStats());
+    }
+}
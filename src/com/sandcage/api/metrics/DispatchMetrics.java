@@ -0,0 +1,91 @@
+package com.sandcage.api.metrics;
+
+
+/**
+ *  Receives the measurements of each request dispatched to the SandCage API,
+ *  eg: to feed them to a metrics library.
+ *  <p>
+ *  Methods are called on the threads which send requests and handle responses,
+ *  so implementations must be thread-safe and should return promptly. All
+ *  methods do nothing by default; {@link #NONE} records nothing at all, and
+ *  {@link DefaultDispatchMetrics} keeps lock-free histograms and counters.
+ *  <p>
+ *  The HTTP client does not expose the time taken to connect, or to negotiate
+ *  TLS: both are part of the time to first byte of a request sent over a new
+ *  connection.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public interface DispatchMetrics {
+
+    /**
+     *  Records nothing.
+     */
+    DispatchMetrics NONE = new DispatchMetrics() {
+    };
+
+
+    /**
+     *  Called once a payload has been serialized.
+     *
+     *  @param  service     the SandCage API service
+     *  @param  nanos       the time taken to serialize it, in nanoseconds
+     *  @param  bytes       the size of the request body, in bytes
+     */
+    default void onSerialized(String service, long nanos, long bytes) {
+    }
+
+    /**
+     *  Called as a request starts, before its first attempt.
+     *
+     *  @param  service     the SandCage API service
+     */
+    default void onStart(String service) {
+    }
+
+    /**
+     *  Called once the response to an attempt has been read.
+     *
+     *  @param  service     the SandCage API service
+     *  @param  statusCode  the HTTP status code
+     *  @param  ttfbNanos   the time from sending the request to receiving the
+     *                      response headers, in nanoseconds
+     *  @param  parseNanos  the time taken to read the response body, in nanoseconds
+     *  @param  totalNanos  the time from sending the request to having read the
+     *                      response, in nanoseconds
+     *  @param  bytes       the size of the response body, in bytes
+     */
+    default void onResponse(String service, int statusCode, long ttfbNanos, long parseNanos, long totalNanos, long bytes) {
+    }
+
+    /**
+     *  Called when an attempt fails without a readable response, eg: when the
+     *  connection fails or times out.
+     *
+     *  @param  service     the SandCage API service
+     *  @param  failure     the cause of the failure
+     *  @param  totalNanos  the time from sending the request to the failure, in
+     *                      nanoseconds
+     */
+    default void onFailure(String service, Throwable failure, long totalNanos) {
+    }
+
+    /**
+     *  Called when a failed attempt is to be retried.
+     *
+     *  @param  service     the SandCage API service
+     *  @param  attempt     the number of the attempt to come
+     */
+    default void onRetry(String service, int attempt) {
+    }
+
+    /**
+     *  Called as a request ends, after its last attempt.
+     *
+     *  @param  service     the SandCage API service
+     */
+    default void onEnd(String service) {
+    }
+}
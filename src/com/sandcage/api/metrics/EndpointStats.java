@@ -0,0 +1,181 @@
+package com.sandcage.api.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  The measurements of the requests dispatched to a single SandCage API
+ *  service, as kept by {@link DefaultDispatchMetrics}.
+ *  <p>
+ *  Instances of this class are thread-safe, and lock-free.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class EndpointStats {
+
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram firstByte = new LatencyHistogram();
+    private final LatencyHistogram serialization = new LatencyHistogram();
+    private final LatencyHistogram parsing = new LatencyHistogram();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final ConcurrentHashMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<Integer, LongAdder>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+
+    EndpointStats() {
+    }
+
+    void onSerialized(long nanos, long bytes) {
+        this.serialization.record(nanos);
+        this.requestBytes.add(bytes);
+    }
+
+    void onStart() {
+        this.requests.increment();
+        this.inFlight.incrementAndGet();
+    }
+
+    void onResponse(int statusCode, long ttfbNanos, long parseNanos, long totalNanos, long bytes) {
+        this.firstByte.record(ttfbNanos);
+        this.parsing.record(parseNanos);
+        this.total.record(totalNanos);
+        this.responseBytes.add(bytes);
+        this.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    void onFailure(long totalNanos) {
+        this.total.record(totalNanos);
+        this.failures.increment();
+    }
+
+    void onRetry() {
+        this.retries.increment();
+    }
+
+    void onEnd() {
+        this.inFlight.decrementAndGet();
+    }
+
+    /**
+     *  The latencies of attempts, from sending the request to having read the
+     *  response, or to the failure.
+     *
+     *  @return     the {@link LatencyHistogram}
+     */
+    public LatencyHistogram getTotal() {
+        return this.total;
+    }
+
+    /**
+     *  The latencies of attempts, from sending the request to receiving the
+     *  response headers, including the time taken to connect, if need be.
+     *
+     *  @return     the {@link LatencyHistogram}
+     */
+    public LatencyHistogram getFirstByte() {
+        return this.firstByte;
+    }
+
+    /**
+     *  The times taken to serialize payloads.
+     *
+     *  @return     the {@link LatencyHistogram}
+     */
+    public LatencyHistogram getSerialization() {
+        return this.serialization;
+    }
+
+    /**
+     *  The times taken to read response bodies.
+     *
+     *  @return     the {@link LatencyHistogram}
+     */
+    public LatencyHistogram getParsing() {
+        return this.parsing;
+    }
+
+    /**
+     *  The number of bytes of the request bodies serialized.
+     *
+     *  @return     the number of bytes
+     */
+    public long getRequestBytes() {
+        return this.requestBytes.sum();
+    }
+
+    /**
+     *  The number of bytes of the response bodies read.
+     *
+     *  @return     the number of bytes
+     */
+    public long getResponseBytes() {
+        return this.responseBytes.sum();
+    }
+
+    /**
+     *  The number of requests started, not counting retries.
+     *
+     *  @return     the number of requests
+     */
+    public long getRequests() {
+        return this.requests.sum();
+    }
+
+    /**
+     *  The number of attempts which failed without a readable response.
+     *
+     *  @return     the number of failures
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     *  The number of retries.
+     *
+     *  @return     the number of retries
+     */
+    public long getRetries() {
+        return this.retries.sum();
+    }
+
+    /**
+     *  The number of responses per HTTP status code.
+     *
+     *  @return     the number of responses, by HTTP status code
+     */
+    public Map<Integer, Long> getStatusCodes() {
+        TreeMap<Integer, Long> counts = new TreeMap<Integer, Long>();
+        for(Map.Entry<Integer, LongAdder> entry : this.statusCodes.entrySet())
+            counts.put(entry.getKey(), entry.getValue().sum());
+        return counts;
+    }
+
+    /**
+     *  The number of requests currently in flight, including those waiting to
+     *  be retried.
+     *
+     *  @return     the number of requests in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public String toString() {
+        return "requests="+getRequests()+", inFlight="+getInFlight()+", retries="+getRetries()+", failures="+getFailures()
+            +", statusCodes="+getStatusCodes()+", requestBytes="+getRequestBytes()+", responseBytes="+getResponseBytes()
+            +", total(p50/p99/max us)="+this.total.getPercentile(50)+"/"+this.total.getPercentile(99)+"/"+this.total.getMax()
+            +", firstByte(p50/p99 us)="+this.firstByte.getPercentile(50)+"/"+this.firstByte.getPercentile(99);
+    }
+}
@@ -0,0 +1,123 @@
+package com.sandcage.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  A histogram of latencies, from one microsecond up to about an hour.
+ *  <p>
+ *  Buckets are log-linear: each power of two is split into {@value #SUB_BUCKETS}
+ *  buckets, so a percentile is reported within 1/{@value #SUB_BUCKETS} of its 
+ *  true value. Recording a latency increments a single counter, without any
+ *  lock or allocation; reads are not atomic across buckets, which is
+ *  immaterial for monitoring.
+ *  <p>
+ *  Instances of this class are thread-safe, and lock-free.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1<<SUB_BITS;
+    private static final int MAGNITUDES = 32;                                   // 2^32us ~ 71min
+    private static final long MAX_VALUE = (1L<<MAGNITUDES)-1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(MAGNITUDES*SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+
+    /**
+     *  Records a latency.
+     *
+     *  @param  nanos   the latency, in nanoseconds; latencies beyond the range
+     *                  of the histogram are recorded at its upper bound
+     */
+    public void record(long nanos) {
+        long micros = Math.min(MAX_VALUE, Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        this.buckets.incrementAndGet(index(micros));
+        this.count.increment();
+        this.sum.add(micros);
+        this.max.accumulate(micros);
+    }
+
+    /**
+     *  The number of latencies recorded.
+     *
+     *  @return     the number of latencies
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     *  The mean of the latencies recorded.
+     *
+     *  @return     the mean, in microseconds, or zero if none was recorded
+     */
+    public double getMean() {
+        long n = this.count.sum();
+        return n>0 ? (double) this.sum.sum()/n : 0d;
+    }
+
+    /**
+     *  The highest latency recorded.
+     *
+     *  @return     the highest latency, in microseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     *  The latency below which the given percentage of those recorded fall.
+     *
+     *  @param  percentile  the percentile, between 0 and 100
+     *
+     *  @return     the (upper bound of the bucket of the) latency, in microseconds,
+     *              or zero if none was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[this.buckets.length()];
+        long total = 0L;
+        for(int i = 0; i<counts.length; i++)
+            total += counts[i] = this.buckets.get(i);
+        if(total==0L)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(100d, Math.max(0d, percentile))/100d*total));
+        long seen = 0L;
+        for(int i = 0; i<counts.length; i++)
+            if((seen += counts[i])>=rank)
+                return Math.min(upperBound(i), getMax());
+        return getMax();
+    }
+
+    /**
+     *  The bucket of the given latency, in microseconds.
+     */
+    private static int index(long micros) {
+        if(micros<SUB_BUCKETS)
+            return (int) micros;                                                // Exact below the first magnitude
+        int magnitude = 63-Long.numberOfLeadingZeros(micros)-SUB_BITS+1;
+        int sub = (int) (micros>>>(magnitude-1))&(SUB_BUCKETS-1);
+        return magnitude*SUB_BUCKETS+sub;
+    }
+
+    /**
+     *  The highest latency, in microseconds, which falls in the given bucket.
+     */
+    private static long upperBound(int index) {
+        int magnitude = index/SUB_BUCKETS;
+        int sub = index%SUB_BUCKETS;
+        if(magnitude==0)
+            return sub;
+        return ((long) (SUB_BUCKETS+sub+1)<<(magnitude-1))-1;
+    }
+}
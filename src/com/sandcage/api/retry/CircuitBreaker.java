@@ -0,0 +1,114 @@
+package com.sandcage.api.retry;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ *  Fails requests to a SandCage API service fast while it is degraded.
+ *  <p>
+ *  The circuit opens once a given number of consecutive requests have failed;
+ *  while it is open, requests are rejected without being sent. Once the open
+ *  timeout has elapsed a single probe request is let through: should it
+ *  succeed the circuit closes, else it opens anew.
+ *  <p>
+ *  Instances of this class are thread-safe, and lock-free.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class CircuitBreaker {
+
+    private static final int MIN_VALUE = 1;
+
+    /**
+     *  The states of a {@link CircuitBreaker}.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openTimeoutNanos;
+    private final AtomicReference<State> state = new AtomicReference<State>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openedAt;
+
+
+    /**
+     *  Creates a {@link CircuitBreaker}.
+     *
+     *  @param  failureThreshold    the number of consecutive failures at which
+     *                              the circuit opens
+     *  @param  openTimeout         how long the circuit stays open before a
+     *                              probe is let through, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if any value is less than one
+     */
+    public CircuitBreaker(int failureThreshold, long openTimeout)
+            throws OutOfBoundsException {
+        if(failureThreshold<MIN_VALUE)
+            throw new OutOfBoundsException("failureThreshold", String.valueOf(failureThreshold), "("+failureThreshold+">="+MIN_VALUE+")==false");
+        if(openTimeout<MIN_VALUE)
+            throw new OutOfBoundsException("openTimeout", String.valueOf(openTimeout), "("+openTimeout+">="+MIN_VALUE+")==false");
+        this.failureThreshold = failureThreshold;
+        this.openTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(openTimeout);
+    }
+
+    /**
+     *  Whether a request may be sent. Once the open timeout has elapsed, this
+     *  lets a single probe through.
+     *
+     *  @return     <tt>true</tt> if the request may be sent, else <tt>false</tt>
+     */
+    public boolean tryAcquire() {
+        switch(this.state.get()) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.nanoTime()-this.openedAt>=this.openTimeoutNanos 
+                    && this.state.compareAndSet(State.OPEN, State.HALF_OPEN);
+            default:
+                return false;                                                   // A probe is in flight
+        }
+    }
+
+    /**
+     *  Gives back a probe which was let through, but not sent (eg: as the rate
+     *  limit was reached), so that the next request may probe in its stead.
+     */
+    public void release() {
+        this.state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    /**
+     *  Records that a request succeeded, closing the circuit.
+     */
+    public void onSuccess() {
+        this.failures.set(0);
+        if(this.state.get()!=State.CLOSED)
+            this.state.set(State.CLOSED);
+    }
+
+    /**
+     *  Records that a request failed, opening the circuit if the probe failed
+     *  or too many consecutive requests have failed.
+     */
+    public void onFailure() {
+        State current = this.state.get();
+        if(current==State.HALF_OPEN || this.failures.incrementAndGet()>=this.failureThreshold) {
+            this.openedAt = System.nanoTime();
+            this.state.set(State.OPEN);
+        }
+    }
+
+    /**
+     *  The current state of the circuit.
+     *
+     *  @return     the {@link State}
+     */
+    public State getState() {
+        return this.state.get();
+    }
+}
@@ -0,0 +1,27 @@
+package com.sandcage.api.retry;
+
+import java.io.IOException;
+
+
+/**
+ *  Thrown when a request is rejected without being sent, as the circuit of
+ *  its SandCage API service is open.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+
+    /**
+     *  Creates a {@link CircuitOpenException}.
+     *
+     *  @param  service     the SandCage API service whose circuit is open
+     */
+    public CircuitOpenException(String service) {
+        super("The circuit of the SandCage API service [ "+service+" ] is open; the request was not sent");
+    }
+}
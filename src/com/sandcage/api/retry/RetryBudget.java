@@ -0,0 +1,87 @@
+package com.sandcage.api.retry;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ *  Bounds the number of retries relative to the number of requests, so that
+ *  retries cannot multiply the load on a degraded SandCage API.
+ *  <p>
+ *  Each request deposits a fraction (the ratio) of a retry into the budget, up
+ *  to a cap, and each retry withdraws a whole one; retries are refused once the
+ *  budget is spent. The budget starts with, and is capped at, a reserve which
+ *  allows a burst of retries after a lull.
+ *  <p>
+ *  Instances of this class are thread-safe, and lock-free.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;                                     // Tokens are held in thousandths
+
+    private final long deposit;
+    private final long cap;
+    private final AtomicLong balance;
+
+
+    /**
+     *  Creates a {@link RetryBudget}.
+     *
+     *  @param  ratio       the number of retries permitted per request, between
+     *                      0 and 1
+     *  @param  reserve     the maximum number of retries which may be banked
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public RetryBudget(double ratio, int reserve)
+            throws OutOfBoundsException {
+        if(!(ratio>=0d && ratio<=1d))
+            throw new OutOfBoundsException("ratio", String.valueOf(ratio), "(0<="+ratio+"<=1)==false");
+        if(reserve<0)
+            throw new OutOfBoundsException("reserve", String.valueOf(reserve), "("+reserve+">=0)==false");
+        this.deposit = Math.round(ratio*SCALE);
+        this.cap = reserve*SCALE;
+        this.balance = new AtomicLong(this.cap);
+    }
+
+    /**
+     *  Records that a request was sent, depositing into the budget.
+     */
+    public void onRequest() {
+        long current;
+        do {
+            current = this.balance.get();
+            if(current>=this.cap)
+                return;
+        } while(!this.balance.compareAndSet(current, Math.min(this.cap, current+this.deposit)));
+    }
+
+    /**
+     *  Withdraws a retry from the budget, if any remains.
+     *
+     *  @return     <tt>true</tt> if the retry may be sent, else <tt>false</tt>
+     */
+    public boolean tryRetry() {
+        long current;
+        do {
+            current = this.balance.get();
+            if(current<SCALE)
+                return false;
+        } while(!this.balance.compareAndSet(current, current-SCALE));
+        return true;
+    }
+
+    /**
+     *  The number of retries which may currently be sent.
+     *
+     *  @return     the number of retries available
+     */
+    public long getAvailable() {
+        return this.balance.get()/SCALE;
+    }
+}
@@ -0,0 +1,192 @@
+package com.sandcage.api.retry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sandcage.api.service.OutOfBoundsException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ *  Determines whether, and when, a failed request to a SandCage API service is
+ *  retried.
+ *  <p>
+ *  Retries are delayed by a "decorrelated jitter" backoff: each delay is drawn
+ *  at random between the base delay and three times the previous delay, capped
+ *  at the maximum delay, so that clients which failed together do not retry in
+ *  lockstep.
+ *  <p>
+ *  What is retried depends on whether the service is idempotent. Requests to
+ *  idempotent services (eg: get-info) are retried upon any I/O failure, bar a
+ *  malformed response body, and upon HTTP 429, 500, 502, 503 or 504. Requests to other services (eg: schedule-tasks)
+ *  are retried only when they are known not to have been processed: upon a 
+ *  failure to connect, and upon HTTP 429 or 503.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class RetryPolicy {
+
+    private static final int MIN_ATTEMPTS = 1;
+    private static final int MIN_DELAY = 1;
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final int HTTP_BAD_GATEWAY = 502;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final int HTTP_GATEWAY_TIMEOUT = 504;
+
+    public static final int MAX_ATTEMPTS_DEFAULTS = 3;
+    public static final int BASE_DELAY_DEFAULTS = 100;                          //  100ms
+    public static final int MAX_DELAY_DEFAULTS = 5000;                          // 5000ms
+
+    private final boolean idempotent;
+    // CONDITIONS -> 1..; 1 DISABLES RETRIES
+    private int maxAttempts = MAX_ATTEMPTS_DEFAULTS;
+    // CONDITIONS -> 1..; MILLISECONDS
+    private int baseDelay = BASE_DELAY_DEFAULTS;
+    // CONDITIONS -> baseDelay..; MILLISECONDS
+    private int maxDelay = MAX_DELAY_DEFAULTS;
+
+
+    /**
+     *  Creates a {@link RetryPolicy} using the default settings.
+     *
+     *  @param  idempotent  whether the service may safely process a request
+     *                      more than once
+     */
+    public RetryPolicy(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
+    /**
+     *  Creates a copy of the given {@link RetryPolicy}.
+     *
+     *  @param  policy  the {@link RetryPolicy} to copy
+     *
+     *  @throws NullPointerException    if the policy is null
+     */
+    public RetryPolicy(RetryPolicy policy)
+            throws NullPointerException {
+        if(policy==null)
+            throw new NullPointerException("The retry policy to copy was missing");
+        this.idempotent = policy.idempotent;
+        this.maxAttempts = policy.maxAttempts;
+        this.baseDelay = policy.baseDelay;
+        this.maxDelay = policy.maxDelay;
+    }
+
+    /**
+     *  Sets the maximum number of attempts per request, including the first.
+     *
+     *  @param  maxAttempts     the maximum number of attempts, or one to disable
+     *                          retries
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setMaxAttempts(int maxAttempts)
+            throws OutOfBoundsException {
+        if(maxAttempts<MIN_ATTEMPTS)
+            throw new OutOfBoundsException("maxAttempts", String.valueOf(maxAttempts), "("+maxAttempts+">="+MIN_ATTEMPTS+")==false");
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     *  The maximum number of attempts per request, including the first.
+     *
+     *  @return     the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+    /**
+     *  Sets the delays between attempts.
+     *
+     *  @param  baseDelay   the minimum delay, in milliseconds
+     *  @param  maxDelay    the maximum delay, in milliseconds
+     *
+     *  @throws     OutOfBoundsException    if the values are not within the
+     *                                      permissible bounds
+     */
+    public void setDelays(int baseDelay, int maxDelay)
+            throws OutOfBoundsException {
+        if(baseDelay<MIN_DELAY || maxDelay<baseDelay)
+            throw new OutOfBoundsException("baseDelay,maxDelay", baseDelay+","+maxDelay, 
+                "("+MIN_DELAY+"<="+baseDelay+"<="+maxDelay+")==false");
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     *  The minimum delay between attempts.
+     *
+     *  @return     the minimum delay, in milliseconds
+     */
+    public int getBaseDelay() {
+        return this.baseDelay;
+    }
+
+    /**
+     *  The maximum delay between attempts.
+     *
+     *  @return     the maximum delay, in milliseconds
+     */
+    public int getMaxDelay() {
+        return this.maxDelay;
+    }
+
+    /**
+     *  Whether the service may safely process a request more than once.
+     *
+     *  @return     <tt>true</tt> if idempotent, else <tt>false</tt>
+     */
+    public boolean isIdempotent() {
+        return this.idempotent;
+    }
+
+    /**
+     *  Whether a request which the SandCage API answered with the given HTTP
+     *  status code may be retried.
+     *
+     *  @param  statusCode  the HTTP status code
+     *
+     *  @return     <tt>true</tt> if retryable, else <tt>false</tt>
+     */
+    public boolean isRetryable(int statusCode) {
+        if(statusCode==HTTP_TOO_MANY_REQUESTS || statusCode==HTTP_UNAVAILABLE)
+            return true;                                                        // Rejected before being processed
+        return this.idempotent 
+            && (statusCode==HTTP_INTERNAL_ERROR || statusCode==HTTP_BAD_GATEWAY || statusCode==HTTP_GATEWAY_TIMEOUT);
+    }
+
+    /**
+     *  Whether a request which failed with the given cause may be retried.
+     *
+     *  @param  failure     the cause of the failure
+     *
+     *  @return     <tt>true</tt> if retryable, else <tt>false</tt>
+     */
+    public boolean isRetryable(Throwable failure) {
+        if(failure instanceof CircuitOpenException || failure instanceof JsonProcessingException)
+            return false;                                                       // A malformed response body is malformed anew
+        if(failure instanceof ConnectException || failure instanceof HttpConnectTimeoutException)
+            return true;                                                        // Never reached the SandCage API
+        return this.idempotent && failure instanceof IOException;
+    }
+
+    /**
+     *  The delay before the next attempt.
+     *
+     *  @param  previous    the previous delay, or zero before the first retry
+     *
+     *  @return     the delay, in milliseconds
+     */
+    public long nextDelay(long previous) {
+        long upper = Math.max(this.baseDelay, Math.min(this.maxDelay, previous*3));
+        return upper<=this.baseDelay ? this.baseDelay : ThreadLocalRandom.current().nextLong(this.baseDelay, upper+1);
+    }
+}
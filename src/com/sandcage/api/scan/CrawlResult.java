@@ -0,0 +1,81 @@
+package com.sandcage.api.scan;
+
+import java.util.Map;
+
+
+/**
+ *  The outcome of a crawl by a {@link DirectoryCrawler}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+ */
+public class CrawlResult {
+
+    private final long directories;
+    private final long pages;
+    private final long files;
+    private final Map<String, Throwable> failures;
+
+
+    /**
+     *  Creates a {@link CrawlResult}.
+     *
+     *  @param  directories     the number of directories crawled
+     *  @param  pages           the number of pages listed
+     *  @param  files           the number of files handed to the sink
+     *  @param  failures        the cause of failure, per directory which could
+     *                          not be crawled in full
+     */
+    public CrawlResult(long directories, long pages, long files, Map<String, Throwable> failures) {
+        this.directories = directories;
+        this.pages = pages;
+        this.files = files;
+        this.failures = failures;
+    }
+
+    /**
+     *  The number of directories crawled, including any that failed.
+     *
+     *  @return     the number of directories
+     */
+    public long getDirectories() {
+        return this.directories;
+    }
+
+    /**
+     *  The number of pages listed.
+     *
+     *  @return     the number of pages
+     */
+    public long getPages() {
+        return this.pages;
+    }
+
+    /**
+     *  The number of files handed to the sink.
+     *
+     *  @return     the number of files
+     */
+    public long getFiles() {
+        return this.files;
+    }
+
+    /**
+     *  The cause of failure, per directory which could not be crawled in full.
+     *
+     *  @return     the failures, keyed by directory
+     */
+    public Map<String, Throwable> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     *  Whether every directory was crawled in full.
+     *
+     *  @return     <tt>true</tt> if no directory failed, else <tt>false</tt>
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+}
@@ -0,0 +1,275 @@
+package com.sandcage.api.scan;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.enumerate.ListPayload;
+import com.sandcage.api.service.enumerate.ListResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ *  Crawls many directories in parallel, handing every file found to a sink.
+ *  <p>
+ *  Each directory is paginated in sequence, via the list-files service, while 
+ *  up to a given number of directories are listed concurrently, across all
+ *  crawls of the crawler. Page requests are non-blocking: no thread waits on the
+ *  network. The files of each page are handed to the sink on a work-stealing 
+ *  {@link ForkJoinPool}, while the next page is already being requested, so the
+ *  sink must be thread-safe. A page is only requested once the sink is done with
+ *  the page before the last, so that a slow sink holds back the crawl rather than
+ *  have pages pile up in the pool.
+ *  <p>
+ *  The listing of a directory, as that of the root, holds the files of its
+ *  sub-directories too; only the given directories are therefore listed, each
+ *  at most once per crawl, and no sub-directory is listed in its own right, lest
+ *  its files be handed to the sink twice. A recursive crawler hands every file
+ *  listed to the sink, while any other only hands those which lie directly in
+ *  the directory listed. Should the directories given lie below one another,
+ *  each is listed, and the files they share are handed to the sink once per
+ *  listing.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+ */
+public class DirectoryCrawler {
+
+    private static final int MIN_CONCURRENCY = 1;
+    private static final CompletableFuture<Void> CONSUMED = CompletableFuture.completedFuture(null);
+
+    private final SandCageClient client;
+    private final String key;
+    private final int maxConcurrency;
+    private final int resultsPerPage;
+    private final boolean recursive;
+    private final ForkJoinPool pool;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<Runnable>();
+
+
+    /**
+     *  Creates a {@link DirectoryCrawler} which hands files to the sink on the
+     *  {@link ForkJoinPool#commonPool() common pool}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to list files
+     *  @param  key             the user's unique key
+     *  @param  maxConcurrency  the maximum number of directories listed at once
+     *  @param  resultsPerPage  the number of files to request per page
+     *  @param  recursive       whether to hand the files of sub-directories to
+     *                          the sink too
+     *
+     *  @throws     OutOfBoundsException    if any value is not within 
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if the client or key is null
+     */
+    public DirectoryCrawler(SandCageClient client, String key, int maxConcurrency, int resultsPerPage, boolean recursive)
+            throws OutOfBoundsException, NullPointerException {
+        this(client, key, maxConcurrency, resultsPerPage, recursive, ForkJoinPool.commonPool());
+    }
+
+    /**
+     *  Creates a {@link DirectoryCrawler}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to list files
+     *  @param  key             the user's unique key
+     *  @param  maxConcurrency  the maximum number of directories listed at once
+     *  @param  resultsPerPage  the number of files to request per page
+     *  @param  recursive       whether to hand the files of sub-directories to
+     *                          the sink too
+     *  @param  pool            the {@link ForkJoinPool} on which to run the sink
+     *
+     *  @throws     OutOfBoundsException    if any value is not within 
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if the client, key, or pool is null
+     */
+    public DirectoryCrawler(SandCageClient client, String key, int maxConcurrency, int resultsPerPage, boolean recursive, 
+                ForkJoinPool pool)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the crawler");
+        if(pool==null)
+            throw new NullPointerException("The pool was missing from the crawler");
+        if(maxConcurrency<MIN_CONCURRENCY)
+            throw new OutOfBoundsException("maxConcurrency", String.valueOf(maxConcurrency), "("+maxConcurrency+">="+MIN_CONCURRENCY+")==false");
+        new ListPayload(key, null, ListPayload.PAGINATION_DEFAULTS, resultsPerPage);  // Checks the parameters upfront
+        this.client = client;
+        this.key = key;
+        this.maxConcurrency = maxConcurrency;
+        this.resultsPerPage = resultsPerPage;
+        this.recursive = recursive;
+        this.pool = pool;
+    }
+
+    /**
+     *  Crawls the given directories, without blocking the calling thread.
+     *
+     *  @param  directories     the directories to crawl
+     *  @param  sink            the thread-safe consumer of the files found
+     *
+     *  @return     a {@link CompletableFuture} of the {@link CrawlResult}, which
+     *              is completed once every directory, and every file, has been
+     *              processed
+     *
+     *  @throws     NullPointerException    if directories or sink is null
+     */
+    public CompletableFuture<CrawlResult> crawl(Collection<String> directories, Consumer<? super FileRecord> sink)
+            throws NullPointerException {
+        if(directories==null)
+            throw new NullPointerException("The directories to crawl were missing");
+        if(sink==null)
+            throw new NullPointerException("The sink of the files was missing");
+        Crawl crawl = new Crawl(sink);
+        crawl.outstanding.incrementAndGet();                                   // Holds the crawl open while submitting
+        for(String directory : directories)
+            crawl.submit(directory);
+        crawl.release();
+        return crawl.result;
+    }
+
+    /**
+     *  Starts as many queued directories as the concurrency allows.
+     */
+    private void drain() {
+        while(!this.pending.isEmpty()) {
+            int current = this.active.get();
+            if(current>=this.maxConcurrency)
+                return;
+            if(!this.active.compareAndSet(current, current+1))
+                continue;
+            Runnable next = this.pending.poll();
+            if(next==null) {
+                this.active.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    /**
+     *  The state of a single crawl.
+     */
+    private class Crawl {
+
+        private final Consumer<? super FileRecord> sink;
+        private final CompletableFuture<CrawlResult> result = new CompletableFuture<CrawlResult>();
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+        private final Map<String, Throwable> failures = new ConcurrentHashMap<String, Throwable>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder files = new LongAdder();
+
+        private Crawl(Consumer<? super FileRecord> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         *  Queues the given directory, unless it has been crawled already.
+         */
+        private void submit(String directory) {
+            if(!this.seen.add(directory==null ? "" : directory))
+                return;
+            this.outstanding.incrementAndGet();
+            pending.add(() -> list(directory, ListPayload.PAGINATION_DEFAULTS, CONSUMED));
+            drain();
+        }
+
+        /**
+         *  Lists the given page of the given directory, then the next, until 
+         *  the last page has been listed. The next page is requested once the
+         *  given previous page has been consumed.
+         */
+        private void list(String directory, int page, CompletableFuture<Void> previous) {
+            CompletableFuture<ListResponse> future;
+            try {
+                future = client.listFilesAsync(new ListPayload(key, directory, page, resultsPerPage));
+            } catch(OutOfBoundsException oobex) {
+                future = CompletableFuture.failedFuture(oobex);
+            }
+            future.whenComplete((response, failure) -> {
+                if(failure!=null) {
+                    fail(directory, failure instanceof CompletionException && failure.getCause()!=null ? failure.getCause() : failure);
+                    return;
+                }
+                if(!response.isSuccessful()) {
+                    fail(directory, new IOException("Page "+page+" of "+directory+" could not be listed: "
+                        +response.getStatusCode()+" "+response.getErrors()));
+                    return;
+                }
+                this.pages.increment();
+                boolean lastPage = response.isLastPage(page, resultsPerPage);
+                this.outstanding.incrementAndGet();                             // Holds the crawl open while the sink runs
+                CompletableFuture<Void> consumed;
+                try {
+                    consumed = CompletableFuture.runAsync(() -> consume(directory, response), pool);
+                } catch(RejectedExecutionException reex) {
+                    release();
+                    fail(directory, reex);
+                    return;
+                }
+                if(lastPage) {
+                    active.decrementAndGet();
+                    release();
+                    drain();
+                } else {
+                    previous.whenComplete((done, error) -> list(directory, page+1, consumed));
+                }
+            });
+        }
+
+        /**
+         *  Hands the files of a page to the sink, leaving out those of
+         *  sub-directories unless the crawler is recursive.
+         */
+        private void consume(String directory, ListResponse response) {
+            try {
+                String listed = directory==null ? "" : directory;
+                for(FileRecord file : response.getFiles()) {
+                    if(!recursive && !listed.equals(file.getDirectory()==null ? "" : file.getDirectory()))
+                        continue;
+                    this.sink.accept(file);
+                    this.files.increment();
+                }
+            } catch(RuntimeException rex) {
+                this.failures.put(directory==null ? "" : directory, rex);
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         *  Records the failure of a directory, freeing its slot.
+         */
+        private void fail(String directory, Throwable failure) {
+            this.failures.put(directory==null ? "" : directory, failure);
+            active.decrementAndGet();
+            release();
+            drain();
+        }
+
+        /**
+         *  Releases a hold on the crawl, completing it once none remain.
+         */
+        private void release() {
+            if(this.outstanding.decrementAndGet()==0 && this.completed.compareAndSet(false, true))
+                this.result.complete(new CrawlResult(this.seen.size(), this.pages.sum(), this.files.sum(), 
+                    new HashMap<String, Throwable>(this.failures)));
+        }
+    }
+}
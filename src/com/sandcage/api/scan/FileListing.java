@@ -0,0 +1,101 @@
+package com.sandcage.api.scan;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.enumerate.ListPayload;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ *  Lists every file of a directory, paginating the list-files service lazily.
+ *  <p>
+ *  Pages are fetched only as the files are consumed, with the next page being
+ *  prefetched while the current one is consumed, so that a full scan of a large
+ *  directory is bounded by throughput rather than by the round-trip time of
+ *  each page. Short-circuiting operations (eg: {@link Stream#findFirst()} or
+ *  {@link Stream#limit(long)}) stop the paging.
+ *  <p>
+ *  Should a page fail to be listed, the traversal throws an 
+ *  {@link java.io.UncheckedIOException}.
+ *  <p>
+ *  <pre>
+ *  try(Stream&lt;FileRecord&gt; files = new FileListing(client, key, "images", 200).stream()) {
+ *      files.filter(...).forEach(...);
+ *  }
+ *  </pre>
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+ */
+public class FileListing implements Iterable<FileRecord> {
+
+    private final SandCageClient client;
+    private final String key;
+    private final String directory;
+    private final int resultsPerPage;
+
+
+    /**
+     *  Creates a {@link FileListing}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to list files
+     *  @param  key             the user's unique key
+     *  @param  directory       the directory to list, or null for the root
+     *  @param  resultsPerPage  the number of files to request per page
+     *
+     *  @throws     OutOfBoundsException    if the directory or the results per
+     *                                      page are not within permissible bounds
+     *  @throws     NullPointerException    if the client or key is null
+     */
+    public FileListing(SandCageClient client, String key, String directory, int resultsPerPage)
+            throws OutOfBoundsException, NullPointerException {
+        if(client==null)
+            throw new NullPointerException("The client was missing from the listing");
+        new ListPayload(key, directory, ListPayload.PAGINATION_DEFAULTS, resultsPerPage);  // Checks the parameters upfront
+        this.client = client;
+        this.key = key;
+        this.directory = directory;
+        this.resultsPerPage = resultsPerPage;
+    }
+
+    /**
+     *  A sequential {@link Stream} of the files. Closing the stream abandons any
+     *  prefetched page.
+     *
+     *  @return     a lazily paginated {@link Stream} of {@link FileRecord file records}
+     */
+    public Stream<FileRecord> stream() {
+        PageSpliterator spliterator = newSpliterator();
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     *  An {@link Iterator} over the files.
+     *
+     *  @return     a lazily paginated {@link Iterator} of {@link FileRecord file records}
+     */
+    @Override
+    public Iterator<FileRecord> iterator() {
+        return Spliterators.iterator(newSpliterator());
+    }
+
+    /**
+     *  A {@link Spliterator} over the files.
+     *
+     *  @return     a lazily paginated {@link Spliterator} of {@link FileRecord file records}
+     */
+    @Override
+    public Spliterator<FileRecord> spliterator() {
+        return newSpliterator();
+    }
+
+    private PageSpliterator newSpliterator() {
+        return new PageSpliterator(this.client, this.key, this.directory, this.resultsPerPage);
+    }
+}
@@ -0,0 +1,143 @@
+package com.sandcage.api.scan;
+
+import com.sandcage.api.SandCageClient;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.enumerate.ListPayload;
+import com.sandcage.api.service.enumerate.ListResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+
+/**
+ *  A {@link Spliterator} over the files of a directory, fetching the pages of
+ *  the list-files service lazily, one page ahead of the consumer.
+ *  <p>
+ *  The first page is requested upon the first advance. Whenever a page arrives,
+ *  and it is not the last, the next page is requested straight away, so that it
+ *  is (ideally) available by the time the consumer has worked through the 
+ *  current one. Should the consumer stop early, no page beyond the one already
+ *  prefetched is ever requested.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+ */
+class PageSpliterator implements Spliterator<FileRecord> {
+
+    private final SandCageClient client;
+    private final String key;
+    private final String directory;
+    private final int resultsPerPage;
+
+    private Iterator<FileRecord> current;
+    private CompletableFuture<ListResponse> prefetch;
+    private int page;
+    private boolean lastPage;
+    private long total = Long.MAX_VALUE;
+    private long consumed;
+
+
+    /**
+     *  Creates a {@link PageSpliterator}.
+     *
+     *  @param  client          the {@link SandCageClient} via which to list files
+     *  @param  key             the user's unique key
+     *  @param  directory       the directory to list, or null for the root
+     *  @param  resultsPerPage  the number of files to request per page
+     */
+    PageSpliterator(SandCageClient client, String key, String directory, int resultsPerPage) {
+        this.client = client;
+        this.key = key;
+        this.directory = directory;
+        this.resultsPerPage = resultsPerPage;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super FileRecord> action) {
+        while(this.current==null || !this.current.hasNext()) {
+            if(this.lastPage)
+                return false;
+            if(this.prefetch==null)
+                this.prefetch = fetch(this.page+1);
+            ListResponse response = await(this.prefetch);
+            this.page++;
+            this.prefetch = null;
+            if(response.getTotal()>0)
+                this.total = response.getTotal();
+            this.lastPage = response.isLastPage(this.page, this.resultsPerPage);
+            if(!this.lastPage)
+                this.prefetch = fetch(this.page+1);                             // Fetches page N+1 while page N is consumed
+            this.current = response.getFiles().iterator();
+        }
+        this.consumed++;
+        action.accept(this.current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<FileRecord> trySplit() {
+        return null;                                                            // Pages are fetched in sequence
+    }
+
+    /**
+     *  The number of files not yet consumed, as per the total reported by the
+     *  latest page; {@link Long#MAX_VALUE} until the first page has arrived.
+     */
+    @Override
+    public long estimateSize() {
+        if(this.lastPage && (this.current==null || !this.current.hasNext()))
+            return 0L;
+        if(this.total==Long.MAX_VALUE)
+            return this.total;
+        return Math.max(0L, this.total-this.consumed);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     *  Abandons the prefetched page, if any.
+     */
+    void close() {
+        if(this.prefetch!=null)
+            this.prefetch.cancel(false);
+        this.prefetch = null;
+        this.lastPage = true;
+    }
+
+    /**
+     *  Requests the given page.
+     */
+    private CompletableFuture<ListResponse> fetch(int page) {
+        try {
+            return this.client.listFilesAsync(new ListPayload(this.key, this.directory, page, this.resultsPerPage));
+        } catch(OutOfBoundsException oobex) {
+            return CompletableFuture.failedFuture(oobex);
+        }
+    }
+
+    /**
+     *  Waits for the given page, failing if it could not be listed.
+     */
+    private ListResponse await(CompletableFuture<ListResponse> future) {
+        ListResponse response;
+        try {
+            response = future.join();
+        } catch(CompletionException cex) {
+            Throwable cause = cex.getCause()!=null ? cex.getCause() : cex;
+            throw new UncheckedIOException(new IOException("Page "+(this.page+1)+" of the files could not be listed", cause));
+        }
+        if(!response.isSuccessful())
+            throw new UncheckedIOException(new IOException("Page "+(this.page+1)+" of the files could not be listed: "
+                +response.getStatusCode()+" "+response.getErrors()));
+        return response;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sandcage.api.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+
+
+/**
+ *  Represents a file-asset record, as reported by the SandCage API in the
+ *  response of any of its services.
+ *  <p>
+ *  Which of the members are present depends on the service, and on the state
+ *  of the file: fields which were not reported are null (or zero).
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class FileRecord {
+
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_PROCESSING = "processing";
+    private static final String STATUS_QUEUED = "queued";
+
+    private String fileToken;
+    private String referenceId;
+    private String requestId;
+    private String status;
+    private String cdnUrl;
+    private String directory;
+    private String filename;
+    private String type;
+    private String action;
+    private long size;
+    private int width;
+    private int height;
+
+
+    /**
+     *  Creates an empty {@link FileRecord}.
+     */
+    public FileRecord() {
+    }
+
+    /**
+     *  Reads a {@link FileRecord} from the given parser, positioned on the start
+     *  of the record. Unknown fields are skipped.
+     *
+     *  @param  parser      the parser of the response body
+     *
+     *  @return     the {@link FileRecord}; the parser is left on its end
+     *
+     *  @throws     IOException     if the record could not be read
+     */
+    public static FileRecord read(JsonParser parser)
+            throws IOException {
+        FileRecord record = new FileRecord();
+        while(parser.nextToken()==JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if(value==JsonToken.START_OBJECT || value==JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch(field) {
+                case "file_token":      record.fileToken = parser.getValueAsString();   break;
+                case "reference_id":    record.referenceId = parser.getValueAsString(); break;
+                case "request_id":      record.requestId = parser.getValueAsString();   break;
+                case "status":          record.status = parser.getValueAsString();      break;
+                case "cdn_url":         record.cdnUrl = parser.getValueAsString();      break;
+                case "directory":       record.directory = parser.getValueAsString();   break;
+                case "name":
+                case "filename":        record.filename = parser.getValueAsString();    break;
+                case "type":            record.type = parser.getValueAsString();        break;
+                case "actions":
+                case "action":          record.action = parser.getValueAsString();      break;
+                case "size":            record.size = parser.getValueAsLong();          break;
+                case "width":           record.width = parser.getValueAsInt();          break;
+                case "height":          record.height = parser.getValueAsInt();         break;
+                default:                                                                break;
+            }
+        }
+        return record;
+    }
+
+    /**
+     *  The file_token of the file.
+     *
+     *  @return     the file_token, if any
+     */
+    public String getFileToken() {
+        return this.fileToken;
+    }
+
+    /**
+     *  The reference identifier of the file.
+     *
+     *  @return     the reference_id, if any
+     */
+    public String getReferenceId() {
+        return this.referenceId;
+    }
+
+    /**
+     *  The request identifier with which the file was scheduled.
+     *
+     *  @return     the request_id, if any
+     */
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     *  The status of the file, or of the operation upon it.
+     *
+     *  @return     the status, if any
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     *  Whether the file is still being processed, ie: its state is about to
+     *  change.
+     *
+     *  @return     <tt>true</tt> if the file is pending, processing or queued,
+     *              else <tt>false</tt>
+     */
+    public boolean isPending() {
+        return STATUS_PENDING.equalsIgnoreCase(this.status) || STATUS_PROCESSING.equalsIgnoreCase(this.status)
+            || STATUS_QUEUED.equalsIgnoreCase(this.status);
+    }
+
+    /**
+     *  The CDN URL at which the file is served.
+     *
+     *  @return     the CDN URL, if any
+     */
+    public String getCdnUrl() {
+        return this.cdnUrl;
+    }
+
+    /**
+     *  The directory in which the file resides.
+     *
+     *  @return     the directory, if any
+     */
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     *  The name of the file.
+     *
+     *  @return     the filename, if any
+     */
+    public String getFilename() {
+        return this.filename;
+    }
+
+    /**
+     *  The (MIME) type of the file.
+     *
+     *  @return     the type, if any
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     *  The {@link com.sandcage.api.service.put.Task action} which generated the
+     *  file.
+     *
+     *  @return     the action, if any
+     */
+    public String getAction() {
+        return this.action;
+    }
+
+    /**
+     *  The size of the file.
+     *
+     *  @return     the size in bytes, or zero if not reported
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     *  The width of the image.
+     *
+     *  @return     the width, or zero if not reported
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     *  The height of the image.
+     *
+     *  @return     the height, or zero if not reported
+     */
+    public int getHeight() {
+        return this.height;
+    }
+}
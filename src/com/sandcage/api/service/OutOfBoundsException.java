@@ -32,4 +32,16 @@ public class OutOfBoundsException extends Exception {
     public OutOfBoundsException(String fields, String values, String range) {
         super("The value(s) [ "+values+" ] provided for field(s) [ "+fields+" ] was/were out of bounds [ "+range+" ]");
     }
+
+    /**
+     *  Creates an {@link OutOfBoundsException} whose message is provided by the
+     *  specialization, eg: only once it is read.
+     * 
+     *  @param  writableStackTrace  whether the stack trace is filled in; which,
+     *                              for failures which are reported rather than
+     *                              debugged, is best avoided
+     */
+    protected OutOfBoundsException(boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 
 package com.sandcage.api.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 
 /**
  *  Represents a SandCage API request payload.
@@ -37,4 +39,15 @@ public abstract class Payload {
     public String getKey() {
         return this.key;
     }
+
+    /**
+     *  The number of jobs, or files, carried by this {@link Payload}; it is not
+     *  sent to the SandCage API.
+     * 
+     *  @return     the number of jobs, or files, if any
+     */
+    @JsonIgnore
+    public int getItemCount() {
+        return 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.sandcage.api.service;
+
+
+/**
+ *  Represents the per-request limits of a SandCage API plan.
+ *  <p>
+ *  The limits of the free and paid plans are provided as {@link #FREE} and
+ *  {@link #PAID}; should your account be subject to different limits, create
+ *  a {@link Plan} of your own.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class Plan {
+
+    private static final int MIN_VALUE = 1;
+
+    public static final Plan FREE = of(10, 100, 10);
+    public static final Plan PAID = of(1000, 10000, 1000);
+
+    // SERVICE schedule-tasks: FREE PLANS: 1..10 JOBS/REQUEST; PAID PLANS: 1..1000 JOBS/REQUEST
+    private final int maxJobs;
+    // SERVICE get-info: FREE PLANS: 1..100 FILES/REQUEST; PAID PLANS: 1..10000 FILES/REQUEST
+    private final int maxInfoFiles;
+    // SERVICE destroy-files: FREE PLANS: 1..10 FILES/REQUEST; PAID PLANS: 1..1000 FILES/REQUEST
+    private final int maxDestroyFiles;
+
+
+    /**
+     *  Creates a {@link Plan}.
+     *
+     *  @param  maxJobs         the maximum number of jobs per schedule-tasks request
+     *  @param  maxInfoFiles    the maximum number of files per get-info request
+     *  @param  maxDestroyFiles the maximum number of files per destroy-files request
+     *
+     *  @throws OutOfBoundsException    if any limit is less than one
+     */
+    public Plan(int maxJobs, int maxInfoFiles, int maxDestroyFiles)
+            throws OutOfBoundsException {
+        if(maxJobs<MIN_VALUE || maxInfoFiles<MIN_VALUE || maxDestroyFiles<MIN_VALUE)
+            throw new OutOfBoundsException("maxJobs,maxInfoFiles,maxDestroyFiles", maxJobs+","+maxInfoFiles+","+maxDestroyFiles, 
+                "EACH LIMIT->(>="+MIN_VALUE+")==false");
+        this.maxJobs = maxJobs;
+        this.maxInfoFiles = maxInfoFiles;
+        this.maxDestroyFiles = maxDestroyFiles;
+    }
+
+    /**
+     *  The maximum number of jobs per schedule-tasks request.
+     *
+     *  @return     the maximum number of jobs
+     */
+    public int getMaxJobs() {
+        return this.maxJobs;
+    }
+
+    /**
+     *  The maximum number of files per get-info request.
+     *
+     *  @return     the maximum number of files
+     */
+    public int getMaxInfoFiles() {
+        return this.maxInfoFiles;
+    }
+
+    /**
+     *  The maximum number of files per destroy-files request.
+     *
+     *  @return     the maximum number of files
+     */
+    public int getMaxDestroyFiles() {
+        return this.maxDestroyFiles;
+    }
+
+    /**
+     *  Creates one of the predefined {@link Plan plans}, whose limits are known
+     *  to be within bounds.
+     */
+    private static Plan of(int maxJobs, int maxInfoFiles, int maxDestroyFiles) {
+        try {
+            return new Plan(maxJobs, maxInfoFiles, maxDestroyFiles);
+        } catch(OutOfBoundsException oobex) {
+            throw new IllegalStateException(oobex);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sandcage.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ *  Represents a SandCage API response, as returned for a dispatched {@link Payload}.
+ *  <p>
+ *  Responses are read incrementally, field by field, from a streaming JSON
+ *  parser: the response body is never held in memory as a whole. Fields which 
+ *  are common to all services (ie: status and error_msg) are read herein, all
+ *  others are handed to the specialization via {@link #readField(String, JsonParser)}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class Response {
+
+    private static final int HTTP_OK = 200;
+
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_ERROR_MSG = "error_msg";
+    private static final String STATUS_SUCCESS = "success";
+
+    private int statusCode;
+    private String status;
+    private ArrayList<String> errors = new ArrayList<String>();
+
+
+    /**
+     *  Creates a {@link Response}, to be {@link #read(int, JsonParser) read}.
+     */
+    public Response() {
+    }
+
+    /**
+     *  Creates a {@link Response} which has not been read from the SandCage API,
+     *  eg: one served from a cache.
+     *
+     *  @param  statusCode  the HTTP status code
+     *  @param  status      the status (ie: success or error), if any
+     */
+    protected Response(int statusCode, String status) {
+        this.statusCode = statusCode;
+        this.status = status;
+    }
+
+    /**
+     *  Reads the {@link Response} from the given parser, positioned before the
+     *  start of the response body.
+     *
+     *  @param  statusCode  the HTTP status code returned by the SandCage API
+     *  @param  parser      the parser of the response body
+     *
+     *  @throws     IOException     if the response body could not be read or
+     *                              is not a JSON object
+     */
+    public final void read(int statusCode, JsonParser parser)
+            throws IOException {
+        this.statusCode = statusCode;
+        JsonToken token = parser.nextToken();
+        if(token==null)
+            return;                                                             // Empty response body
+        if(token!=JsonToken.START_OBJECT)
+            throw new JsonParseException(parser, "The response body was not a JSON object");
+        while(parser.nextToken()==JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if(FIELD_STATUS.equals(field))
+                this.status = parser.getValueAsString();
+            else if(FIELD_ERROR_MSG.equals(field))
+                readErrors(parser);
+            else if(!readField(field, parser))
+                parser.skipChildren();
+        }
+    }
+
+    /**
+     *  Reads a service-specific field. The parser is positioned on the value of
+     *  the field; if the value is read, the parser must be left on its last token.
+     *
+     *  @param  field       the name of the field
+     *  @param  parser      the parser of the response body
+     *
+     *  @return     <tt>true</tt> if the value was read, else <tt>false</tt> for
+     *              it to be skipped
+     *
+     *  @throws     IOException     if the value could not be read
+     */
+    protected boolean readField(String field, JsonParser parser)
+            throws IOException {
+        return false;
+    }
+
+    /**
+     *  Reads an array of file records, handing each to the given consumer as
+     *  soon as it has been read.
+     *
+     *  @param  parser      the parser of the response body, positioned on the
+     *                      start of the array
+     *  @param  consumer    the consumer of the {@link FileRecord file records}
+     *
+     *  @throws     IOException     if a record could not be read
+     */
+    protected static void readRecords(JsonParser parser, Consumer<? super FileRecord> consumer)
+            throws IOException {
+        if(parser.currentToken()!=JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while((token=parser.nextToken())!=JsonToken.END_ARRAY && token!=null)
+            if(token==JsonToken.START_OBJECT)
+                consumer.accept(FileRecord.read(parser));
+            else
+                parser.skipChildren();
+    }
+
+    /**
+     *  Reads the error message, or messages, returned by the SandCage API.
+     *
+     *  @param  parser      the parser of the response body
+     *
+     *  @throws     IOException     if the messages could not be read
+     */
+    private void readErrors(JsonParser parser)
+            throws IOException {
+        if(parser.currentToken()==JsonToken.START_ARRAY) {
+            JsonToken token;
+            while((token=parser.nextToken())!=JsonToken.END_ARRAY && token!=null)
+                if(token.isScalarValue())
+                    this.errors.add(parser.getValueAsString());
+                else
+                    parser.skipChildren();
+        } else if(parser.currentToken().isScalarValue()) {
+            this.errors.add(parser.getValueAsString());
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     *  Whether any part of this {@link Response} has been handed on as it was
+     *  read, eg: a {@link FileRecord} to a consumer, so that, should the read
+     *  fail midway, it may not be read anew without handing that part on twice.
+     *
+     *  @return     <tt>true</tt> if any part was handed on, else <tt>false</tt>
+     */
+    public boolean isStreamed() {
+        return false;
+    }
+
+    /**
+     *  The HTTP status code returned by the SandCage API.
+     *
+     *  @return     the HTTP status code
+     */
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    /**
+     *  The status reported by the SandCage API (ie: success or error), if any.
+     *
+     *  @return     the status, if any
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     *  The error messages reported by the SandCage API, if any.
+     *
+     *  @return     the error messages, if any
+     */
+    public List<String> getErrors() {
+        return this.errors;
+    }
+
+    /**
+     *  Whether the request was accepted by the SandCage API.
+     *
+     *  @return     <tt>true</tt> if the SandCage API responded with HTTP 200,
+     *              and did not report an error, else <tt>false</tt>
+     */
+    public boolean isSuccessful() {
+        return this.statusCode==HTTP_OK && (this.status==null || STATUS_SUCCESS.equals(this.status));
+    }
+}
@@ -2,9 +2,11 @@
 package com.sandcage.api.service.delete;
 
 import com.sandcage.api.service.File;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Plan;
 import java.util.ArrayList;
 
 
@@ -18,8 +20,6 @@ import java.util.ArrayList;
 public class DestroyPayload extends Payload {
 
     private static final int MIN_FILES = 1;
-    private static final int MAX_FILES_FREEPLAN = 10;
-    private static final int MAX_FILES_PAIDPLAN = 1000;
     private static final int MIN_CALLBACK_URL_LEN = 4;
     private static final int MAX_CALLBACK_URL_LEN = 1000;
 
@@ -41,9 +41,7 @@ public class DestroyPayload extends Payload {
      */
     public DestroyPayload(String key, ArrayList<File> files) 
             throws OutOfBoundsException, NullPointerException {
-        super(key);
-        checkPreconditions(files, null);
-        this.files = files;
+        this(key, files, null, Plan.FREE);
     }
 
     /**
@@ -59,8 +57,26 @@ public class DestroyPayload extends Payload {
      */
     public DestroyPayload(String key, ArrayList<File> files, String callbackUrl) 
             throws OutOfBoundsException, NullPointerException {
+        this(key, files, callbackUrl, Plan.FREE);
+    }
+
+    /**
+     *  Creates a {@link DestroyPayload}, whose number of files is bounded by
+     *  the given {@link Plan}.
+     *  
+     *  @param      key             the user's unique key
+     *  @param      files           the files associated with this {@link DestroyPayload}
+     *  @param      callbackUrl     the URL to use for the API callback, if any
+     *  @param      plan            the {@link Plan} under which you operate
+     * 
+     *  @throws     OutOfBoundsException    if any value is outside permissible
+     *                                      bounds
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public DestroyPayload(String key, ArrayList<File> files, String callbackUrl, Plan plan) 
+            throws OutOfBoundsException, NullPointerException {
         super(key);
-        checkPreconditions(files, callbackUrl);
+        checkPreconditions(files, callbackUrl, plan);
         this.files = files;
         if(callbackUrl!=null)
             this.callbackUrl = callbackUrl;
@@ -71,19 +87,22 @@ public class DestroyPayload extends Payload {
      * 
      *  @param      files           the files associated with this {@link DestroyPayload}
      *  @param      callbackUrl     the URL to use for the API callback, if any
+     *  @param      plan            the {@link Plan} under which you operate
      * 
      *  @throws     OutOfBoundsException    if the number of files or callbackUrl
      *                                      length does not meet the spec
-     *  @throws     NullPointerException    if files is null
+     *  @throws     NullPointerException    if files or plan is null
      */
-    private void checkPreconditions(ArrayList<File> files, String callbackUrl)  
+    private void checkPreconditions(ArrayList<File> files, String callbackUrl, Plan plan)  
             throws OutOfBoundsException, NullPointerException {
         if(files==null)
             throw new NullPointerException("The file, or set thereof, to delete was missing from the request");
-        // ASSUME YOU ARE OPERATING UNDER A FREE PLAN: AMEND CONSTANTS IF OTHERWISE
-        if(files!=null && (files.size()<MIN_FILES || files.size()>MAX_FILES_FREEPLAN))
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the request");
+        // UNLESS A PLAN IS GIVEN, ASSUME YOU ARE OPERATING UNDER A FREE PLAN
+        if(files.size()<MIN_FILES || files.size()>plan.getMaxDestroyFiles())
             throw new OutOfBoundsException("files", String.valueOf(files.size())+" entries", 
-                "NUMBER OF FILES->("+MIN_FILES+"<="+files.size()+"<="+MAX_FILES_FREEPLAN+")=="+(files.size()<MIN_FILES||files.size()>MAX_FILES_FREEPLAN));
+                "NUMBER OF FILES->("+MIN_FILES+"<="+files.size()+"<="+plan.getMaxDestroyFiles()+")==false");
         if(callbackUrl!=null && (callbackUrl.length()<MIN_CALLBACK_URL_LEN || callbackUrl.length()>MAX_CALLBACK_URL_LEN))
             throw new OutOfBoundsException("callbackUrl", callbackUrl, 
                 "LENGTH->("+MIN_CALLBACK_URL_LEN+"<="+callbackUrl.length()+"<="+MAX_CALLBACK_URL_LEN+")==false");
@@ -100,6 +119,18 @@ public class DestroyPayload extends Payload {
         return this.files;
     }
 
+    /**
+     *  The number of files carried by this {@link DestroyPayload}; it is not sent to the
+     *  SandCage API.
+     *  
+     *  @return     the number of files
+     */
+    @JsonIgnore
+    @Override
+    public int getItemCount() {
+        return this.files!=null ? this.files.size() : 0;
+    }
+
     /**
      *  The URL at which to send {@link Task} state, if any.
      *  
@@ -0,0 +1,43 @@
+package com.sandcage.api.service.delete;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ *  Implements the {@link Response} associated with the destroy-files service.
+ * 
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/destroy_files">destroy-files docs</a>
+ */
+public class DestroyResponse extends Response {
+
+    private static final String FIELD_FILES = "files";
+    private static final String FIELD_RESULTS = "results";
+
+    private ArrayList<FileRecord> files = new ArrayList<FileRecord>();
+
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) 
+            throws IOException {
+        if(!FIELD_FILES.equals(field) && !FIELD_RESULTS.equals(field))
+            return false;
+        readRecords(parser, this.files::add);
+        return true;
+    }
+
+    /**
+     *  The outcome, per file, of the destroy-files request.
+     *  
+     *  @return     the {@link FileRecord file records}, each with its status
+     */
+    public List<FileRecord> getFiles() {
+        return this.files;
+    }
+}
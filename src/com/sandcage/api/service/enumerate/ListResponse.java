@@ -0,0 +1,171 @@
+package com.sandcage.api.service.enumerate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ *  Implements the {@link Response} associated with the list-files service, ie: 
+ *  a single page of files.
+ *  <p>
+ *  By default every {@link FileRecord} is retained, and available via 
+ *  {@link #getFiles()}. Alternatively, each {@link FileRecord} may be handed to
+ *  a consumer as soon as it has been read, so that memory use is proportional 
+ *  to a single record rather than to the whole page.
+ * 
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/list_files">list-files docs</a>
+ */
+public class ListResponse extends Response {
+
+    private static final String FIELD_FILES = "files";
+    private static final String FIELD_PAGE = "page";
+    private static final String FIELD_PAGES = "pages";
+    private static final String FIELD_RESULTS_PER_PAGE = "results_per_page";
+    private static final String FIELD_TOTAL = "total";
+
+    private ArrayList<FileRecord> files = new ArrayList<FileRecord>();
+    private Consumer<? super FileRecord> consumer;
+    private volatile boolean streamed;
+    private int count;
+    private int page;
+    private int pages;
+    private int resultsPerPage;
+    private long total;
+
+
+    /**
+     *  Creates a {@link ListResponse} which retains every {@link FileRecord}.
+     */
+    public ListResponse() {
+        this.consumer = this.files::add;
+    }
+
+    /**
+     *  Creates a {@link ListResponse} which hands every {@link FileRecord} to
+     *  the given consumer, rather than retaining it.
+     * 
+     *  @param  consumer    the consumer of the {@link FileRecord file records}
+     * 
+     *  @throws NullPointerException    if the consumer is null
+     */
+    public ListResponse(Consumer<? super FileRecord> consumer) 
+            throws NullPointerException {
+        if(consumer==null)
+            throw new NullPointerException("The consumer of the file records was missing");
+        this.consumer = record -> {
+            this.streamed = true;
+            consumer.accept(record);
+        };
+    }
+
+    @Override
+    public boolean isStreamed() {
+        return this.streamed;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) 
+            throws IOException {
+        if(FIELD_FILES.equals(field)) {
+            readRecords(parser, record -> {
+                this.count++;
+                this.consumer.accept(record);
+            });
+            return true;
+        }
+        if(!parser.currentToken().isNumeric())
+            return false;
+        if(FIELD_PAGE.equals(field))
+            this.page = parser.getValueAsInt();
+        else if(FIELD_PAGES.equals(field))
+            this.pages = parser.getValueAsInt();
+        else if(FIELD_RESULTS_PER_PAGE.equals(field))
+            this.resultsPerPage = parser.getValueAsInt();
+        else if(FIELD_TOTAL.equals(field))
+            this.total = parser.getValueAsLong();
+        else
+            return false;
+        return true;
+    }
+
+    /**
+     *  Whether this is the last page of the listing. Unless the SandCage API
+     *  reports the number of pages, an empty or partially filled page is taken
+     *  to be the last.
+     *  
+     *  @param  page            the number of the requested page
+     *  @param  resultsPerPage  the requested number of results per page
+     *  
+     *  @return     <tt>true</tt> if there are no further pages, else <tt>false</tt>
+     */
+    public boolean isLastPage(int page, int resultsPerPage) {
+        if(this.count==0)
+            return true;
+        if(this.pages>0)
+            return page>=this.pages;
+        return this.count<resultsPerPage;
+    }
+
+    /**
+     *  The {@link FileRecord file records} of this page, unless these were 
+     *  handed to a consumer.
+     *  
+     *  @return     the {@link FileRecord file records}
+     */
+    public List<FileRecord> getFiles() {
+        return this.files;
+    }
+
+    /**
+     *  The number of {@link FileRecord file records} read from this page, 
+     *  whether retained or handed to a consumer.
+     *  
+     *  @return     the number of file records on this page
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     *  The page number, as reported by the SandCage API.
+     *  
+     *  @return     the page number, or zero if not reported
+     */
+    public int getPage() {
+        return this.page;
+    }
+
+    /**
+     *  The total number of pages, as reported by the SandCage API.
+     *  
+     *  @return     the number of pages, or zero if not reported
+     */
+    public int getPages() {
+        return this.pages;
+    }
+
+    /**
+     *  The number of results per page, as reported by the SandCage API.
+     *  
+     *  @return     the results per page, or zero if not reported
+     */
+    public int getResultsPerPage() {
+        return this.resultsPerPage;
+    }
+
+    /**
+     *  The total number of files, as reported by the SandCage API.
+     *  
+     *  @return     the total number of files, or zero if not reported
+     */
+    public long getTotal() {
+        return this.total;
+    }
+}
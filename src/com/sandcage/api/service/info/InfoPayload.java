@@ -2,9 +2,11 @@
 package com.sandcage.api.service.info;
 
 import com.sandcage.api.service.File;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Plan;
 import java.util.ArrayList;
 
 
@@ -20,8 +22,6 @@ public class InfoPayload extends Payload {
     private static final int MIN_REQID_LEN = 10;
     private static final int MAX_REQID_LEN = 100;
     private static final int MIN_FILES = 1;
-    private static final int MAX_FILES_FREEPLAN = 100;
-    private static final int MAX_FILES_PAIDPLAN = 10000;
 
     // CONDITIONAL: EITHER A requestId OR A set of files MUST BE PRESENT IN THE 
     //              REQUEST; IF BOTH ARE PROVIDED, THEN THE API WILL ONLY FACTOR
@@ -31,6 +31,8 @@ public class InfoPayload extends Payload {
     private String requestId;
     // CONDITIONAL; CONDITIONS -> LENGTH: 1..1000
     private ArrayList<File> files;
+    // NOT SENT; BOUNDS THE NUMBER OF FILES
+    private Plan plan;
 
 
     /**
@@ -47,12 +49,32 @@ public class InfoPayload extends Payload {
      */
     public InfoPayload(String key, String requestId, ArrayList<File> files) 
             throws OutOfBoundsException, NullPointerException {
+        this(key, requestId, files, Plan.FREE);
+    }
+
+    /**
+     *  Creates an {@link InfoPayload}, whose number of files is bounded by the
+     *  given {@link Plan}.
+     *  
+     *  @param      key             the user's unique key
+     *  @param      requestId       the request_id associated with this {@link InfoPayload}
+     *  @param      files           the files associated with this {@link InfoPayload}
+     *  @param      plan            the {@link Plan} under which you operate
+     * 
+     *  @throws     OutOfBoundsException    if any conditional value is outside
+     *                                      permissible bounds
+     *  @throws     NullPointerException    if any required combination or value 
+     *                                      is null
+     */
+    public InfoPayload(String key, String requestId, ArrayList<File> files, Plan plan) 
+            throws OutOfBoundsException, NullPointerException {
         super(key);
-        checkPreconditions(requestId, files);
+        checkPreconditions(requestId, files, plan);
         if(requestId!=null)
             this.requestId = requestId;
         if(files!=null)
             this.files = files;
+        this.plan = plan;
     }
 
     /**
@@ -60,22 +82,25 @@ public class InfoPayload extends Payload {
      * 
      *  @param      requestId       the request_id associated with this {@link InfoPayload}
      *  @param      files           the files associated with this {@link InfoPayload}
+     *  @param      plan            the {@link Plan} under which you operate
      * 
      *  @throws     OutOfBoundsException    if the request_id length or number of
      *                                      files is outside permissible bounds
-     *  @throws     NullPointerException    if no input is provided
+     *  @throws     NullPointerException    if no input, or no plan, is provided
      */
-    private void checkPreconditions(String requestId, ArrayList<File> files)  
+    private void checkPreconditions(String requestId, ArrayList<File> files, Plan plan)  
             throws OutOfBoundsException, NullPointerException {
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the request");
         if(requestId==null && files==null)
             throw new NullPointerException("Neither a request_id nor a set of desired files was provided in the request");
         if(requestId==null && files.size()==0)
             throw new OutOfBoundsException("files", String.valueOf(files.size())+" entries", "NUMBER OF FILES->("+files.size()+"==0)=="+(files.size()==0));
         if(requestId!=null && (requestId.length()<MIN_REQID_LEN || requestId.length()>MAX_REQID_LEN))
             throw new OutOfBoundsException("request_id", requestId, "LENGTH->("+MIN_REQID_LEN+"<"+requestId.length()+"<"+MAX_REQID_LEN+")=="+(requestId.length()<MIN_REQID_LEN||requestId.length()>MAX_REQID_LEN));
-        // ASSUME YOU ARE OPERATING UNDER A FREE PLAN: AMEND CONSTANTS IF OTHERWISE
-        if(files!=null && (files.size()<MIN_FILES || files.size()>MAX_FILES_FREEPLAN))
-            throw new OutOfBoundsException("files", String.valueOf(files.size())+" entries", "NUMBER OF FILES->("+MIN_FILES+"<="+files.size()+"<="+MAX_FILES_FREEPLAN+")=="+(files.size()<MIN_FILES||files.size()>MAX_FILES_FREEPLAN));
+        // UNLESS A PLAN IS GIVEN, ASSUME YOU ARE OPERATING UNDER A FREE PLAN
+        if(files!=null && (files.size()<MIN_FILES || files.size()>plan.getMaxInfoFiles()))
+            throw new OutOfBoundsException("files", String.valueOf(files.size())+" entries", "NUMBER OF FILES->("+MIN_FILES+"<="+files.size()+"<="+plan.getMaxInfoFiles()+")=="+(files.size()<MIN_FILES||files.size()>plan.getMaxInfoFiles()));
     }
 
     /**
@@ -97,4 +122,27 @@ public class InfoPayload extends Payload {
     public ArrayList<File> getFiles() {
         return this.files;
     }
+
+    /**
+     *  The number of files carried by this {@link InfoPayload}; it is not sent to the
+     *  SandCage API.
+     *  
+     *  @return     the number of files
+     */
+    @JsonIgnore
+    @Override
+    public int getItemCount() {
+        return this.files!=null ? this.files.size() : 0;
+    }
+
+    /**
+     *  The {@link Plan} which bounds the number of files of this {@link InfoPayload};
+     *  it is not sent to the SandCage API.
+     *  
+     *  @return     the {@link Plan}
+     */
+    @JsonIgnore
+    public Plan getPlan() {
+        return this.plan;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.sandcage.api.service.info;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ *  Implements the {@link Response} associated with the get-info service.
+ *  <p>
+ *  By default every {@link FileRecord} is retained, and available via 
+ *  {@link #getFiles()}. Alternatively, each {@link FileRecord} may be handed to
+ *  a consumer as soon as it has been read, so that memory use is proportional 
+ *  to a single record rather than to the whole response.
+ * 
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/get_info">get-info docs</a>
+ */
+public class InfoResponse extends Response {
+
+    private static final String FIELD_FILES = "files";
+
+    private ArrayList<FileRecord> files = new ArrayList<FileRecord>();
+    private Consumer<? super FileRecord> consumer;
+    private volatile boolean streamed;
+
+
+    /**
+     *  Creates an {@link InfoResponse} which retains every {@link FileRecord}.
+     */
+    public InfoResponse() {
+        this.consumer = this.files::add;
+    }
+
+    /**
+     *  Creates an {@link InfoResponse} which hands every {@link FileRecord} to
+     *  the given consumer, rather than retaining it.
+     * 
+     *  @param  consumer    the consumer of the {@link FileRecord file records}
+     * 
+     *  @throws NullPointerException    if the consumer is null
+     */
+    public InfoResponse(Consumer<? super FileRecord> consumer) 
+            throws NullPointerException {
+        if(consumer==null)
+            throw new NullPointerException("The consumer of the file records was missing");
+        this.consumer = record -> {
+            this.streamed = true;
+            consumer.accept(record);
+        };
+    }
+
+    @Override
+    public boolean isStreamed() {
+        return this.streamed;
+    }
+
+    /**
+     *  Creates an {@link InfoResponse} of the given {@link FileRecord file records},
+     *  which has not been read from the SandCage API, eg: one served from a cache.
+     * 
+     *  @param  statusCode  the HTTP status code
+     *  @param  status      the status (ie: success or error), if any
+     *  @param  files       the {@link FileRecord file records}
+     * 
+     *  @throws NullPointerException    if the file records are null
+     */
+    public InfoResponse(int statusCode, String status, List<FileRecord> files) 
+            throws NullPointerException {
+        super(statusCode, status);
+        if(files==null)
+            throw new NullPointerException("The file records were missing");
+        this.files.addAll(files);
+        this.consumer = this.files::add;
+    }
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) 
+            throws IOException {
+        if(!FIELD_FILES.equals(field))
+            return false;
+        readRecords(parser, this.consumer);
+        return true;
+    }
+
+    /**
+     *  The {@link FileRecord file records} reported by the SandCage API, unless
+     *  these were handed to a consumer.
+     *  
+     *  @return     the {@link FileRecord file records}
+     */
+    public List<FileRecord> getFiles() {
+        return this.files;
+    }
+}
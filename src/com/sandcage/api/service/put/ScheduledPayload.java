@@ -1,9 +1,11 @@
 
 package com.sandcage.api.service.put;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.Payload;
+import com.sandcage.api.service.Plan;
 import java.util.ArrayList;
 
 
@@ -16,10 +18,7 @@ import java.util.ArrayList;
  */
 public class ScheduledPayload extends Payload {
 
-    private static final int MIN_JOBS_FREEPLAN = 1;
-    private static final int MAX_JOBS_FREEPLAN = 10;
-    private static final int MIN_JOBS_PAIDPLAN = 1;
-    private static final int MAX_JOBS_PAIDPLAN = 1000;
+    private static final int MIN_JOBS = 1;
     private static final int MIN_CALLBACK_URL_LEN = 4;
     private static final int MAX_CALLBACK_URL_LEN = 1000;
 
@@ -43,7 +42,7 @@ public class ScheduledPayload extends Payload {
     public ScheduledPayload(String key, ArrayList<Job> jobs) 
             throws OutOfBoundsException, NullPointerException {
         super(key);
-        checkPreconditions(jobs, null);
+        checkPreconditions(jobs, null, Plan.FREE);
         this.jobs = jobs;
     }
 
@@ -61,8 +60,27 @@ public class ScheduledPayload extends Payload {
      */
     public ScheduledPayload(String key, ArrayList<Job> jobs, String callbackUrl) 
             throws OutOfBoundsException {
+        this(key, jobs, callbackUrl, Plan.FREE);
+    }
+
+    /**
+     *  Creates a {@link ScheduledPayload}, whose number of jobs is bounded by
+     *  the given {@link Plan}.
+     *  
+     *  @param      key             the user's unique key
+     *  @param      jobs            the {@link Job jobs} associated with the 
+     *                              {@link ScheduledPayload}
+     *  @param      callbackUrl     the URL to use for the API callback, if any
+     *  @param      plan            the {@link Plan} under which you operate
+     * 
+     *  @throws     OutOfBoundsException    if the number of jobs is not within
+     *                                      the permissible threshold
+     *  @throws     NullPointerException    if any required value is null
+     */
+    public ScheduledPayload(String key, ArrayList<Job> jobs, String callbackUrl, Plan plan) 
+            throws OutOfBoundsException, NullPointerException {
         super(key);
-        checkPreconditions(jobs, callbackUrl);
+        checkPreconditions(jobs, callbackUrl, plan);
         this.jobs = jobs;
         if(callbackUrl!=null)
             this.callbackUrl = callbackUrl;
@@ -73,19 +91,22 @@ public class ScheduledPayload extends Payload {
      * 
      *  @param  jobs        the {@link Job jobs} associated with the {@link ScheduledPayload}
      *  @param  callbackUrl the URL to use for the API callback
+     *  @param  plan        the {@link Plan} under which you operate
      * 
      *  @throws     OutOfBoundsException    if the number of jobs is not within
      *                                      the permissible threshold
-     *  @throws     NullPointerException    if jobs is null
+     *  @throws     NullPointerException    if jobs or plan is null
      */
-    private void checkPreconditions(ArrayList<Job> jobs, String callbackUrl)  
+    private void checkPreconditions(ArrayList<Job> jobs, String callbackUrl, Plan plan)  
             throws OutOfBoundsException {
         if(jobs==null)
             throw new NullPointerException("Mandatory field [ jobs ] was missing from the request");
-        // ASSUME YOU ARE OPERATING UNDER A FREE PLAN: AMEND CONSTANTS IF OTHERWISE
-        if(jobs.size()<MIN_JOBS_FREEPLAN || jobs.size()>MAX_JOBS_FREEPLAN)
+        if(plan==null)
+            throw new NullPointerException("The plan was missing from the request");
+        // UNLESS A PLAN IS GIVEN, ASSUME YOU ARE OPERATING UNDER A FREE PLAN
+        if(jobs.size()<MIN_JOBS || jobs.size()>plan.getMaxJobs())
             throw new OutOfBoundsException("jobs", String.valueOf(jobs.size())+" entries", 
-                "NUMBER OF JOBS->("+MIN_JOBS_FREEPLAN+"<="+jobs.size()+"<="+MAX_JOBS_FREEPLAN+")==false");
+                "NUMBER OF JOBS->("+MIN_JOBS+"<="+jobs.size()+"<="+plan.getMaxJobs()+")==false");
         if(callbackUrl!=null && (callbackUrl.length()<MIN_CALLBACK_URL_LEN || callbackUrl.length()>MAX_CALLBACK_URL_LEN))
             throw new OutOfBoundsException("callbackUrl", callbackUrl, 
                 "LENGTH->("+MIN_CALLBACK_URL_LEN+"<="+callbackUrl.length()+"<="+MAX_CALLBACK_URL_LEN+")==false");
@@ -100,6 +121,18 @@ public class ScheduledPayload extends Payload {
         return this.jobs;
     }
 
+    /**
+     *  The number of jobs carried by this {@link ScheduledPayload}; it is not sent to the
+     *  SandCage API.
+     *  
+     *  @return     the number of jobs
+     */
+    @JsonIgnore
+    @Override
+    public int getItemCount() {
+        return this.jobs.size();
+    }
+
     /**
      *  The URL at which to send {@link Task} state, if any.
      *  
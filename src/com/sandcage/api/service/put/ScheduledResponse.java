@@ -0,0 +1,62 @@
+package com.sandcage.api.service.put;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ *  Implements the {@link Response} associated with the schedule-tasks service.
+ *  <p>
+ *  The SandCage API reports one {@link FileRecord} per scheduled {@link Task},
+ *  in the order in which the tasks were submitted.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class ScheduledResponse extends Response {
+
+    private static final String FIELD_REQUEST_ID = "request_id";
+    private static final String FIELD_TASKS = "tasks";
+
+    private String requestId;
+    private ArrayList<FileRecord> tasks = new ArrayList<FileRecord>();
+
+
+    @Override
+    protected boolean readField(String field, JsonParser parser) 
+            throws IOException {
+        if(FIELD_REQUEST_ID.equals(field)) {
+            this.requestId = parser.getValueAsString();
+            return true;
+        }
+        if(FIELD_TASKS.equals(field)) {
+            readRecords(parser, this.tasks::add);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     *  The request_id with which the SandCage API identifies the scheduled
+     *  tasks, eg: to later get-info on them.
+     *  
+     *  @return     the request_id, if any
+     */
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     *  The result of each scheduled {@link Task}.
+     *  
+     *  @return     the {@link FileRecord file records}, one per {@link Task}
+     */
+    public List<FileRecord> getTasks() {
+        return this.tasks;
+    }
+}
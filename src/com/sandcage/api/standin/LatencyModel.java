@@ -0,0 +1,94 @@
+package com.sandcage.api.standin;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ *  A distribution of latencies, from which the {@link StandInServer} draws the
+ *  delay of each response, or the processing time of each task.
+ *  <p>
+ *  Implementations must be thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /**
+     *  No latency at all.
+     */
+    LatencyModel NONE = () -> 0L;
+
+
+    /**
+     *  Draws a latency.
+     *
+     *  @return     the latency, in nanoseconds
+     */
+    long sample();
+
+    /**
+     *  A constant latency.
+     *
+     *  @param  millis  the latency, in milliseconds
+     *
+     *  @return     the {@link LatencyModel}
+     *
+     *  @throws     OutOfBoundsException    if the latency is negative
+     */
+    static LatencyModel fixed(double millis)
+            throws OutOfBoundsException {
+        if(!(millis>=0d))
+            throw new OutOfBoundsException("millis", String.valueOf(millis), "("+millis+">=0)==false");
+        long nanos = toNanos(millis);
+        return () -> nanos;
+    }
+
+    /**
+     *  Latencies uniformly distributed between the given bounds.
+     *
+     *  @param  minMillis   the lowest latency, in milliseconds
+     *  @param  maxMillis   the highest latency, in milliseconds
+     *
+     *  @return     the {@link LatencyModel}
+     *
+     *  @throws     OutOfBoundsException    if the bounds are negative, or reversed
+     */
+    static LatencyModel uniform(double minMillis, double maxMillis)
+            throws OutOfBoundsException {
+        if(!(minMillis>=0d && maxMillis>=minMillis))
+            throw new OutOfBoundsException("minMillis,maxMillis", minMillis+","+maxMillis, "(0<="+minMillis+"<="+maxMillis+")==false");
+        long min = toNanos(minMillis);
+        long max = toNanos(maxMillis);
+        return () -> min==max ? min : ThreadLocalRandom.current().nextLong(min, max+1);
+    }
+
+    /**
+     *  Log-normally distributed latencies, as typical of services with a long
+     *  tail, given by their median and 99th percentile.
+     *
+     *  @param  medianMillis    the median latency, in milliseconds
+     *  @param  p99Millis       the 99th percentile of latencies, in milliseconds
+     *
+     *  @return     the {@link LatencyModel}
+     *
+     *  @throws     OutOfBoundsException    if the median is not positive, or the
+     *                                      99th percentile is below it
+     */
+    static LatencyModel logNormal(double medianMillis, double p99Millis)
+            throws OutOfBoundsException {
+        if(!(medianMillis>0d && p99Millis>=medianMillis))
+            throw new OutOfBoundsException("medianMillis,p99Millis", medianMillis+","+p99Millis, "(0<"+medianMillis+"<="+p99Millis+")==false");
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis/medianMillis)/2.3263478740;          // The z-score of the 99th percentile
+        return () -> toNanos(Math.exp(mu+sigma*ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private static long toNanos(double millis) {
+        return (long) (millis*TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,662 @@
+package com.sandcage.api.standin;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.net.ssl.SSLContext;
+
+
+/**
+ *  An in-process stand-in for the SandCage API, against which to measure the
+ *  throughput and latency of an integration reproducibly, without a network.
+ *  <p>
+ *  The stand-in serves schedule-tasks, get-info, list-files and destroy-files
+ *  from a {@link SyntheticCatalogue}. Tasks complete after a processing time
+ *  drawn from a {@link LatencyModel}, whereupon any callback_url is notified.
+ *  Each response is delayed as per the {@link LatencyModel} of its service,
+ *  without holding a thread, and a fraction of requests may be failed with
+ *  HTTP 503, or throttled with HTTP 429 and a <tt>Retry-After</tt> header.
+ *  Compressed request bodies are accepted, and responses of 1KB and more are
+ *  gzip compressed for clients which accept it.
+ *  <p>
+ *  Point a client at it via {@link com.sandcage.api.Configuration#setEndpointBase(String)}
+ *  and {@link #getEndpointBase()}. Requests are served over HTTP, unless an
+ *  {@link SSLContext} is given. Settings may be changed while it runs.
+ *  <p>
+ *  Unless the <tt>sun.net.httpserver.nodelay</tt> system property is set to
+ *  <tt>true</tt>, Nagle's algorithm, against delayed ACKs, holds back small
+ *  responses by some 40ms. The stand-in leaves it to the application to set, as
+ *  it applies to every <tt>com.sun.net.httpserver</tt> server of the JVM, and is
+ *  read once, before the first of these is created.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class StandInServer implements AutoCloseable {
+
+    private static final String VERSION = "0.2";
+    private static final String[] SERVICES = {"schedule-tasks", "get-info", "list-files", "destroy-files"};
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_BAD_METHOD = 405;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final int RESULTS_PER_PAGE_DEFAULTS = 100;
+    private static final int MAX_RESULTS_PER_PAGE = 10000;
+    private static final long CALLBACK_TIMEOUT = 10000L;                        // 10000ms
+    private static final int COMPRESSION_MIN_SIZE = 1024;                       // 1KB
+
+    private static final String METHOD_POST = "POST";
+    private static final String STATUS_SUCCESS = "success";
+    private static final String STATUS_ERROR = "error";
+    private static final String STATUS_NOT_FOUND = "not_found";
+    private static final String CDN_BASE = "https://cdn.sandcage.test/";
+    private static final String TYPE_JPEG = "image/jpeg";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private final SyntheticCatalogue catalogue;
+    private final HttpServer server;
+    private final String scheme;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final HttpClient callbacks;
+    private final AtomicLong requestIds = new AtomicLong();
+    private final ConcurrentHashMap<String, LatencyModel> latencies = new ConcurrentHashMap<String, LatencyModel>();
+    private final ConcurrentHashMap<String, LongAdder> requests = new ConcurrentHashMap<String, LongAdder>();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callbacksSent = new LongAdder();
+    private final LongAdder callbacksFailed = new LongAdder();
+    private volatile LatencyModel latency = LatencyModel.NONE;
+    private volatile LatencyModel processingTime = LatencyModel.NONE;
+    private volatile double errorRate;
+    private volatile double throttleRate;
+    private volatile int retryAfter = 1;
+
+
+    /**
+     *  Creates, and starts, a {@link StandInServer} serving over HTTP.
+     *
+     *  @param  address         the address at which to listen; port 0 picks a
+     *                          free port
+     *  @param  catalogueSize   the number of files of the {@link SyntheticCatalogue}
+     *
+     *  @throws     IOException             if the server could not be started
+     *  @throws     OutOfBoundsException    if the catalogue size is negative
+     *  @throws     NullPointerException    if the address is null
+     */
+    public StandInServer(InetSocketAddress address, long catalogueSize)
+            throws IOException, OutOfBoundsException, NullPointerException {
+        this(address, catalogueSize, null);
+    }
+
+    /**
+     *  Creates, and starts, a {@link StandInServer}.
+     *
+     *  @param  address         the address at which to listen; port 0 picks a
+     *                          free port
+     *  @param  catalogueSize   the number of files of the {@link SyntheticCatalogue}
+     *  @param  sslContext      the {@link SSLContext} with which to serve HTTPS,
+     *                          or null to serve HTTP
+     *
+     *  @throws     IOException             if the server could not be started
+     *  @throws     OutOfBoundsException    if the catalogue size is negative
+     *  @throws     NullPointerException    if the address is null
+     */
+    public StandInServer(InetSocketAddress address, long catalogueSize, SSLContext sslContext)
+            throws IOException, OutOfBoundsException, NullPointerException {
+        if(address==null)
+            throw new NullPointerException("The address was missing from the stand-in");
+        this.catalogue = new SyntheticCatalogue(catalogueSize);
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-standin");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sandcage-standin-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.callbacks = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(CALLBACK_TIMEOUT))
+            .executor(this.executor)
+            .build();
+
+        if(sslContext!=null) {
+            HttpsServer https = HttpsServer.create(address, 0);
+            https.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            this.server = https;
+            this.scheme = "https";
+        } else {
+            this.server = HttpServer.create(address, 0);
+            this.scheme = "http";
+        }
+        this.server.setExecutor(this.executor);
+        for(String service : SERVICES) {
+            this.requests.put(service, new LongAdder());
+            this.server.createContext("/"+VERSION+"/"+service, exchange -> handle(service, exchange));
+        }
+        this.server.start();
+    }
+
+    /**
+     *  The base URL of this stand-in, to be set as the endpoint base of a client.
+     *
+     *  @return     the base URL, ending with a slash
+     */
+    public String getEndpointBase() {
+        InetSocketAddress address = this.server.getAddress();
+        String host = address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+        return this.scheme+"://"+(host.indexOf(':')>=0 ? "["+host+"]" : host)+":"+address.getPort()+"/";
+    }
+
+    /**
+     *  The {@link SyntheticCatalogue} served.
+     *
+     *  @return     the {@link SyntheticCatalogue}
+     */
+    public SyntheticCatalogue getCatalogue() {
+        return this.catalogue;
+    }
+
+    /**
+     *  Sets the latency of the responses of all services.
+     *
+     *  @param  latency     the {@link LatencyModel}
+     *
+     *  @throws     NullPointerException    if the latency is null
+     */
+    public void setLatency(LatencyModel latency)
+            throws NullPointerException {
+        if(latency==null)
+            throw new NullPointerException("The latency was missing from the stand-in");
+        this.latencies.clear();
+        this.latency = latency;
+    }
+
+    /**
+     *  Sets the latency of the responses of the given service.
+     *
+     *  @param  service     the SandCage API service, eg: get-info
+     *  @param  latency     the {@link LatencyModel}
+     *
+     *  @throws     NullPointerException    if any value is null
+     */
+    public void setLatency(String service, LatencyModel latency)
+            throws NullPointerException {
+        if(service==null)
+            throw new NullPointerException("The service was missing from the stand-in");
+        if(latency==null)
+            throw new NullPointerException("The latency was missing from the stand-in");
+        this.latencies.put(service, latency);
+    }
+
+    /**
+     *  Sets the time taken by scheduled tasks to complete.
+     *
+     *  @param  processingTime  the {@link LatencyModel}
+     *
+     *  @throws     NullPointerException    if the processing time is null
+     */
+    public void setProcessingTime(LatencyModel processingTime)
+            throws NullPointerException {
+        if(processingTime==null)
+            throw new NullPointerException("The processing time was missing from the stand-in");
+        this.processingTime = processingTime;
+    }
+
+    /**
+     *  Sets the fraction of requests failed with HTTP 503.
+     *
+     *  @param  errorRate   the fraction of requests failed, between 0 and 1
+     *
+     *  @throws     OutOfBoundsException    if the value is not within the
+     *                                      permissible bounds
+     */
+    public void setErrorRate(double errorRate)
+            throws OutOfBoundsException {
+        if(!(errorRate>=0d && errorRate<=1d))
+            throw new OutOfBoundsException("errorRate", String.valueOf(errorRate), "(0<="+errorRate+"<=1)==false");
+        this.errorRate = errorRate;
+    }
+
+    /**
+     *  Sets the fraction of requests throttled with HTTP 429.
+     *
+     *  @param  throttleRate    the fraction of requests throttled, between 0 and 1
+     *  @param  retryAfter      the <tt>Retry-After</tt> of throttled requests, in
+     *                          seconds
+     *
+     *  @throws     OutOfBoundsException    if any value is not within the
+     *                                      permissible bounds
+     */
+    public void setThrottleRate(double throttleRate, int retryAfter)
+            throws OutOfBoundsException {
+        if(!(throttleRate>=0d && throttleRate<=1d))
+            throw new OutOfBoundsException("throttleRate", String.valueOf(throttleRate), "(0<="+throttleRate+"<=1)==false");
+        if(retryAfter<0)
+            throw new OutOfBoundsException("retryAfter", String.valueOf(retryAfter), "("+retryAfter+">=0)==false");
+        this.throttleRate = throttleRate;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     *  The number of requests received by the given service.
+     *
+     *  @param  service     the SandCage API service
+     *
+     *  @return     the number of requests
+     */
+    public long getRequests(String service) {
+        LongAdder count = this.requests.get(service);
+        return count!=null ? count.sum() : 0L;
+    }
+
+    /**
+     *  The number of requests throttled with HTTP 429.
+     *
+     *  @return     the number of throttled requests
+     */
+    public long getThrottled() {
+        return this.throttled.sum();
+    }
+
+    /**
+     *  The number of requests failed with HTTP 503.
+     *
+     *  @return     the number of failed requests
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     *  The number of callbacks delivered, or which failed to be.
+     *
+     *  @param  delivered   <tt>true</tt> for those delivered, <tt>false</tt> for
+     *                      those which failed
+     *
+     *  @return     the number of callbacks
+     */
+    public long getCallbacks(boolean delivered) {
+        return delivered ? this.callbacksSent.sum() : this.callbacksFailed.sum();
+    }
+
+    /**
+     *  Stops the stand-in, dropping pending responses and callbacks.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.timer.shutdownNow();
+        this.executor.shutdownNow();
+    }
+
+    /**
+     *  Handles a request to the given service.
+     */
+    private void handle(String service, HttpExchange exchange)
+            throws IOException {
+        this.requests.get(service).increment();
+
+        JsonNode body;
+        try(InputStream in = exchange.getRequestBody()) {
+            if(!METHOD_POST.equalsIgnoreCase(exchange.getRequestMethod())) {
+                respond(exchange, HTTP_BAD_METHOD, error("Only POST requests are accepted"), false);
+                return;
+            }
+            body = MAPPER.readTree(decode(in, exchange.getRequestHeaders().getFirst("Content-Encoding")));
+        } catch(IOException ioex) {
+            respond(exchange, HTTP_BAD_REQUEST, error("The request body was not valid JSON"), false);
+            return;
+        }
+        if(body==null || !body.path("key").isTextual() || body.path("key").asText().isEmpty()) {
+            respond(exchange, HTTP_BAD_REQUEST, error("Mandatory field [ key ] was missing from the request"), false);
+            return;
+        }
+
+        double fault = ThreadLocalRandom.current().nextDouble();
+        byte[] response;
+        int statusCode = HTTP_OK;
+        boolean throttle = false;
+        if(fault<this.throttleRate) {
+            this.throttled.increment();
+            statusCode = HTTP_TOO_MANY_REQUESTS;
+            throttle = true;
+            response = error("Too many requests");
+        } else if(fault<this.throttleRate+this.errorRate) {
+            this.failed.increment();
+            statusCode = HTTP_UNAVAILABLE;
+            response = error("The service is temporarily unavailable");
+        } else {
+            long now = System.nanoTime();
+            switch(service) {
+                case "schedule-tasks":  response = scheduleTasks(body, now);    break;
+                case "get-info":        response = getInfo(body, now);          break;
+                case "list-files":      response = listFiles(body, now);        break;
+                default:                response = destroyFiles(body, now);     break;
+            }
+        }
+
+        LatencyModel model = this.latencies.getOrDefault(service, this.latency);
+        long delay = model.sample();
+        final int code = statusCode;
+        final boolean retry = throttle;
+        if(delay<=0L)
+            respond(exchange, code, response, retry);
+        else
+            this.timer.schedule(() -> respond(exchange, code, response, retry), delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *  Creates a file for each task of each job, completing after the processing
+     *  time, and schedules the callback, if any.
+     */
+    private byte[] scheduleTasks(JsonNode body, long now) {
+        String requestId = nextRequestId();
+        ArrayList<Long> indices = new ArrayList<Long>();
+        long lastReadyAt = now;
+        for(JsonNode job : body.path("jobs"))
+            for(JsonNode task : job.path("tasks")) {
+                long readyAt = now+Math.max(0L, this.processingTime.sample());
+                lastReadyAt = Math.max(lastReadyAt, readyAt);
+                indices.add(this.catalogue.create(requestId, text(task, "reference_id"), text(task, "actions"), 
+                    text(task, "directory"), text(task, "filename"), readyAt));
+            }
+        this.catalogue.register(requestId, indices);
+
+        String callbackUrl = text(body, "callback_url");
+        if(callbackUrl!=null)
+            this.timer.schedule(() -> callback(callbackUrl, json(gen -> {
+                    gen.writeStringField("status", STATUS_SUCCESS);
+                    gen.writeStringField("request_id", requestId);
+                    writeRecords(gen, "tasks", indices, System.nanoTime());
+                })), lastReadyAt-now, TimeUnit.NANOSECONDS);
+
+        return json(gen -> {
+            gen.writeStringField("status", STATUS_SUCCESS);
+            gen.writeStringField("request_id", requestId);
+            writeRecords(gen, "tasks", indices, now);
+        });
+    }
+
+    /**
+     *  Reports the files of the given request_id, or file_tokens.
+     */
+    private byte[] getInfo(JsonNode body, long now) {
+        String requestId = text(body, "request_id");
+        return json(gen -> {
+            gen.writeStringField("status", STATUS_SUCCESS);
+            if(requestId!=null) {
+                writeRecords(gen, "files", this.catalogue.indicesOfRequest(requestId), now);
+                return;
+            }
+            gen.writeArrayFieldStart("files");
+            for(JsonNode file : body.path("files")) {
+                String token = text(file, "file_token");
+                long index = this.catalogue.index(token);
+                if(index>=0L)
+                    writeRecord(gen, this.catalogue.view(index, now));
+                else
+                    writeMissing(gen, token, null);
+            }
+            gen.writeEndArray();
+        });
+    }
+
+    /**
+     *  Reports a page of the synthetic files of the given directory, if any.
+     *  Destroyed files are left out of the page, but not of the totals.
+     */
+    private byte[] listFiles(JsonNode body, long now) {
+        String directory = text(body, "directory");
+        int page = Math.max(1, body.path("page").asInt(1));
+        int perPage = Math.min(MAX_RESULTS_PER_PAGE, Math.max(1, body.path("results_per_page").asInt(RESULTS_PER_PAGE_DEFAULTS)));
+        long total = this.catalogue.count(directory);
+        long pages = (total+perPage-1)/perPage;
+        return json(gen -> {
+            gen.writeStringField("status", STATUS_SUCCESS);
+            gen.writeNumberField("page", page);
+            gen.writeNumberField("pages", pages);
+            gen.writeNumberField("results_per_page", perPage);
+            gen.writeNumberField("total", total);
+            gen.writeArrayFieldStart("files");
+            for(long n = (long) (page-1)*perPage; n<Math.min(total, (long) page*perPage); n++) {
+                long index = this.catalogue.nth(directory, n);
+                if(!this.catalogue.isDestroyed(index))
+                    writeRecord(gen, this.catalogue.view(index, now));
+            }
+            gen.writeEndArray();
+        });
+    }
+
+    /**
+     *  Destroys the files of the given file_tokens, or reference_ids, and
+     *  schedules the callback, if any.
+     */
+    private byte[] destroyFiles(JsonNode body, long now) {
+        String requestId = nextRequestId();
+        ArrayList<Long> indices = new ArrayList<Long>();
+        ArrayList<String[]> missing = new ArrayList<String[]>();
+        for(JsonNode file : body.path("files")) {
+            String token = text(file, "file_token");
+            String referenceId = text(file, "reference_id");
+            long index = token!=null ? this.catalogue.index(token) : this.catalogue.indexOfReference(referenceId);
+            if(this.catalogue.destroy(index))
+                indices.add(index);
+            else
+                missing.add(new String[] {token, referenceId});
+        }
+
+        FieldWriter records = gen -> {
+            gen.writeStringField("status", STATUS_SUCCESS);
+            gen.writeStringField("request_id", requestId);
+            writeRecords(gen, "files", indices, now, missing);
+        };
+        String callbackUrl = text(body, "callback_url");
+        if(callbackUrl!=null)
+            this.timer.schedule(() -> callback(callbackUrl, json(records)), 
+                Math.max(0L, this.processingTime.sample()), TimeUnit.NANOSECONDS);
+        return json(records);
+    }
+
+    /**
+     *  Posts a callback notification, without waiting for the outcome.
+     */
+    private void callback(String callbackUrl, byte[] notification) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                .timeout(Duration.ofMillis(CALLBACK_TIMEOUT))
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(notification))
+                .build();
+        } catch(IllegalArgumentException iaex) {
+            this.callbacksFailed.increment();
+            return;
+        }
+        this.callbacks.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, failure) -> {
+                if(failure==null && response.statusCode()/100==2)
+                    this.callbacksSent.increment();
+                else
+                    this.callbacksFailed.increment();
+            });
+    }
+
+    /**
+     *  Sends a response, and ends the exchange.
+     */
+    private void respond(HttpExchange exchange, int statusCode, byte[] body, boolean throttled) {
+        try(OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if(throttled)
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(this.retryAfter));
+            String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if(body.length>=COMPRESSION_MIN_SIZE && accepted!=null && accepted.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(statusCode, body.length);
+            out.write(body);
+        } catch(IOException ioex) {                                             // The client has gone
+            exchange.close();
+        }
+    }
+
+    /**
+     *  Decompresses a request body, as per its <tt>Content-Encoding</tt>.
+     */
+    private static InputStream decode(InputStream in, String encoding)
+            throws IOException {
+        if(encoding==null || encoding.isEmpty() || "identity".equalsIgnoreCase(encoding))
+            return in;
+        if("gzip".equalsIgnoreCase(encoding))
+            return new GZIPInputStream(in);
+        if("deflate".equalsIgnoreCase(encoding))
+            return new InflaterInputStream(in);
+        throw new IOException("Unsupported Content-Encoding [ "+encoding+" ]");
+    }
+
+    private static byte[] gzip(byte[] body)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length/4+64);
+        try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private String nextRequestId() {
+        return String.format("standin-%012x", this.requestIds.incrementAndGet());
+    }
+
+    private void writeRecords(JsonGenerator gen, String field, List<Long> indices, long now)
+            throws IOException {
+        writeRecords(gen, field, indices, now, null);
+    }
+
+    private void writeRecords(JsonGenerator gen, String field, List<Long> indices, long now, List<String[]> missing)
+            throws IOException {
+        gen.writeArrayFieldStart(field);
+        for(long index : indices)
+            writeRecord(gen, this.catalogue.view(index, now));
+        if(missing!=null)
+            for(String[] file : missing)
+                writeMissing(gen, file[0], file[1]);
+        gen.writeEndArray();
+    }
+
+    private static void writeRecord(JsonGenerator gen, SyntheticCatalogue.View view)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("file_token", view.token);
+        if(view.requestId!=null)
+            gen.writeStringField("request_id", view.requestId);
+        if(view.referenceId!=null)
+            gen.writeStringField("reference_id", view.referenceId);
+        if(view.action!=null)
+            gen.writeStringField("action", view.action);
+        gen.writeStringField("status", view.status);
+        if(SyntheticCatalogue.STATUS_COMPLETED.equals(view.status)) {
+            gen.writeStringField("cdn_url", CDN_BASE+view.directory+"/"+view.filename);
+            gen.writeNumberField("size", view.size);
+            gen.writeNumberField("width", view.width);
+            gen.writeNumberField("height", view.height);
+        }
+        gen.writeStringField("directory", view.directory);
+        gen.writeStringField("filename", view.filename);
+        gen.writeStringField("type", TYPE_JPEG);
+        gen.writeEndObject();
+    }
+
+    private static void writeMissing(JsonGenerator gen, String token, String referenceId)
+            throws IOException {
+        gen.writeStartObject();
+        if(token!=null)
+            gen.writeStringField("file_token", token);
+        if(referenceId!=null)
+            gen.writeStringField("reference_id", referenceId);
+        gen.writeStringField("status", STATUS_NOT_FOUND);
+        gen.writeEndObject();
+    }
+
+    private static byte[] error(String message) {
+        return json(gen -> {
+            gen.writeStringField("status", STATUS_ERROR);
+            gen.writeArrayFieldStart("error_msg");
+            gen.writeString(message);
+            gen.writeEndArray();
+        });
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value!=null && value.isValueNode() && !value.isNull() ? value.asText() : null;
+    }
+
+    /**
+     *  Writes a JSON object, whose fields are written by the given writer.
+     */
+    private static byte[] json(FieldWriter fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(JsonGenerator gen = FACTORY.createGenerator(out)) {
+            gen.writeStartObject();
+            fields.accept(gen);
+            gen.writeEndObject();
+        } catch(IOException ioex) {                                             // Never thrown by the byte array stream
+            throw new UncheckedIOException(ioex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     *  Writes fields of a JSON object.
+     */
+    @FunctionalInterface
+    private interface FieldWriter {
+
+        void accept(JsonGenerator gen)
+                throws IOException;
+    }
+}
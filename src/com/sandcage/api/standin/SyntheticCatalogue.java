@@ -0,0 +1,273 @@
+package com.sandcage.api.standin;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ *  The files known to a {@link StandInServer}: a synthetic catalogue of
+ *  completed files, which may run into the millions, plus those created by
+ *  schedule-tasks, less those destroyed.
+ *  <p>
+ *  Synthetic files are not stored: each is derived from its index, which its
+ *  file_token encodes, so a catalogue of any size costs no memory. Only the
+ *  files created, and the indices destroyed, are held.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/">SandCage API v0.2</a>
+ */
+public class SyntheticCatalogue {
+
+    private static final long SALT = 0x5A17C0DE5A17C0DEL;
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    private static final int TOKEN_LEN = 32;
+    private static final String[] DIRECTORIES = {"images", "images/products", "images/banners", "avatars"};
+
+    static final String STATUS_COMPLETED = "completed";
+    static final String STATUS_PROCESSING = "processing";
+    static final String STATUS_DELETED = "deleted";
+
+    private final long size;
+    private final AtomicLong next;
+    private final ConcurrentHashMap<Long, Created> created = new ConcurrentHashMap<Long, Created>();
+    private final ConcurrentHashMap<String, List<Long>> requests = new ConcurrentHashMap<String, List<Long>>();
+    private final ConcurrentHashMap<String, Long> references = new ConcurrentHashMap<String, Long>();
+    private final Set<Long> destroyed = ConcurrentHashMap.newKeySet();
+
+
+    /**
+     *  Creates a {@link SyntheticCatalogue}.
+     *
+     *  @param  size    the number of synthetic files
+     *
+     *  @throws     OutOfBoundsException    if the size is negative
+     */
+    public SyntheticCatalogue(long size)
+            throws OutOfBoundsException {
+        if(size<0L)
+            throw new OutOfBoundsException("size", String.valueOf(size), "("+size+">=0)==false");
+        this.size = size;
+        this.next = new AtomicLong(size);
+    }
+
+    /**
+     *  The number of synthetic files, destroyed or not.
+     *
+     *  @return     the number of synthetic files
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     *  The number of files created by schedule-tasks.
+     *
+     *  @return     the number of files created
+     */
+    public int getCreated() {
+        return this.created.size();
+    }
+
+    /**
+     *  The number of files destroyed.
+     *
+     *  @return     the number of files destroyed
+     */
+    public int getDestroyed() {
+        return this.destroyed.size();
+    }
+
+    /**
+     *  The file_token of the file of the given index.
+     *
+     *  @param  index   the index of the file
+     *
+     *  @return     the file_token
+     */
+    public static String token(long index) {
+        return String.format("%016x%016x", index^SALT, index*MIX);
+    }
+
+    /**
+     *  The index of the file of the given file_token.
+     *
+     *  @param  token   the file_token
+     *
+     *  @return     the index, or -1 if the token is not one of this catalogue
+     */
+    long index(String token) {
+        if(token==null || token.length()!=TOKEN_LEN)
+            return -1L;
+        try {
+            long index = Long.parseUnsignedLong(token.substring(0, TOKEN_LEN/2), 16)^SALT;
+            if(Long.parseUnsignedLong(token.substring(TOKEN_LEN/2), 16)!=index*MIX)
+                return -1L;
+            return (index>=0L && index<this.size) || this.created.containsKey(index) ? index : -1L;
+        } catch(NumberFormatException nfex) {
+            return -1L;
+        }
+    }
+
+    /**
+     *  The index of the created file of the given reference_id, if any.
+     */
+    long indexOfReference(String referenceId) {
+        Long index = referenceId!=null ? this.references.get(referenceId) : null;
+        return index!=null ? index : -1L;
+    }
+
+    /**
+     *  The indices of the files created by the given request, if any.
+     */
+    List<Long> indicesOfRequest(String requestId) {
+        List<Long> indices = this.requests.get(requestId);
+        return indices!=null ? indices : Collections.<Long>emptyList();
+    }
+
+    /**
+     *  Creates a file, which is processing until the given time.
+     */
+    long create(String requestId, String referenceId, String action, String directory, String filename, long readyAt) {
+        long index = this.next.getAndIncrement();
+        this.created.put(index, new Created(requestId, referenceId, action, directory, filename, readyAt));
+        if(referenceId!=null)
+            this.references.put(referenceId, index);
+        return index;
+    }
+
+    /**
+     *  Records the files created by a request, once all have been created.
+     */
+    void register(String requestId, List<Long> indices) {
+        this.requests.put(requestId, indices);
+    }
+
+    /**
+     *  Destroys a file.
+     *
+     *  @return     <tt>true</tt> if it existed, else <tt>false</tt>
+     */
+    boolean destroy(long index) {
+        return index>=0L && this.destroyed.add(index);
+    }
+
+    /**
+     *  Whether the file of the given index has been destroyed.
+     */
+    boolean isDestroyed(long index) {
+        return this.destroyed.contains(index);
+    }
+
+    /**
+     *  The number of synthetic files in the given directory, or in all, if null.
+     */
+    long count(String directory) {
+        if(directory==null)
+            return this.size;
+        int d = directoryIndex(directory);
+        if(d<0)
+            return 0L;
+        return this.size/DIRECTORIES.length+(d<this.size%DIRECTORIES.length ? 1 : 0);
+    }
+
+    /**
+     *  The index of the n-th synthetic file in the given directory, or in all,
+     *  if null.
+     */
+    long nth(String directory, long n) {
+        return directory==null ? n : n*DIRECTORIES.length+directoryIndex(directory);
+    }
+
+    /**
+     *  The file of the given index, as of the given time.
+     */
+    View view(long index, long now) {
+        Created file = this.created.get(index);
+        String token = token(index);
+        long hash = index*MIX;
+        if(file!=null) {
+            String status = this.destroyed.contains(index) ? STATUS_DELETED : now-file.readyAt<0 ? STATUS_PROCESSING : STATUS_COMPLETED;
+            String directory = file.directory!=null ? file.directory : DIRECTORIES[0];
+            String filename = file.filename!=null ? file.filename : token+".jpg";
+            return new View(token, file.requestId, file.referenceId, file.action, status, directory, filename, hash);
+        }
+        String directory = DIRECTORIES[(int) (index%DIRECTORIES.length)];
+        String status = this.destroyed.contains(index) ? STATUS_DELETED : STATUS_COMPLETED;
+        return new View(token, null, null, null, status, directory, "file-"+index+".jpg", hash);
+    }
+
+    /**
+     *  The time at which the given created file completes.
+     */
+    long readyAt(long index) {
+        Created file = this.created.get(index);
+        return file!=null ? file.readyAt : 0L;
+    }
+
+    private static int directoryIndex(String directory) {
+        for(int i = 0; i<DIRECTORIES.length; i++)
+            if(DIRECTORIES[i].equals(directory))
+                return i;
+        return -1;
+    }
+
+    /**
+     *  A file created by schedule-tasks.
+     */
+    private static class Created {
+
+        private final String requestId;
+        private final String referenceId;
+        private final String action;
+        private final String directory;
+        private final String filename;
+        private final long readyAt;
+
+        private Created(String requestId, String referenceId, String action, String directory, String filename, long readyAt) {
+            this.requestId = requestId;
+            this.referenceId = referenceId;
+            this.action = action;
+            this.directory = directory;
+            this.filename = filename;
+            this.readyAt = readyAt;
+        }
+    }
+
+    /**
+     *  A file, as reported by the stand-in.
+     */
+    static class View {
+
+        final String token;
+        final String requestId;
+        final String referenceId;
+        final String action;
+        final String status;
+        final String directory;
+        final String filename;
+        final long size;
+        final int width;
+        final int height;
+
+        private View(String token, String requestId, String referenceId, String action, String status, 
+                String directory, String filename, long hash) {
+            this.token = token;
+            this.requestId = requestId;
+            this.referenceId = referenceId;
+            this.action = action;
+            this.status = status;
+            this.directory = directory;
+            this.filename = filename;
+            this.size = 10000L+Math.floorMod(hash, 5000000L);
+            this.width = 100+(int) Math.floorMod(hash>>>20, 3900L);
+            this.height = 100+(int) Math.floorMod(hash>>>40, 3900L);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sandcage.api.validate;
+
+import com.sandcage.api.service.put.Job;
+import java.util.List;
+
+
+/**
+ *  The unchecked values of a {@link Job}, eg: as read from a row of an import,
+ *  to be checked, along with those of a whole batch, by a {@link JobValidator}.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public final class JobSpec {
+
+    private final String url;
+    private final List<TaskSpec> tasks;
+
+
+    /**
+     *  Creates a {@link JobSpec}.
+     *
+     *  @param  url     the URL at which the image of interest resides
+     *  @param  tasks   the {@link TaskSpec tasks} to be effected on the image
+     */
+    public JobSpec(String url, List<TaskSpec> tasks) {
+        this.url = url;
+        this.tasks = tasks;
+    }
+
+    /**
+     *  The URL at which the image of interest resides.
+     *
+     *  @return     the URL, if any
+     */
+    public String getUrl() {
+        return this.url;
+    }
+
+    /**
+     *  The {@link TaskSpec tasks} to be effected on the image.
+     *
+     *  @return     the {@link TaskSpec tasks}, if any
+     */
+    public List<TaskSpec> getTasks() {
+        return this.tasks;
+    }
+}
@@ -0,0 +1,204 @@
+package com.sandcage.api.validate;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.put.Cover;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ *  Checks a whole batch of {@link JobSpec jobs}, eg: an import, against the
+ *  schedule-tasks prerequisites in a single pass, and reports every
+ *  {@link Violation} found, rather than the first.
+ *  <p>
+ *  The constructors of {@link com.sandcage.api.service.put.Job} and of the
+ *  {@link com.sandcage.api.service.put.Task} specializations throw upon the
+ *  first value out of bounds, which, for a large batch, costs an exception,
+ *  with its stack trace and message, per bad value, and a round trip per fix.
+ *  Herein, nothing is thrown and no message is formatted: each {@link Violation}
+ *  records its {@link ViolationCode} and value, and valid jobs allocate nothing.
+ *  Batches from the parallel threshold onwards are checked in parallel, on the
+ *  common fork-join pool.
+ *  <p>
+ *  The bounds applied are those documented for the SandCage API, which are
+ *  stricter than some of the constructors: eg: <tt>new Resize(20000, 300)</tt>,
+ *  whose width exceeds the maximum, and <tt>new Cover(0, 0, null, null)</tt>,
+ *  whose dimensions are below the minimum, both construct without complaint,
+ *  but are reported herein, as the API would reject them. A batch which passes
+ *  the validator therefore also passes the constructors, but not vice versa.
+ *  <p>
+ *  Instances of this class are thread-safe.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class JobValidator {
+
+    public static final int PARALLEL_THRESHOLD_DEFAULTS = 1024;                 // JOBS
+
+    // THE DOCUMENTED API BOUNDS; SOME CONSTRUCTORS OF THE PUT PACKAGE CHECK LESS
+    private static final int MIN_URL_LEN = 4;
+    private static final int MAX_URL_LEN = 1000;
+    private static final int MIN_TASKS = 1;
+    private static final int MAX_TASKS = 10;
+    private static final int MAX_REFERENCE_ID_LEN = 100;
+    private static final int MAX_DIRECTORY_LEN = 500;
+    private static final int MAX_FILENAME_LEN = 250;
+    private static final int MIN_IMAGE_DIMENSION = 1;
+    private static final int MAX_IMAGE_DIMENSION = 10000;
+    private static final float MIN_IMAGE_RATIO = 0.01f;
+    private static final float MAX_IMAGE_RATIO = 99.99f;
+    private static final int MIN_COORDINATE = 1;
+    private static final int MIN_ROTATION = 90;
+    private static final int MAX_ROTATION = 270;
+    private static final int ROTATION_MOD = 90;
+
+    // CONDITIONS -> 1..; BATCHES OF AS MANY JOBS, OR MORE, ARE CHECKED IN PARALLEL
+    private final int parallelThreshold;
+
+
+    /**
+     *  Creates a {@link JobValidator}, which checks batches of {@value #PARALLEL_THRESHOLD_DEFAULTS}
+     *  jobs, or more, in parallel.
+     */
+    public JobValidator() {
+        this.parallelThreshold = PARALLEL_THRESHOLD_DEFAULTS;
+    }
+
+    /**
+     *  Creates a {@link JobValidator}.
+     *
+     *  @param  parallelThreshold   the number of jobs from which a batch is
+     *                              checked in parallel
+     *
+     *  @throws     OutOfBoundsException    if parallelThreshold is less than one
+     */
+    public JobValidator(int parallelThreshold)
+            throws OutOfBoundsException {
+        if(parallelThreshold<1)
+            throw new OutOfBoundsException("parallelThreshold", String.valueOf(parallelThreshold), "("+parallelThreshold+">=1)==false");
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     *  Checks the given batch of {@link JobSpec jobs}.
+     *
+     *  @param  jobs    the {@link JobSpec jobs} to check
+     *
+     *  @return     the {@link ValidationReport}
+     *
+     *  @throws     NullPointerException    if jobs is null
+     */
+    public ValidationReport validate(List<JobSpec> jobs)
+            throws NullPointerException {
+        if(jobs==null)
+            throw new NullPointerException("Mandatory field [ jobs ] was missing from the request");
+        JobSpec[] specs = jobs.toArray(new JobSpec[0]);
+        Violation[][] violations = new Violation[specs.length][];
+        if(specs.length>=this.parallelThreshold)
+            IntStream.range(0, specs.length).parallel().forEach(i -> violations[i] = check(i, specs[i]));
+        else
+            for(int i=0; i<specs.length; i++)
+                violations[i] = check(i, specs[i]);
+        return new ValidationReport(specs, violations);
+    }
+
+    /**
+     *  Checks a single job, and its tasks.
+     *
+     *  @return     the {@link Violation violations}, or <tt>null</tt> if none
+     */
+    private static Violation[] check(int index, JobSpec job) {
+        List<Violation> found = null;
+        if(job==null)
+            return new Violation[] {new Violation(index, -1, ViolationCode.JOB_MISSING, null)};
+
+        String url = job.getUrl();
+        if(url==null)
+            found = add(found, index, -1, ViolationCode.URL_MISSING, null);
+        else if(url.length()<MIN_URL_LEN || url.length()>MAX_URL_LEN)
+            found = add(found, index, -1, ViolationCode.URL_LENGTH, url);
+
+        List<TaskSpec> tasks = job.getTasks();
+        if(tasks==null)
+            found = add(found, index, -1, ViolationCode.TASKS_MISSING, null);
+        else {
+            if(tasks.size()<MIN_TASKS || tasks.size()>MAX_TASKS)
+                found = add(found, index, -1, ViolationCode.TASK_COUNT, tasks.size());
+            for(int t=0; t<tasks.size(); t++)
+                found = check(found, index, t, tasks.get(t));
+        }
+        return found!=null ? found.toArray(new Violation[found.size()]) : null;
+    }
+
+    /**
+     *  Checks a single task.
+     */
+    private static List<Violation> check(List<Violation> found, int job, int index, TaskSpec task) {
+        if(task==null)
+            return add(found, job, index, ViolationCode.TASK_MISSING, null);
+
+        if(task.getReferenceId()!=null && task.getReferenceId().length()>MAX_REFERENCE_ID_LEN)
+            found = add(found, job, index, ViolationCode.REFERENCE_ID_LENGTH, task.getReferenceId());
+        if(task.getDirectory()!=null && task.getDirectory().length()>MAX_DIRECTORY_LEN)
+            found = add(found, job, index, ViolationCode.DIRECTORY_LENGTH, task.getDirectory());
+        if(task.getFilename()!=null && task.getFilename().length()>MAX_FILENAME_LEN)
+            found = add(found, job, index, ViolationCode.FILENAME_LENGTH, task.getFilename());
+
+        switch(task.getAction()) {
+            case RESIZE_RATIO:
+                if(!(task.getRatio()>=MIN_IMAGE_RATIO && task.getRatio()<=MAX_IMAGE_RATIO))
+                    found = add(found, job, index, ViolationCode.RESIZE_RATIO, task.getRatio());
+                break;
+            case RESIZE:
+                // A DIMENSION OF 0 IS DERIVED FROM THE OTHER DIMENSION
+                int width = task.getValue(0), height = task.getValue(1);
+                if((width<MIN_IMAGE_DIMENSION && height<MIN_IMAGE_DIMENSION) || width<0 || height<0
+                        || width>MAX_IMAGE_DIMENSION || height>MAX_IMAGE_DIMENSION)
+                    found = add(found, job, index, ViolationCode.RESIZE_DIMENSIONS, task.getValues());
+                break;
+            case CROP:
+                if(!(task.getValue(0)>=MIN_COORDINATE && task.getValue(1)>=MIN_COORDINATE
+                        && task.getValue(0)<task.getValue(2) && task.getValue(1)<task.getValue(3)))
+                    found = add(found, job, index, ViolationCode.CROP_COORDINATES, task.getValues());
+                break;
+            case COVER:
+                if(!inBounds(task.getValue(0)) || !inBounds(task.getValue(1)))
+                    found = add(found, job, index, ViolationCode.COVER_DIMENSIONS, task.getValues());
+                if(!isPosition(task.getXCoord(), task.getYCoord()))
+                    found = add(found, job, index, ViolationCode.COVER_POSITION, task.getYCoord()+","+task.getXCoord());
+                break;
+            case ROTATE:
+                int degrees = task.getValue(0);
+                if(!(degrees>=MIN_ROTATION && degrees<=MAX_ROTATION && degrees%ROTATION_MOD==0))
+                    found = add(found, job, index, ViolationCode.ROTATE_DEGREES, degrees);
+                break;
+            default:
+                break;
+        }
+        return found;
+    }
+
+    private static boolean inBounds(int dimension) {
+        return dimension>=MIN_IMAGE_DIMENSION && dimension<=MAX_IMAGE_DIMENSION;
+    }
+
+    private static boolean isPosition(String xCoord, String yCoord) {
+        if(xCoord==null && yCoord==null)
+            return true;
+        return (Cover.COVER_X_LEFT.equals(xCoord) || Cover.COVER_X_CENTER.equals(xCoord) || Cover.COVER_X_RIGHT.equals(xCoord))
+            && (Cover.COVER_Y_TOP.equals(yCoord) || Cover.COVER_Y_MIDDLE.equals(yCoord) || Cover.COVER_Y_BOTTOM.equals(yCoord));
+    }
+
+    /**
+     *  Adds a {@link Violation}, creating the list upon the first.
+     */
+    private static List<Violation> add(List<Violation> found, int job, int task, ViolationCode code, Object value) {
+        if(found==null)
+            found = new ArrayList<Violation>(2);
+        found.add(new Violation(job, task, code, value));
+        return found;
+    }
+}
@@ -0,0 +1,208 @@
+package com.sandcage.api.validate;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.put.Cover;
+import com.sandcage.api.service.put.Crop;
+import com.sandcage.api.service.put.Resize;
+import com.sandcage.api.service.put.Rotate;
+import com.sandcage.api.service.put.Save;
+import com.sandcage.api.service.put.Task;
+
+
+/**
+ *  The unchecked values of a {@link Task}, eg: as read from a row of an import,
+ *  to be checked, along with those of a whole batch, by a {@link JobValidator}.
+ *  <p>
+ *  Unlike the {@link Task} specializations, a {@link TaskSpec} accepts any value:
+ *  out of bounds values are reported as {@link Violation violations}, rather
+ *  than thrown one at a time.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public final class TaskSpec {
+
+    /**
+     *  The type of {@link Task}.
+     */
+    enum Action { SAVE, RESIZE_RATIO, RESIZE, CROP, COVER, ROTATE }
+
+    private final Action action;
+    private final int[] values;
+    private final float ratio;
+    private final String xCoord;
+    private final String yCoord;
+
+    private String referenceId;
+    private String directory;
+    private String filename;
+
+
+    private TaskSpec(Action action, int[] values, float ratio, String xCoord, String yCoord) {
+        this.action = action;
+        this.values = values;
+        this.ratio = ratio;
+        this.xCoord = xCoord;
+        this.yCoord = yCoord;
+    }
+
+    /**
+     *  Specifies a {@link Save}.
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec save() {
+        return new TaskSpec(Action.SAVE, null, 0f, null, null);
+    }
+
+    /**
+     *  Specifies a {@link Resize} based on a given ratio.
+     *
+     *  @param  ratio   the scaling ratio
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec resize(float ratio) {
+        return new TaskSpec(Action.RESIZE_RATIO, null, ratio, null, null);
+    }
+
+    /**
+     *  Specifies a {@link Resize} based on the width and/or height values provided.
+     *
+     *  @param  width   the resized image width, or 0 if derived from the height
+     *  @param  height  the resized image height, or 0 if derived from the width
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec resize(int width, int height) {
+        return new TaskSpec(Action.RESIZE, new int[] {width, height}, 0f, null, null);
+    }
+
+    /**
+     *  Specifies a {@link Crop}.
+     *
+     *  @param  x1  the left coordinate
+     *  @param  y1  the top coordinate
+     *  @param  x2  the right coordinate
+     *  @param  y2  the bottom coordinate
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec crop(int x1, int y1, int x2, int y2) {
+        return new TaskSpec(Action.CROP, new int[] {x1, y1, x2, y2}, 0f, null, null);
+    }
+
+    /**
+     *  Specifies a {@link Cover}.
+     *
+     *  @param  width   the output width
+     *  @param  height  the output height
+     *  @param  xCoord  the X-axis position (ie: left, center, right), if any
+     *  @param  yCoord  the Y-axis position (ie: top, middle, bottom), if any
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec cover(int width, int height, String xCoord, String yCoord) {
+        return new TaskSpec(Action.COVER, new int[] {width, height}, 0f, xCoord, yCoord);
+    }
+
+    /**
+     *  Specifies a {@link Rotate}.
+     *
+     *  @param  degrees     the degrees of clockwise rotation
+     *
+     *  @return     the {@link TaskSpec}
+     */
+    public static TaskSpec rotate(int degrees) {
+        return new TaskSpec(Action.ROTATE, new int[] {degrees}, 0f, null, null);
+    }
+
+    /**
+     *  Sets the reference identifier.
+     *
+     *  @param  referenceId     the reference identifier, if any
+     */
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    /**
+     *  Sets the output directory/path.
+     *
+     *  @param  directory   the output directory/path, if any
+     */
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     *  Sets the desired filename for the output file.
+     *
+     *  @param  filename    the desired filename, if any
+     */
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    Action getAction() {
+        return this.action;
+    }
+
+    int getValue(int index) {
+        return this.values[index];
+    }
+
+    int[] getValues() {
+        return this.values;
+    }
+
+    float getRatio() {
+        return this.ratio;
+    }
+
+    String getXCoord() {
+        return this.xCoord;
+    }
+
+    String getYCoord() {
+        return this.yCoord;
+    }
+
+    String getReferenceId() {
+        return this.referenceId;
+    }
+
+    String getDirectory() {
+        return this.directory;
+    }
+
+    String getFilename() {
+        return this.filename;
+    }
+
+    /**
+     *  Creates the {@link Task}, once its values have been checked.
+     *
+     *  @return     the {@link Task}
+     *
+     *  @throws     OutOfBoundsException    if a value is not within the
+     *                                      permissible bounds
+     */
+    Task toTask()
+            throws OutOfBoundsException {
+        Task task;
+        switch(this.action) {
+            case RESIZE_RATIO:  task = new Resize(this.ratio); break;
+            case RESIZE:        task = new Resize(this.values[0], this.values[1]); break;
+            case CROP:          task = new Crop(this.values[0], this.values[1], this.values[2], this.values[3]); break;
+            case COVER:         task = new Cover(this.values[0], this.values[1], this.xCoord, this.yCoord); break;
+            case ROTATE:        task = new Rotate(this.values[0]); break;
+            default:            task = new Save(); break;
+        }
+        task.setReferenceId(this.referenceId);
+        task.setDirectory(this.directory);
+        task.setFilename(this.filename);
+        return task;
+    }
+}
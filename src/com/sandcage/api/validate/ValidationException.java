@@ -0,0 +1,75 @@
+package com.sandcage.api.validate;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import java.util.List;
+
+
+/**
+ *  Exception for batches of which one or more {@link JobSpec jobs} break the
+ *  schedule-tasks prerequisites; it carries every {@link Violation} found.
+ *  <p>
+ *  Being an {@link OutOfBoundsException}, it is caught wherever those thrown
+ *  by {@link com.sandcage.api.service.put.Job} and {@link com.sandcage.api.service.put.Task}
+ *  are. Unless requested, it does not fill in its stack trace, and its message
+ *  is only formatted once read.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class ValidationException extends OutOfBoundsException {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_LISTED = 10;
+
+    private final List<Violation> violations;
+    private final int invalidJobs;
+
+
+    /**
+     *  Creates a {@link ValidationException}.
+     *
+     *  @param  violations          the {@link Violation violations} found
+     *  @param  invalidJobs         the number of jobs with violations
+     *  @param  writableStackTrace  whether the stack trace is filled in
+     */
+    public ValidationException(List<Violation> violations, int invalidJobs, boolean writableStackTrace) {
+        super(writableStackTrace);
+        this.violations = violations;
+        this.invalidJobs = invalidJobs;
+    }
+
+    /**
+     *  The {@link Violation violations} found, in order of job and task.
+     *
+     *  @return     the {@link Violation violations}
+     */
+    public List<Violation> getViolations() {
+        return this.violations;
+    }
+
+    /**
+     *  The number of jobs with one or more {@link Violation violations}.
+     *
+     *  @return     the number of invalid jobs
+     */
+    public int getInvalidJobs() {
+        return this.invalidJobs;
+    }
+
+    /**
+     *  Lists the first {@value #MAX_LISTED} {@link Violation violations}.
+     *
+     *  @return     the message
+     */
+    @Override
+    public String getMessage() {
+        StringBuilder message = new StringBuilder()
+            .append(this.violations.size()).append(" violation(s) in ").append(this.invalidJobs).append(" job(s)");
+        for(int i=0; i<this.violations.size() && i<MAX_LISTED; i++)
+            message.append(i==0 ? ": " : "; ").append(this.violations.get(i).getMessage());
+        if(this.violations.size()>MAX_LISTED)
+            message.append("; and ").append(this.violations.size()-MAX_LISTED).append(" more");
+        return message.toString();
+    }
+}
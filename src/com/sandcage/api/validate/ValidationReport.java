@@ -0,0 +1,149 @@
+package com.sandcage.api.validate;
+
+import com.sandcage.api.service.OutOfBoundsException;
+import com.sandcage.api.service.put.Job;
+import com.sandcage.api.service.put.Task;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ *  The outcome of checking a batch of {@link JobSpec jobs} with a {@link JobValidator}:
+ *  every {@link Violation} found, by job, and the {@link Job jobs} which may be
+ *  created from those without any.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public class ValidationReport {
+
+    private static final Violation[] NONE = new Violation[0];
+
+    private final JobSpec[] jobs;
+    private final Violation[][] violations;
+    private final int invalidJobs;
+    private final int count;
+
+
+    /**
+     *  Creates a {@link ValidationReport}.
+     *
+     *  @param  jobs        the {@link JobSpec jobs} checked
+     *  @param  violations  the {@link Violation violations} of each job, or
+     *                      <tt>null</tt> for those without any
+     */
+    ValidationReport(JobSpec[] jobs, Violation[][] violations) {
+        int invalidJobs = 0;
+        int count = 0;
+        for(Violation[] found : violations)
+            if(found!=null) {
+                invalidJobs++;
+                count += found.length;
+            }
+        this.jobs = jobs;
+        this.violations = violations;
+        this.invalidJobs = invalidJobs;
+        this.count = count;
+    }
+
+    /**
+     *  Whether every job of the batch is valid.
+     *
+     *  @return     <tt>true</tt> if no {@link Violation} was found, else <tt>false</tt>
+     */
+    public boolean isValid() {
+        return this.invalidJobs==0;
+    }
+
+    /**
+     *  Whether the given job of the batch is valid.
+     *
+     *  @param  job     the index of the job within the batch
+     *
+     *  @return     <tt>true</tt> if no {@link Violation} was found for it, else
+     *              <tt>false</tt>
+     */
+    public boolean isValid(int job) {
+        return this.violations[job]==null;
+    }
+
+    /**
+     *  The number of jobs in the batch.
+     *
+     *  @return     the number of jobs
+     */
+    public int getJobs() {
+        return this.jobs.length;
+    }
+
+    /**
+     *  The number of jobs with one or more {@link Violation violations}.
+     *
+     *  @return     the number of invalid jobs
+     */
+    public int getInvalidJobs() {
+        return this.invalidJobs;
+    }
+
+    /**
+     *  Every {@link Violation} found, in order of job and task.
+     *
+     *  @return     the {@link Violation violations}
+     */
+    public List<Violation> getViolations() {
+        ArrayList<Violation> all = new ArrayList<Violation>(this.count);
+        for(Violation[] found : this.violations)
+            if(found!=null)
+                Collections.addAll(all, found);
+        return all;
+    }
+
+    /**
+     *  The {@link Violation violations} found for the given job.
+     *
+     *  @param  job     the index of the job within the batch
+     *
+     *  @return     the {@link Violation violations}, in order of task
+     */
+    public List<Violation> getViolations(int job) {
+        return Arrays.asList(this.violations[job]!=null ? this.violations[job] : NONE);
+    }
+
+    /**
+     *  Creates the {@link Job jobs} of the batch which are valid, in order;
+     *  those which are not are left out.
+     *
+     *  @return     the valid {@link Job jobs}
+     */
+    public List<Job> getValidJobs() {
+        ArrayList<Job> valid = new ArrayList<Job>(this.jobs.length-this.invalidJobs);
+        try {
+            for(int i=0; i<this.jobs.length; i++)
+                if(this.violations[i]==null) {
+                    List<TaskSpec> specs = this.jobs[i].getTasks();
+                    ArrayList<Task> tasks = new ArrayList<Task>(specs.size());
+                    for(TaskSpec spec : specs)
+                        tasks.add(spec.toTask());
+                    valid.add(new Job(this.jobs[i].getUrl(), tasks));
+                }
+        } catch(OutOfBoundsException oobex) {                                   // Already checked
+            throw new IllegalStateException(oobex);
+        }
+        return valid;
+    }
+
+    /**
+     *  Throws, unless every job of the batch is valid, a {@link ValidationException}
+     *  carrying every {@link Violation}, without a stack trace.
+     *
+     *  @throws     ValidationException     if any {@link Violation} was found
+     */
+    public void check()
+            throws ValidationException {
+        if(this.invalidJobs>0)
+            throw new ValidationException(getViolations(), this.invalidJobs, false);
+    }
+}
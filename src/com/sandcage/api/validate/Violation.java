@@ -0,0 +1,120 @@
+package com.sandcage.api.validate;
+
+
+/**
+ *  A single broken prerequisite, found by a {@link JobValidator}.
+ *  <p>
+ *  A {@link Violation} records where it was found, its {@link ViolationCode}
+ *  and the offending value; its message is only formatted if, and when,
+ *  {@link #getMessage()} is invoked, as most violations of a large batch are
+ *  counted or grouped by code, rather than read.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public final class Violation {
+
+    private final int job;
+    private final int task;
+    private final ViolationCode code;
+    private final Object value;
+
+
+    /**
+     *  Creates a {@link Violation}.
+     *
+     *  @param  job     the index of the {@link JobSpec job} within its batch
+     *  @param  task    the index of the {@link TaskSpec task} within its job,
+     *                  or -1 if the violation concerns the job itself
+     *  @param  code    the {@link ViolationCode}
+     *  @param  value   the offending value, if any; an <tt>int[]</tt> for
+     *                  violations concerning several fields
+     */
+    Violation(int job, int task, ViolationCode code, Object value) {
+        this.job = job;
+        this.task = task;
+        this.code = code;
+        this.value = value;
+    }
+
+    /**
+     *  The index of the {@link JobSpec job}, within its batch, which holds the
+     *  offending value.
+     *
+     *  @return     the index of the job
+     */
+    public int getJob() {
+        return this.job;
+    }
+
+    /**
+     *  The index of the {@link TaskSpec task}, within its job, which holds the
+     *  offending value.
+     *
+     *  @return     the index of the task, or -1 if the violation concerns the
+     *              job itself
+     */
+    public int getTask() {
+        return this.task;
+    }
+
+    /**
+     *  The {@link ViolationCode} of the broken prerequisite.
+     *
+     *  @return     the {@link ViolationCode}
+     */
+    public ViolationCode getCode() {
+        return this.code;
+    }
+
+    /**
+     *  The offending value.
+     *
+     *  @return     the offending value, if any
+     */
+    public Object getValue() {
+        return this.value;
+    }
+
+    /**
+     *  The location of the offending value, eg: jobs[12].tasks[1].width
+     *
+     *  @return     the location of the offending value
+     */
+    public String getPath() {
+        StringBuilder path = new StringBuilder(32).append("jobs[").append(this.job).append(']');
+        if(this.task>=0)
+            path.append(".tasks[").append(this.task).append(']');
+        if(this.code!=ViolationCode.JOB_MISSING && this.code!=ViolationCode.TASK_MISSING)
+            path.append('.').append(this.code.getFields());
+        return path.toString();
+    }
+
+    /**
+     *  Formats the message of this {@link Violation}, in the form of those of
+     *  {@link com.sandcage.api.service.OutOfBoundsException}.
+     *
+     *  @return     the message
+     */
+    public String getMessage() {
+        if(this.code.isMissing())
+            return getPath()+": Mandatory field [ "+this.code.getFields()+" ] was missing from the request";
+        return getPath()+": The value(s) [ "+format(this.value)+" ] provided for field(s) [ "+this.code.getFields()
+            +" ] was/were out of bounds [ "+this.code.getRange()+" ]";
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    private static String format(Object value) {
+        if(!(value instanceof int[]))
+            return String.valueOf(value);
+        StringBuilder values = new StringBuilder();
+        for(int v : (int[])value)
+            values.append(values.length()>0 ? "," : "").append(v);
+        return values.toString();
+    }
+}
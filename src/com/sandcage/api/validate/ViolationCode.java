@@ -0,0 +1,69 @@
+package com.sandcage.api.validate;
+
+
+/**
+ *  Identifies the schedule-tasks prerequisite which a {@link Violation} breaks,
+ *  along with the field(s) and the permissible range concerned.
+ *  <p>
+ *  Codes are stable, and may be relied upon to handle, count or group the
+ *  {@link Violation violations} of a batch, rather than their messages.
+ *
+ *  @date       03/11/2016
+ *  @version    0.2
+ *  @see        <a href="https://www.sandcage.com/docs/0.2/schedule_tasks">schedule-tasks docs</a>
+ */
+public enum ViolationCode {
+
+    JOB_MISSING("job", null),
+    URL_MISSING("url", null),
+    URL_LENGTH("url", "URL LENGTH->4..1000"),
+    TASKS_MISSING("tasks", null),
+    TASK_COUNT("tasks", "NUMBER OF TASKS->1..10"),
+    TASK_MISSING("task", null),
+    REFERENCE_ID_LENGTH("reference_id", "LENGTH->0..100"),
+    DIRECTORY_LENGTH("directory", "LENGTH->0..500"),
+    FILENAME_LENGTH("filename", "LENGTH->0..250"),
+    RESIZE_RATIO("resize_percent", "0.01..99.99"),
+    RESIZE_DIMENSIONS("width,height", "EITHER, OR BOTH, DIMENSIONS->1..10000"),
+    CROP_COORDINATES("x1,y1,x2,y2", "1<=x1<x2 && 1<=y1<y2"),
+    COVER_DIMENSIONS("width,height", "EACH DIMENSION->1..10000"),
+    COVER_POSITION("cover", "NEITHER, OR BOTH, OF Y-AXIS->top|middle|bottom && X-AXIS->left|center|right"),
+    ROTATE_DEGREES("degrees", "90|180|270");
+
+    private final String fields;
+    private final String range;
+
+
+    private ViolationCode(String fields, String range) {
+        this.fields = fields;
+        this.range = range;
+    }
+
+    /**
+     *  The field which is, or fields which are, concerned.
+     *
+     *  @return     the field(s), as named by the SandCage API
+     */
+    public String getFields() {
+        return this.fields;
+    }
+
+    /**
+     *  The permissible range of the field(s).
+     *
+     *  @return     the permissible range, or <tt>null</tt> if the field is
+     *              missing altogether
+     */
+    public String getRange() {
+        return this.range;
+    }
+
+    /**
+     *  Whether a mandatory field is missing, rather than out of bounds.
+     *
+     *  @return     <tt>true</tt> if a mandatory field is missing, else <tt>false</tt>
+     */
+    public boolean isMissing() {
+        return this.range==null;
+    }
+}
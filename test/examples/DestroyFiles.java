@@ -2,10 +2,14 @@
 package examples;
 
 import com.sandcage.api.SandCage;
+import com.sandcage.api.SandCageClient;
 import com.sandcage.api.service.File;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.delete.DestroyFile;
 import com.sandcage.api.service.delete.DestroyPayload;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.delete.DestroyResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 
 
@@ -28,9 +32,12 @@ import java.util.ArrayList;
  */
 public class DestroyFiles {
 
+    // A single client, and hence connection pool, is shared by all requests
+    private static final SandCageClient CLIENT = new SandCageClient();
+
 
     public static void main(String args[]) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // NOTE: add, remove, or comment out the below as dictated by your requirements
 
@@ -50,7 +57,7 @@ public class DestroyFiles {
     }
 
     private static void destroySingleFileUsingItsReferenceId(String referenceId) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         ArrayList<File> files = new ArrayList<File>();
         // Specify the deletion of a file by identifying it by its reference_id
@@ -63,12 +70,15 @@ public class DestroyFiles {
         //     "http://YOUR_CALLBACK_URL/PATH?QUERY_PART");
 
         // Dispatch the request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.destroyFiles();
+        DestroyResponse response = CLIENT.destroyFiles(payload);
+
+        // Prints the outcome for each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus());
     }
 
     private static void destroySingleFileUsingItsFileToken(String fileToken) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         ArrayList<File> files = new ArrayList<File>();
         // Specify the deletion of a file by identifying it by its file_token
@@ -81,12 +91,15 @@ public class DestroyFiles {
         //     "http://YOUR_CALLBACK_URL/PATH?QUERY_PART");
 
         // Dispatch the request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.destroyFiles();
+        DestroyResponse response = CLIENT.destroyFiles(payload);
+
+        // Prints the outcome for each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus());
     }
 
     private static void destroyMultipleAssets(ArrayList<File> files) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload without specifying a custom callback URL
         DestroyPayload payload = new DestroyPayload(SandCage.getKey(),files);
@@ -95,7 +108,10 @@ public class DestroyFiles {
         //     "http://YOUR_CALLBACK_URL/PATH?QUERY_PART");
 
         // Dispatch the request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.destroyFiles();
+        DestroyResponse response = CLIENT.destroyFiles(payload);
+
+        // Prints the outcome for each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus());
     }
 }
\ No newline at end of file
@@ -2,10 +2,14 @@
 package examples;
 
 import com.sandcage.api.SandCage;
+import com.sandcage.api.SandCageClient;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.File;
 import com.sandcage.api.service.info.InfoFile;
 import com.sandcage.api.service.info.InfoPayload;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.info.InfoResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 
 
@@ -28,9 +32,12 @@ import java.util.ArrayList;
  */
 public class GetInfo {
 
+    // A single client, and hence connection pool, is shared by all requests
+    private static final SandCageClient CLIENT = new SandCageClient();
+
 
     public static void main(String args[]) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // NOTE: add, remove, or comment out the below as dictated by your requirements
 
@@ -49,7 +56,7 @@ public class GetInfo {
     }
 
     private static void getInfoForSingleFile(String fileToken) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         ArrayList<File> files = new ArrayList<File>();
         // Specify the file, identifying it by its file token
@@ -59,29 +66,38 @@ public class GetInfo {
         InfoPayload payload = new InfoPayload(SandCage.getKey(), null, files);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.getInfo();
+        InfoResponse response = CLIENT.getInfo(payload);
+
+        // Prints the information on each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus()+" "+file.getCdnUrl());
     }
 
     private static void getInfoForMultipleFiles(ArrayList<File> files) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload specifying the specific files to get info on
         InfoPayload payload = new InfoPayload(SandCage.getKey(), null, files);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.getInfo();
+        InfoResponse response = CLIENT.getInfo(payload);
+
+        // Prints the information on each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus()+" "+file.getCdnUrl());
     }
 
     private static void getInfoForRequestId(String requestId) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload specifying the request identifier get info on
         InfoPayload payload = new InfoPayload(SandCage.getKey(), requestId, null);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.getInfo();
+        InfoResponse response = CLIENT.getInfo(payload);
+
+        // Prints the information on each file
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getFileToken()+": "+file.getStatus()+" "+file.getCdnUrl());
     }
 }
@@ -2,8 +2,12 @@
 package examples;
 
 import com.sandcage.api.SandCage;
+import com.sandcage.api.SandCageClient;
 import com.sandcage.api.service.OutOfBoundsException;
 import com.sandcage.api.service.enumerate.ListPayload;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.enumerate.ListResponse;
+import java.io.IOException;
 
 
 /**
@@ -26,9 +30,12 @@ import com.sandcage.api.service.enumerate.ListPayload;
  */
 public class ListFiles {
 
+    // A single client, and hence connection pool, is shared by all requests
+    private static final SandCageClient CLIENT = new SandCageClient();
+
 
     public static void main(String args[]) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // NOTE: add, remove, or comment out the below as dictated by your requirements
 
@@ -46,48 +53,60 @@ public class ListFiles {
     }
 
     public static void listAllFiles() 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload without specifying directory, pagination, or # of results/page
         ListPayload payload = new ListPayload(SandCage.getKey());
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.listFiles();
+        ListResponse response = CLIENT.listFiles(payload);
+
+        // Prints each file listed
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getDirectory()+"/"+file.getFilename()+": "+file.getFileToken());
     }
 
     public static void listFilesForGivenDirectory(String directory) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload which specifies a (sub)directory to search, but which 
         // specifies no pagination or the # of results/page
         ListPayload payload = new ListPayload(SandCage.getKey(), directory);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.listFiles();
+        ListResponse response = CLIENT.listFiles(payload);
+
+        // Prints each file listed
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getDirectory()+"/"+file.getFilename()+": "+file.getFileToken());
     }
 
     public static void listLimitedNumberOfFilesForGivenDirectory(
                 String directory, int page, int resultsPerPage) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload which specifies directory, pagination, and # of results/page
         ListPayload payload = new ListPayload(SandCage.getKey(), directory, page, resultsPerPage);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.listFiles();
+        ListResponse response = CLIENT.listFiles(payload);
+
+        // Prints each file listed
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getDirectory()+"/"+file.getFilename()+": "+file.getFileToken());
     }
 
     public static void listLimitedNumberOfFiles(int page, int resultsPerPage) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload which specifies pagination and # of results/page
         ListPayload payload = new ListPayload(SandCage.getKey(), null, page, resultsPerPage);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.listFiles();
+        ListResponse response = CLIENT.listFiles(payload);
+
+        // Prints each file listed
+        for(FileRecord file : response.getFiles())
+            System.out.println(file.getDirectory()+"/"+file.getFilename()+": "+file.getFileToken());
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@
 package examples;
 
 import com.sandcage.api.SandCage;
+import com.sandcage.api.SandCageClient;
 import com.sandcage.api.service.put.Job;
 import com.sandcage.api.service.put.ScheduledPayload;
 import com.sandcage.api.service.put.Task;
@@ -11,6 +12,9 @@ import com.sandcage.api.service.put.Crop;
 import com.sandcage.api.service.put.Resize;
 import com.sandcage.api.service.put.Rotate;
 import com.sandcage.api.service.put.Save;
+import com.sandcage.api.service.FileRecord;
+import com.sandcage.api.service.put.ScheduledResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 
 
@@ -36,9 +40,12 @@ import java.util.ArrayList;
  */
 public class ScheduleTask {
 
+    // A single client, and hence connection pool, is shared by all requests
+    private static final SandCageClient CLIENT = new SandCageClient();
+
 
     public static void main(String args[]) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // NOTE: add, remove, or comment out the below as dictated by your requirements
 
@@ -80,7 +87,7 @@ public class ScheduleTask {
     }
 
     private static void scheduleExecutionSingleFile(String imageUrl) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         ArrayList<Task> tasks = new ArrayList<Task>();
         // Specify the action to execute (here a Save)
@@ -94,12 +101,16 @@ public class ScheduleTask {
         ScheduledPayload payload = new ScheduledPayload(SandCage.getKey(), jobs);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.scheduleTasks();
+        ScheduledResponse response = CLIENT.scheduleTasks(payload);
+
+        // Prints the request_id, with which to later get info on the scheduled tasks, and each task's file
+        System.out.println("request_id: "+response.getRequestId());
+        for(FileRecord task : response.getTasks())
+            System.out.println(task.getFileToken()+": "+task.getCdnUrl());
     }
 
     private static void scheduleExecutionSingleFileMultipleTasks(String imageUrl, ArrayList<Task> tasks) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Add the action(s) to the list of jobs associated with the given URL (only one here)
         ArrayList<Job> jobs = new ArrayList<Job>();
@@ -109,18 +120,26 @@ public class ScheduleTask {
         ScheduledPayload payload = new ScheduledPayload(SandCage.getKey(), jobs);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.scheduleTasks();
+        ScheduledResponse response = CLIENT.scheduleTasks(payload);
+
+        // Prints the request_id, with which to later get info on the scheduled tasks, and each task's file
+        System.out.println("request_id: "+response.getRequestId());
+        for(FileRecord task : response.getTasks())
+            System.out.println(task.getFileToken()+": "+task.getCdnUrl());
     }
 
     private static void scheduleExecutionMultipleFilesMultipleTasks(ArrayList<Job> jobs) 
-            throws OutOfBoundsException {
+            throws OutOfBoundsException, IOException {
 
         // Create a payload specifying the jobs to execute
         ScheduledPayload payload = new ScheduledPayload(SandCage.getKey(), jobs);
 
         // Dispatch your request/payload to the SandCage API
-        SandCage sandcage = new SandCage(payload);
-        sandcage.scheduleTasks();
+        ScheduledResponse response = CLIENT.scheduleTasks(payload);
+
+        // Prints the request_id, with which to later get info on the scheduled tasks, and each task's file
+        System.out.println("request_id: "+response.getRequestId());
+        for(FileRecord task : response.getTasks())
+            System.out.println(task.getFileToken()+": "+task.getCdnUrl());
     }
 }
\ No newline at end of file